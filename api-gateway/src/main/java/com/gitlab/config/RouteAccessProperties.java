@@ -0,0 +1,37 @@
+package com.gitlab.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Таблица доступа к маршрутам: запрос без JWT пропускается, только если совпал с {@code gateway.public-routes}
+ * и не совпал с {@code gateway.secured-routes}. Все остальное требует JWT.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway")
+public class RouteAccessProperties {
+
+    private List<Route> publicRoutes = new ArrayList<>();
+
+    private List<Route> securedRoutes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /**
+         * Шаблон пути по сегментам: {@code *} - ровно один сегмент, {@code **} в конце - любой остаток пути.
+         */
+        private String path;
+
+        /**
+         * Пустой набор - любые методы.
+         */
+        private Set<HttpMethod> methods = EnumSet.noneOf(HttpMethod.class);
+    }
+}
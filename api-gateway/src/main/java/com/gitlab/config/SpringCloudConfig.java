@@ -2,6 +2,7 @@ package com.gitlab.config;
 
 import com.gitlab.filters.AuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(RouteAccessProperties.class)
 public class SpringCloudConfig {
 
     private final AuthenticationFilter filter;
@@ -20,6 +22,11 @@ public class SpringCloudConfig {
                         .uri("http://localhost:8083/login/"))
                 .route("security-service", r -> r.path("/auth/**")
                         .uri("http://localhost:8080/"))
+                // индекс товаров ведёт search-service, наружу открыт только поиск, а не управление индексом
+                .route("search-service", r -> r.path("/api/search", "/api/search/facets",
+                                "/api/search/scroll", "/api/search/suggest")
+                        .filters(f -> f.filter(filter))
+                        .uri("http://localhost:8089/"))
                 .route("gazon-service", r -> r.path("/api/**")
                         .filters(f -> f.filter(filter))
                         .uri("http://localhost:8080/api/"))
@@ -1,9 +1,11 @@
 package com.gitlab.filters;
 
-import com.gitlab.util.JwtUtil;
+import com.gitlab.util.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -11,34 +13,30 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+/**
+ * Проверяет JWT защищенных маршрутов, без действительного токена запрос отклоняется с 401.
+ * Сервисы за шлюзом проверяют токен сами, поэтому запрос передается дальше без изменений.
+ */
 @Component
 @RequiredArgsConstructor
 public class AuthenticationFilter implements GatewayFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final RouteValidator validator;
-    private final JwtUtil jwtUtils;
+    private final VerifiedTokenCache tokenCache;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
 
-        if (validator.isSecured.test(request)) {
+        if (validator.isSecured(request)) {
             if (authMissing(request)) {
                 return onError(exchange, HttpStatus.UNAUTHORIZED);
             }
-
-            String token = request.getHeaders().getOrEmpty("Authorization").get(0);
-            if (token != null && token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
-
-            if (jwtUtils.isExpired(token)) {
-                return onError(exchange, HttpStatus.UNAUTHORIZED);
-            }
             try {
-                jwtUtils.validateToken(token);
-
-            } catch (Exception e) {
+                tokenCache.verify(getToken(request));
+            } catch (JwtException | IllegalArgumentException e) {
                 return onError(exchange, HttpStatus.UNAUTHORIZED);
             }
         }
@@ -52,6 +50,14 @@ public class AuthenticationFilter implements GatewayFilter {
     }
 
     private boolean authMissing(ServerHttpRequest request) {
-        return !request.getHeaders().containsKey("Authorization");
+        return !request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+    }
+
+    private static String getToken(ServerHttpRequest request) {
+        String token = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (token != null && token.startsWith(BEARER_PREFIX)) {
+            token = token.substring(BEARER_PREFIX.length());
+        }
+        return token;
     }
 }
@@ -0,0 +1,113 @@
+package com.gitlab.filters;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Дерево шаблонов путей по сегментам с набором методов для каждого шаблона. Строится один раз при старте,
+ * проверка пути не создает объектов: сегменты сравниваются прямо в строке пути.
+ * <p>
+ * Сегмент шаблона - литерал, {@code *} (ровно один любой сегмент) или {@code **} (любой остаток пути,
+ * в том числе пустой, только последним сегментом). Пустые сегменты, например от завершающего "/", не учитываются.
+ */
+final class PathTrie {
+
+    private static final int ANY_METHOD = -1;
+    private static final int UNKNOWN_METHOD = 1 << 31;
+
+    private final Node root = new Node();
+
+    /**
+     * @param methods пустая коллекция - любые методы.
+     */
+    void add(String pattern, Collection<HttpMethod> methods) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Route path must start with '/': " + pattern);
+        }
+        int mask = methods == null || methods.isEmpty() ? ANY_METHOD : 0;
+        if (mask == 0) {
+            for (HttpMethod method : methods) {
+                mask |= methodBit(method);
+            }
+        }
+        String[] segments = Arrays.stream(pattern.split("/")).filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment: " + pattern);
+                }
+                node.remainderMethods |= mask;
+                return;
+            }
+            node = "*".equals(segment) ? node.anySegment() : node.child(segment);
+        }
+        node.methods |= mask;
+    }
+
+    boolean matches(HttpMethod method, String path) {
+        return matches(root, path, 0, methodBit(method));
+    }
+
+    private static boolean matches(Node node, String path, int from, int methodBit) {
+        if ((node.remainderMethods & methodBit) != 0) {
+            return true;
+        }
+        int start = from;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == path.length()) {
+            return (node.methods & methodBit) != 0;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+        for (int i = 0; i < node.segments.length; i++) {
+            String segment = node.segments[i];
+            if (segment.length() == length && path.regionMatches(start, segment, 0, length)
+                    && matches(node.children[i], path, end, methodBit)) {
+                return true;
+            }
+        }
+        return node.anySegment != null && matches(node.anySegment, path, end, methodBit);
+    }
+
+    private static int methodBit(HttpMethod method) {
+        return method == null ? UNKNOWN_METHOD : 1 << method.ordinal();
+    }
+
+    private static final class Node {
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private Node anySegment;
+        private int methods;
+        private int remainderMethods;
+
+        private Node child(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+
+        private Node anySegment() {
+            if (anySegment == null) {
+                anySegment = new Node();
+            }
+            return anySegment;
+        }
+    }
+}
@@ -1,20 +1,85 @@
 package com.gitlab.filters;
 
+import com.gitlab.config.RouteAccessProperties;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.function.Predicate;
 
+/**
+ * Решает, нужен ли запросу JWT, по таблице {@link RouteAccessProperties}, скомпилированной при старте
+ * в деревья путей. Проверка выполняется на потоках Netty и не создает объектов.
+ */
 @Component
 public class RouteValidator {
-    public static final List<String> openApiEndpoints = List.of(
-            "/auth/register",
-            "/auth/token"
-    );
-
-    public Predicate<ServerHttpRequest> isSecured =
-            request -> openApiEndpoints
-                    .stream()
-                    .noneMatch(uri -> request.getURI().getPath().contains(uri));
+
+    private final PathTrie publicRoutes;
+    private final PathTrie securedRoutes;
+
+    public RouteValidator(RouteAccessProperties properties) {
+        this.publicRoutes = compile(properties.getPublicRoutes());
+        this.securedRoutes = compile(properties.getSecuredRoutes());
+    }
+
+    public boolean isSecured(ServerHttpRequest request) {
+        return isSecured(request.getMethod(), request.getPath().value());
+    }
+
+    /**
+     * Путь сравнивается в том виде, в каком пришел, без декодирования. Сервисы за шлюзом нормализуют путь
+     * сами (Tomcat отрезает ";параметры", раскрывает "..", декодирует "%2F"), поэтому путь с такими
+     * конструкциями может совпасть с публичным маршрутом, а попасть в защищенный обработчик. Такие пути
+     * считаются защищенными.
+     *
+     * @return false, только если путь совпал с публичным маршрутом и не совпал с защищенным.
+     */
+    public boolean isSecured(HttpMethod method, String path) {
+        return !isNormalized(path) || !publicRoutes.matches(method, path) || securedRoutes.matches(method, path);
+    }
+
+    /**
+     * @return false, если в пути есть ";", "\", пустой сегмент (кроме завершающего "/"), сегмент "." или ".."
+     * или закодированные "/", "\", ".", ";" и "%".
+     */
+    static boolean isNormalized(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        int segmentStart = 1;
+        for (int i = 1; i <= path.length(); i++) {
+            char c = i < path.length() ? path.charAt(i) : '/';
+            if (c == ';' || c == '\\') {
+                return false;
+            }
+            if (c == '%' && (i + 2 >= path.length() || isUnsafeEscape(path.charAt(i + 1), path.charAt(i + 2)))) {
+                return false;
+            }
+            if (c == '/') {
+                int length = i - segmentStart;
+                if (length == 0 && i < path.length()) {
+                    return false;
+                }
+                boolean dot = length > 0 && path.charAt(segmentStart) == '.';
+                if (dot && (length == 1 || length == 2 && path.charAt(segmentStart + 1) == '.')) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnsafeEscape(char high, char low) {
+        char upperLow = Character.toUpperCase(low);
+        return high == '2' && (upperLow == 'F' || upperLow == 'E' || upperLow == '5')
+                || high == '5' && upperLow == 'C'
+                || high == '3' && upperLow == 'B';
+    }
+
+    private static PathTrie compile(List<RouteAccessProperties.Route> routes) {
+        PathTrie trie = new PathTrie();
+        routes.forEach(route -> trie.add(route.getPath(), route.getMethods()));
+        return trie;
+    }
 }
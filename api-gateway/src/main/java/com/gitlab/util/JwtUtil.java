@@ -1,6 +1,7 @@
 package com.gitlab.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,32 +9,32 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
-import java.util.Date;
 
+/**
+ * Проверка JWT общим секретом. Ключ и парсер создаются один раз: парсер неизменяемый
+ * и используется из всех потоков.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt_secret}")
-    private String secret;
+    private final JwtParser parser;
 
-    public void validateToken(final String token) {
-        Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-    }
-
-    private Key getSigningKey() {
-        var keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${jwt_secret}") String secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
+    /**
+     * Проверяет подпись и срок действия за один разбор токена.
+     *
+     * @throws io.jsonwebtoken.JwtException если токен поддельный, испорчен или истек.
+     * @throws IllegalArgumentException если токен пустой.
+     */
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean isExpired(String token) {
-        try {
-            return getClaims(token).getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+    public void validateToken(final String token) {
+        getClaims(token);
     }
 }
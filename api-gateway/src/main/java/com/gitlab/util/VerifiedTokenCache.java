@@ -0,0 +1,137 @@
+package com.gitlab.util;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claims уже проверенных токенов, чтобы повторные запросы с тем же токеном не проверяли подпись заново.
+ * <p>
+ * Ключ - SHA-256 токена, сам токен не хранится. Запись живет до {@code exp} токена, но не дольше
+ * {@code jwt.cache.ttl}. Claims разделяются между запросами и только читаются.
+ * <p>
+ * Кэш читается на потоках Netty, поэтому построен на {@link ConcurrentHashMap} без общей блокировки.
+ * При превышении {@code jwt.cache.maximum-size} один поток удаляет истекшие записи, а если их не хватило,
+ * то записи, которые истекают раньше остальных, с запасом в десятую часть размера. Остальные потоки
+ * вытеснения не ждут, поэтому размер может ненадолго превысить предел.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.cache.maximum-size:10000}") int maximumSize,
+                              @Value("${jwt.cache.ttl:5m}") Duration ttl) {
+        this(jwtUtil, maximumSize, ttl, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtUtil jwtUtil, int maximumSize, Duration ttl, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return claims проверенного токена.
+     * @throws io.jsonwebtoken.JwtException если токен поддельный, испорчен или истек.
+     * @throws IllegalArgumentException если токен пустой.
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT is empty");
+        }
+        String key = hash(token);
+        long now = clock.millis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.claims;
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        Claims claims = jwtUtil.getClaims(token);
+        if (maximumSize > 0) {
+            entries.put(key, new Entry(claims, expiresAt(claims, now)));
+            evictIfFull(now);
+        }
+        return claims;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void evictIfFull(long now) {
+        if (entries.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            long excess = entries.size() - (maximumSize - maximumSize / 10);
+            if (excess > 0) {
+                entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                        .limit(excess)
+                        .toList()
+                        .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private long expiresAt(Claims claims, long now) {
+        long expiresAt = now + ttlMillis;
+        Date expiration = claims.getExpiration();
+        return expiration == null ? expiresAt : Math.min(expiresAt, expiration.getTime());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
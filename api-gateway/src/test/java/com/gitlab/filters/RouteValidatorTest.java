@@ -0,0 +1,99 @@
+package com.gitlab.filters;
+
+import com.gitlab.config.RouteAccessProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteValidatorTest {
+
+    private final RouteValidator validator = new RouteValidator(properties(
+            List.of(route("/auth/token"),
+                    route("/api/product/*", HttpMethod.GET),
+                    route("/api/images/**", HttpMethod.GET, HttpMethod.HEAD)),
+            List.of(route("/api/product/get-favourites"))));
+
+    @Test
+    void should_match_whole_segments_instead_of_substrings() {
+        assertFalse(validator.isSecured(HttpMethod.POST, "/auth/token"));
+        assertFalse(validator.isSecured(HttpMethod.POST, "/auth/token/"));
+        assertTrue(validator.isSecured(HttpMethod.POST, "/auth/token/refresh"));
+        assertTrue(validator.isSecured(HttpMethod.POST, "/api/admin/auth/token"));
+        assertTrue(validator.isSecured(HttpMethod.POST, "/auth/tokens"));
+    }
+
+    @Test
+    void should_respect_methods_and_wildcards() {
+        assertFalse(validator.isSecured(HttpMethod.GET, "/api/product/1"));
+        assertTrue(validator.isSecured(HttpMethod.DELETE, "/api/product/1"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/product"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/product/1/images"));
+
+        assertFalse(validator.isSecured(HttpMethod.GET, "/api/images"));
+        assertFalse(validator.isSecured(HttpMethod.HEAD, "/api/images/1/thumb"));
+        assertTrue(validator.isSecured(HttpMethod.POST, "/api/images/1"));
+        assertTrue(validator.isSecured(null, "/api/images/1"));
+    }
+
+    @Test
+    void should_prefer_secured_routes() {
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/product/get-favourites"));
+    }
+
+    @Test
+    void should_treat_paths_normalized_downstream_as_secured() {
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/product/get-favourites;x"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/product/1;jsessionid=abc"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/../product/get-favourites"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/./1"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/..%2Fproduct%2Fget-favourites"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/%2e%2e/product/1"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/1%3Bx"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/1%252F"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/1%2"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api/images/1\\..\\2"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "/api//product/1"));
+        assertTrue(validator.isSecured(HttpMethod.GET, "//api/images/1"));
+        assertTrue(validator.isSecured(MockServerHttpRequest.get("/api/product/get-favourites;x").build()));
+
+        assertFalse(validator.isSecured(HttpMethod.GET, "/api/images/1/thumb/"));
+        assertFalse(validator.isSecured(HttpMethod.GET, "/api/images/photo.v2%20big"));
+        assertFalse(validator.isSecured(HttpMethod.GET, "/api/product/..1"));
+    }
+
+    @Test
+    void should_check_server_request() {
+        assertFalse(validator.isSecured(MockServerHttpRequest.get("/api/product/1?size=5").build()));
+        assertTrue(validator.isSecured(MockServerHttpRequest.post("/api/product/1").build()));
+    }
+
+    @Test
+    void should_reject_invalid_patterns_at_startup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RouteValidator(properties(List.of(route("/api/**/images")), List.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RouteValidator(properties(List.of(route("api/product")), List.of())));
+    }
+
+    private static RouteAccessProperties properties(List<RouteAccessProperties.Route> publicRoutes,
+                                                    List<RouteAccessProperties.Route> securedRoutes) {
+        RouteAccessProperties properties = new RouteAccessProperties();
+        properties.setPublicRoutes(publicRoutes);
+        properties.setSecuredRoutes(securedRoutes);
+        return properties;
+    }
+
+    private static RouteAccessProperties.Route route(String path, HttpMethod... methods) {
+        RouteAccessProperties.Route route = new RouteAccessProperties.Route();
+        route.setPath(path);
+        route.setMethods(Set.of(methods));
+        return route;
+    }
+}
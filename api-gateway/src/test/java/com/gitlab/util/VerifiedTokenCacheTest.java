@@ -0,0 +1,133 @@
+package com.gitlab.util;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "d935b276bd281799fd1fcb79a12c6633b1a3688871c493190b29b6cd53c57971";
+
+    private final MutableClock clock = new MutableClock();
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+
+    @Test
+    void should_verify_token_once_while_cached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10, Duration.ofMinutes(5), clock);
+        String token = token("user1", Duration.ofHours(1));
+
+        assertEquals("user1", cache.verify(token).getSubject());
+        assertEquals("user1", cache.verify(token).getSubject());
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void should_verify_again_after_ttl() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10, Duration.ofMinutes(5), clock);
+        String token = token("user1", Duration.ofHours(1));
+
+        cache.verify(token);
+        clock.advance(Duration.ofMinutes(5));
+        cache.verify(token);
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void should_evict_token_expiring_first_when_full() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 1, Duration.ofHours(2), clock);
+        String first = token("user1", Duration.ofMinutes(10));
+        String second = token("user2", Duration.ofHours(1));
+
+        cache.verify(first);
+        cache.verify(second);
+        cache.verify(second);
+        cache.verify(first);
+
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void should_drop_expired_tokens_before_live_ones_when_full() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 2, Duration.ofMinutes(5), clock);
+        String first = token("user1", Duration.ofHours(1));
+        cache.verify(first);
+        clock.advance(Duration.ofMinutes(5));
+        String second = token("user2", Duration.ofHours(1));
+        String third = token("user3", Duration.ofHours(1));
+
+        cache.verify(second);
+        cache.verify(third);
+        cache.verify(second);
+        cache.verify(third);
+
+        assertEquals(3, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void should_reject_forged_and_empty_tokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10, Duration.ofMinutes(5), clock);
+        String token = token("user1", Duration.ofHours(1));
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "forged";
+
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+        assertThrows(IllegalArgumentException.class, () -> cache.verify(" "));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void should_reject_expired_token() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10, Duration.ofMinutes(5), clock);
+
+        assertThrows(JwtException.class, () -> cache.verify(token("user1", Duration.ofHours(-1))));
+    }
+
+    private static String token(String subject, Duration lifetime) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setExpiration(Date.from(Instant.now().plus(lifetime)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gitlab.controllers.api.rest;
 
 import com.gitlab.dto.OrderDto;
+import com.gitlab.dto.SliceDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -25,6 +26,17 @@ public interface OrderRestApi {
     ResponseEntity<List<OrderDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
                                            @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);;
 
+    @GetMapping("/api/order/slice")
+    @ApiOperation(value = "Get Orders page by cursor (keyset pagination)")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Orders found"),
+            @ApiResponse(code = 204, message = "Orders not present"),
+            @ApiResponse(code = 400, message = "Cursor is malformed")}
+    )
+    ResponseEntity<SliceDto<OrderDto>> getSlice(@ApiParam(name = "after", value = "Cursor returned with the previous page") @RequestParam(required = false, value = "after") String after,
+                                                @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size,
+                                                @ApiParam(name = "count", value = "Also return the total number of orders") @RequestParam(required = false, defaultValue = "false", value = "count") boolean count);
+
     @ApiOperation(value = "Get order by ID")
     @GetMapping("/api/order/{id}")
     ResponseEntity<OrderDto> get(@ApiParam(name = "id", value = "Order ID") @PathVariable (value = "id") Long id);
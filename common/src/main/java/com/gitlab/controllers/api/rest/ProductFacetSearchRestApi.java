@@ -0,0 +1,37 @@
+package com.gitlab.controllers.api.rest;
+
+import com.gitlab.dto.ProductSearchResultDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Api(tags = "ProductFacetSearch")
+@Tag(name = "ProductFacetSearch", description = "Filtered product search with facet counts API description")
+public interface ProductFacetSearchRestApi {
+
+    @GetMapping("/api/search/facets")
+    @ApiOperation(value = "Search products by Product.name with range/term filters and facet counts")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Products found"),
+            @ApiResponse(code = 204, message = "Products not present")}
+    )
+    ResponseEntity<ProductSearchResultDto> searchWithFacets(
+            @ApiParam(name = "name") @RequestParam(required = false, defaultValue = "", value = "name") String name,
+            @ApiParam(name = "minPrice") @RequestParam(required = false, value = "minPrice") BigDecimal minPrice,
+            @ApiParam(name = "maxPrice") @RequestParam(required = false, value = "maxPrice") BigDecimal maxPrice,
+            @ApiParam(name = "category") @RequestParam(required = false, value = "category") List<String> categories,
+            @ApiParam(name = "storeId") @RequestParam(required = false, value = "storeId") List<Long> storeIds,
+            @ApiParam(name = "isAdult") @RequestParam(required = false, value = "isAdult") Boolean isAdult,
+            @ApiParam(name = "minRating") @RequestParam(required = false, value = "minRating") Double minRating,
+            @ApiParam(name = "page") @RequestParam(required = false, defaultValue = "0", value = "page") Integer page,
+            @ApiParam(name = "size") @RequestParam(required = false, defaultValue = "10", value = "size") Integer size);
+}
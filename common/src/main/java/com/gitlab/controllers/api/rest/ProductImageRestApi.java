@@ -1,6 +1,7 @@
 package com.gitlab.controllers.api.rest;
 
 import com.gitlab.dto.ProductImageDto;
+import com.gitlab.dto.ProductImageInfoDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -26,37 +27,41 @@ public interface ProductImageRestApi {
 
 
     @GetMapping("/api/images")
-    @ApiOperation(value = "Get Page of Product images")
+    @ApiOperation(value = "Get Page of Product images metadata")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Product image Page found"),
             @ApiResponse(code = 204, message = "Product image Page not present")}
     )
-    ResponseEntity<List<ProductImageDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
+    ResponseEntity<List<ProductImageInfoDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
                                                  @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
 
     @GetMapping("/api/images/{id}")
-    @ApiOperation(value = "Get ProductImage by id")
+    @ApiOperation(value = "Get ProductImage content by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "ProductImage found"),
-            @ApiResponse(code = 206, message = "ProductImage found, but as json not jpg"),
+            @ApiResponse(code = 206, message = "Requested range of ProductImage content"),
+            @ApiResponse(code = 304, message = "ProductImage not modified"),
+            @ApiResponse(code = 400, message = "Unknown image size"),
             @ApiResponse(code = 404, message = "ProductImage not found")}
     )
-    ResponseEntity<?> get(@PathVariable(value = "id") Long id);
+    ResponseEntity<?> get(@PathVariable(value = "id") Long id,
+                          @ApiParam(name = "size", value = "thumb, preview or full")
+                          @RequestParam(required = false, defaultValue = "full", value = "size") String size);
 
 
     @GetMapping("/api/images/product_id/{id}")
-    @ApiOperation(value = "Get ProductImage by Product id")
+    @ApiOperation(value = "Get ProductImages metadata by Product id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "ProductImage by product id found"),
-            @ApiResponse(code = 206, message = "ProductImage found, but as json not jpg"),
+            @ApiResponse(code = 204, message = "Product has no images"),
             @ApiResponse(code = 404, message = "ProductImage by product id not found")}
     )
-    ResponseEntity<List<ProductImageDto>> getAllByProductId(@PathVariable(value = "id") Long id);
+    ResponseEntity<List<ProductImageInfoDto>> getAllByProductId(@PathVariable(value = "id") Long id);
 
 
     @ApiOperation(value = "Create a new ProductImage")
     @PostMapping("/api/images")
-    ResponseEntity<ProductImageDto> create(@ApiParam(name = "productImageDto", value = "Product images details") @Valid @RequestBody ProductImageDto productImageDto);
+    ResponseEntity<ProductImageInfoDto> create(@ApiParam(name = "productImageDto", value = "Product images details") @Valid @RequestBody ProductImageDto productImageDto);
 
 
     @PatchMapping(value = "/api/images/{id}")
@@ -65,8 +70,8 @@ public interface ProductImageRestApi {
             @ApiResponse(code = 200, message = "Product Image updated"),
             @ApiResponse(code = 404, message = "Product Image not found")}
     )
-    ResponseEntity<ProductImageDto> update(@ApiParam(name = "id", value = "ProductImage.id") @PathVariable(value = "id") Long id,
-                                          @ApiParam(name = "product_image", value = "ProductImageDto") @Valid @RequestBody ProductImageDto productImageDto);
+    ResponseEntity<ProductImageInfoDto> update(@ApiParam(name = "id", value = "ProductImage.id") @PathVariable(value = "id") Long id,
+                                              @ApiParam(name = "product_image", value = "ProductImageDto") @Valid @RequestBody ProductImageDto productImageDto);
 
     @DeleteMapping("/api/images/{id}")
     @ApiOperation(value = "Delete ProductImage by id")
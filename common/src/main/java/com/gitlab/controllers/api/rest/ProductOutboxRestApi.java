@@ -0,0 +1,38 @@
+package com.gitlab.controllers.api.rest;
+
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Api(tags = "ProductOutbox")
+@Tag(name = "ProductOutbox", description = "Product change feed API description")
+public interface ProductOutboxRestApi {
+
+    @GetMapping("/api/product-outbox")
+    @ApiOperation(value = "Get batch of committed product change events after position (afterTxid, afterId)")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Product change events found"),
+            @ApiResponse(code = 204, message = "No new product change events")}
+    )
+    ResponseEntity<List<ProductChangeEventDto>> getBatch(
+            @ApiParam(name = "afterTxid") @RequestParam(required = false, defaultValue = "0", value = "afterTxid") Long afterTxid,
+            @ApiParam(name = "afterId") @RequestParam(required = false, defaultValue = "0", value = "afterId") Long afterId,
+            @ApiParam(name = "size") @RequestParam(required = false, defaultValue = "100", value = "size") Integer size);
+
+    @GetMapping("/api/product-outbox/position")
+    @ApiOperation(value = "Get feed position covering all product changes already visible in the database")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Product change feed position")}
+    )
+    ResponseEntity<ProductOutboxPositionDto> getPosition();
+}
@@ -1,6 +1,8 @@
 package com.gitlab.controllers.api.rest;
 
 import com.gitlab.dto.ProductDto;
+import com.gitlab.dto.SliceDto;
+import com.gitlab.enums.ProductSort;
 import io.swagger.annotations.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,7 +12,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @Api(tags = "Product REST")
 @Tag(name = "Product REST", description = "Product API description")
@@ -24,7 +28,21 @@ public interface ProductRestApi {
     )
     ResponseEntity<List<ProductDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
                                              @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size,
-                                             @ApiParam(name = "storeId") @RequestParam(required = false, value = "storeId") Long storeId);
+                                             @ApiParam(name = "storeId") @RequestParam(required = false, value = "storeId") Long storeId,
+                                             @ApiParam(name = "minRating", value = "Only products with average rating not lower") @RequestParam(required = false, value = "minRating") BigDecimal minRating,
+                                             @ApiParam(name = "sort", value = "ID (default) or RATING (highest first)") @RequestParam(required = false, value = "sort") ProductSort sort);
+
+    @GetMapping("/api/product/slice")
+    @Operation(summary = "Get Products page by cursor (keyset pagination)")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Products found"),
+            @ApiResponse(code = 204, message = "Products not present"),
+            @ApiResponse(code = 400, message = "Cursor is malformed")}
+    )
+    ResponseEntity<SliceDto<ProductDto>> getSlice(@ApiParam(name = "after", value = "Cursor returned with the previous page") @RequestParam(required = false, value = "after") String after,
+                                                  @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size,
+                                                  @ApiParam(name = "storeId") @RequestParam(required = false, value = "storeId") Long storeId,
+                                                  @ApiParam(name = "count", value = "Also return the total number of products") @RequestParam(required = false, defaultValue = "false", value = "count") boolean count);
 
     @GetMapping("/api/product/{id}")
     @Operation(summary = "Get Product by id")
@@ -118,9 +136,17 @@ public interface ProductRestApi {
 
 
     @GetMapping("/api/product/get-favourites")
-    @Operation(summary = "Get all favourite products of an authorized user")
+    @Operation(summary = "Get a page of favourite products of an authorized user")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Favourite products found")}
     )
-    ResponseEntity<List<ProductDto>> getFavouriteProducts();
+    ResponseEntity<List<ProductDto>> getFavouriteProducts(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
+                                                          @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
+
+    @GetMapping("/api/product/favourite-ids")
+    @Operation(summary = "Get which of the given products are favourites of an authorized user")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Favourite product ids found")}
+    )
+    ResponseEntity<Set<Long>> getFavouriteIds(@ApiParam(name = "productIds", value = "Product ids, at most 100") @RequestParam(value = "productIds") List<Long> productIds);
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.gitlab.controllers.api.rest;
+
+import com.gitlab.dto.ProductSearchPageDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Api(tags = "ProductSearchScroll")
+@Tag(name = "ProductSearchScroll", description = "Cursor-based product search paging API description")
+public interface ProductSearchScrollRestApi {
+
+    @GetMapping("/api/search/scroll")
+    @ApiOperation(value = "Get the next page of products found by Product.name, ordered by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Products found"),
+            @ApiResponse(code = 204, message = "Products not present"),
+            @ApiResponse(code = 400, message = "Cursor is malformed")}
+    )
+    ResponseEntity<ProductSearchPageDto> scroll(
+            @ApiParam(name = "name") @RequestParam(required = false, defaultValue = "", value = "name") String name,
+            @ApiParam(name = "after", value = "Cursor returned with the previous page")
+            @RequestParam(required = false, value = "after") String after,
+            @ApiParam(name = "size") @RequestParam(required = false, defaultValue = "20", value = "size") Integer size);
+}
@@ -0,0 +1,28 @@
+package com.gitlab.controllers.api.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Api(tags = "ProductSuggest")
+@Tag(name = "ProductSuggest", description = "Search-as-you-type suggestions API description")
+public interface ProductSuggestRestApi {
+
+    @GetMapping("/api/search/suggest")
+    @ApiOperation(value = "Suggest product names starting with the typed prefix")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Suggestions found"),
+            @ApiResponse(code = 204, message = "Suggestions not present")}
+    )
+    ResponseEntity<List<String>> suggest(
+            @ApiParam(name = "prefix") @RequestParam(value = "prefix") String prefix,
+            @ApiParam(name = "size") @RequestParam(required = false, defaultValue = "10", value = "size") Integer size);
+}
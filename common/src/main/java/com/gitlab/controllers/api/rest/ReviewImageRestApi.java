@@ -1,6 +1,7 @@
 package com.gitlab.controllers.api.rest;
 
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.dto.ReviewImageUpdateDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -27,23 +28,32 @@ import java.util.List;
 public interface ReviewImageRestApi {
 
     @GetMapping("/api/review-images")
-    @ApiOperation(value = "Get Review image page")
+    @ApiOperation(value = "Get Page of Review images metadata")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Review image Page found"),
             @ApiResponse(code = 204, message = "Review image Page not present")}
     )
-    ResponseEntity<List<ReviewImageDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
-                                                 @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
+    ResponseEntity<List<ReviewImageInfoDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
+                                                     @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
 
 
     @GetMapping("/api/review-images/{id}")
-    @ApiOperation(value = "Get ReviewImage by id")
+    @ApiOperation(value = "Get ReviewImage metadata by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Review Image found"),
-            @ApiResponse(code = 206, message = "Review Image found, but as json not jpg"),
             @ApiResponse(code = 404, message = "Review Image not found")}
     )
-    ResponseEntity<?> get(@ApiParam(name = "id", value = "ReviewImage.id") @PathVariable("id") Long id);
+    ResponseEntity<ReviewImageInfoDto> get(@ApiParam(name = "id", value = "ReviewImage.id") @PathVariable("id") Long id);
+
+    @GetMapping("/api/review-images/{id}/content")
+    @ApiOperation(value = "Get ReviewImage content by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Review Image content found"),
+            @ApiResponse(code = 206, message = "Requested range of Review Image content"),
+            @ApiResponse(code = 304, message = "Review Image content not modified"),
+            @ApiResponse(code = 404, message = "Review Image not found")}
+    )
+    ResponseEntity<?> getContent(@ApiParam(name = "id", value = "ReviewImage.id") @PathVariable("id") Long id);
 
     @PostMapping("/api/review-images")
     @ApiOperation(value = "Create Review Image")
@@ -51,7 +61,7 @@ public interface ReviewImageRestApi {
             @ApiResponse(code = 201, message = "Review image created"),
             @ApiResponse(code = 400, message = "Review image not created")}
     )
-    ResponseEntity<ReviewImageDto> create(@ApiParam(name = "review_image", value = "ReviewImageDto") @Valid @RequestBody ReviewImageDto reviewImageDto);
+    ResponseEntity<ReviewImageInfoDto> create(@ApiParam(name = "review_image", value = "ReviewImageDto") @Valid @RequestBody ReviewImageDto reviewImageDto);
 
     @PatchMapping(value = "/api/review-images/{id}")
     @ApiOperation(value = "Update Review Image")
@@ -59,8 +69,8 @@ public interface ReviewImageRestApi {
             @ApiResponse(code = 200, message = "Review Image updated"),
             @ApiResponse(code = 404, message = "Review Image not found")}
     )
-    ResponseEntity<ReviewImageDto> update(@ApiParam(name = "id", value = "ReviewImage.id") @PathVariable(value = "id") Long id,
-                                          @ApiParam(name = "review_image", value = "ReviewImageDto") @Valid @RequestBody ReviewImageUpdateDto reviewImageUpdateDto);
+    ResponseEntity<ReviewImageInfoDto> update(@ApiParam(name = "id", value = "ReviewImage.id") @PathVariable(value = "id") Long id,
+                                              @ApiParam(name = "review_image", value = "ReviewImageDto") @Valid @RequestBody ReviewImageUpdateDto reviewImageUpdateDto);
 
     @DeleteMapping("/api/review-images/{id}")
     @ApiOperation(value = "Delete ReviewImage by id")
@@ -1,6 +1,7 @@
 package com.gitlab.controllers.api.rest;
 
 import com.gitlab.dto.ReviewDto;
+import com.gitlab.dto.SliceDto;
 import io.swagger.annotations.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,17 @@ public interface ReviewRestApi {
     ResponseEntity<List<ReviewDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
                                             @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
 
+    @GetMapping("/api/review/slice")
+    @ApiOperation(value = "Get Reviews page by cursor (keyset pagination)")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Reviews found"),
+            @ApiResponse(code = 204, message = "Reviews not present"),
+            @ApiResponse(code = 400, message = "Cursor is malformed")}
+    )
+    ResponseEntity<SliceDto<ReviewDto>> getSlice(@ApiParam(name = "after", value = "Cursor returned with the previous page") @RequestParam(required = false, value = "after") String after,
+                                                 @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size,
+                                                 @ApiParam(name = "count", value = "Also return the total number of reviews") @RequestParam(required = false, defaultValue = "false", value = "count") boolean count);
+
     @GetMapping("/api/review/{id}")
     @ApiOperation(value = "Get Review by id")
     @ApiResponses(value = {
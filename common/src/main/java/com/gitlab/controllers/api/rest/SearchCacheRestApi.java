@@ -0,0 +1,19 @@
+package com.gitlab.controllers.api.rest;
+
+import com.gitlab.dto.SearchCacheStatsDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+
+@Api(tags = "SearchCache")
+@Tag(name = "SearchCache", description = "Product search result cache API description")
+public interface SearchCacheRestApi {
+
+    @GetMapping("/api/search/index/cache")
+    @ApiOperation(value = "Get product search result cache statistics")
+    @ApiResponse(code = 200, message = "Cache statistics returned")
+    ResponseEntity<SearchCacheStatsDto> getCacheStats();
+}
@@ -0,0 +1,31 @@
+package com.gitlab.controllers.api.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+
+@Api(tags = "SearchIndex")
+@Tag(name = "SearchIndex", description = "Product search index management API description")
+public interface SearchIndexRestApi {
+
+    @GetMapping("/api/search/index")
+    @ApiOperation(value = "Get product search index readiness")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Index is built and queryable"),
+            @ApiResponse(code = 503, message = "Index is not built yet")}
+    )
+    ResponseEntity<Void> getStatus();
+
+    @PostMapping("/api/search/index/rebuild")
+    @ApiOperation(value = "Start asynchronous rebuild of the product search index")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Index rebuild started"),
+            @ApiResponse(code = 409, message = "Index rebuild is already in progress")}
+    )
+    ResponseEntity<Void> rebuild();
+}
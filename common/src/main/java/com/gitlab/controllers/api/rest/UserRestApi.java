@@ -22,6 +22,17 @@ public interface UserRestApi {
     ResponseEntity<List<UserDto>> getPage(@ApiParam(name = "page") @RequestParam(required = false, value = "page") Integer page,
                                           @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size);
 
+    @GetMapping("/api/user/slice")
+    @ApiOperation(value = "Get Users page by cursor (keyset pagination)")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Users found"),
+            @ApiResponse(code = 204, message = "Users not present"),
+            @ApiResponse(code = 400, message = "Cursor is malformed")}
+    )
+    ResponseEntity<SliceDto<UserDto>> getSlice(@ApiParam(name = "after", value = "Cursor returned with the previous page") @RequestParam(required = false, value = "after") String after,
+                                               @ApiParam(name = "size") @RequestParam(required = false, value = "size") Integer size,
+                                               @ApiParam(name = "count", value = "Also return the total number of users") @RequestParam(required = false, defaultValue = "false", value = "count") boolean count);
+
     @GetMapping("/api/user/{id}")
     @ApiOperation(value = "Get User by id")
     @ApiResponses(value = {
@@ -0,0 +1,20 @@
+package com.gitlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.gitlab.enums.EntityStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Строка инкрементальной выгрузки: поля DTO на верхнем уровне JSON-объекта плюс статус записи.
+ * Удаленные записи тоже выгружаются, со статусом DELETED, чтобы потребитель мог удалить их у себя.
+ */
+@Getter
+@AllArgsConstructor
+public class ExportRowDto<D> {
+
+    @JsonUnwrapped
+    private final D row;
+
+    private final EntityStatus entityStatus;
+}
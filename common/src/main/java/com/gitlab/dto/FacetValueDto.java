@@ -0,0 +1,15 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetValueDto {
+
+    private String value;
+
+    private Integer count;
+}
@@ -0,0 +1,46 @@
+package com.gitlab.dto;
+
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Событие ленты изменений продуктов. Кроме типа изменения несет индексируемые поля продукта
+ * на момент изменения, поля пусты, если продукт к моменту публикации не найден.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeEventDto {
+
+    private Long id;
+
+    private Long txid;
+
+    private Long productId;
+
+    private ProductChangeType changeType;
+
+    private LocalDateTime createDateTime;
+
+    private String name;
+
+    private BigDecimal price;
+
+    private Boolean isAdult;
+
+    private EntityStatus entityStatus;
+
+    private Long storeId;
+
+    private String productCategoryName;
+
+    private Long ratingSum;
+
+    private Integer ratingCount;
+}
@@ -0,0 +1,33 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Метаданные изображения товара для списков. Содержимое отдается только по {@link #url}
+ * ({@code GET /api/images/{id}}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImageInfoDto {
+
+    private Long id;
+
+    private Long productId;
+
+    private String name;
+
+    private String contentType;
+
+    private Long size;
+
+    private String contentHash;
+
+    private Integer width;
+
+    private Integer height;
+
+    private String url;
+}
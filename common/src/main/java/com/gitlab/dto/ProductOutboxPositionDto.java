@@ -0,0 +1,18 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Позиция в ленте изменений продуктов: события упорядочены по номеру транзакции, затем по id.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductOutboxPositionDto {
+
+    private Long txid;
+
+    private Long id;
+}
@@ -0,0 +1,28 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchFilterDto {
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private List<String> categories;
+
+    private List<Long> storeIds;
+
+    private Boolean isAdult;
+
+    private Double minRating;
+}
@@ -0,0 +1,20 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchPageDto {
+
+    private List<ProductDto> products;
+
+    /**
+     * Курсор для получения следующей страницы, null если результатов больше нет.
+     */
+    private String nextCursor;
+}
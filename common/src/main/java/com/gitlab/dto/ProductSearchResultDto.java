@@ -0,0 +1,20 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResultDto {
+
+    private List<ProductDto> products;
+
+    private Long totalElements;
+
+    private Map<String, List<FacetValueDto>> facets;
+}
@@ -0,0 +1,29 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Метаданные изображения отзыва. Содержимое отдается только по {@link #url}
+ * ({@code GET /api/review-images/{id}/content}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewImageInfoDto {
+
+    private Long id;
+
+    private Long reviewId;
+
+    private String name;
+
+    private String contentType;
+
+    private Long size;
+
+    private String contentHash;
+
+    private String url;
+}
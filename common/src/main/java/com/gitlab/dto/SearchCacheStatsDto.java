@@ -0,0 +1,28 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchCacheStatsDto {
+
+    private int size;
+
+    private int maxSize;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Количество записей, сброшенных из-за изменения поискового индекса.
+     */
+    private long invalidationCount;
+
+    private double hitRate;
+}
@@ -0,0 +1,29 @@
+package com.gitlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница списка с курсором (keyset-пагинация): следующая страница запрашивается по {@code nextCursor},
+ * без OFFSET и без подсчета общего числа записей.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceDto<T> {
+
+    private List<T> content;
+
+    /**
+     * Курсор для получения следующей страницы, null если записей больше нет.
+     */
+    private String nextCursor;
+
+    /**
+     * Общее число записей, заполняется только по запросу ({@code count=true}).
+     */
+    private Long totalElements;
+}
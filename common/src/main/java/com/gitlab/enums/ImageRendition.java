@@ -0,0 +1,27 @@
+package com.gitlab.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Размеры, в которых отдаются изображения товаров. Значение передается в параметре {@code size}.
+ */
+@Getter
+@AllArgsConstructor
+public enum ImageRendition {
+
+    THUMB("thumb"),
+    PREVIEW("preview"),
+    FULL("full");
+
+    private final String value;
+
+    public static Optional<ImageRendition> fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(rendition -> rendition.value.equalsIgnoreCase(value))
+                .findFirst();
+    }
+}
@@ -0,0 +1,5 @@
+package com.gitlab.enums;
+
+public enum ProductChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,8 @@
+package com.gitlab.enums;
+
+/**
+ * Порядок списка продуктов: ID - по возрастанию id, RATING - по убыванию средней оценки.
+ */
+public enum ProductSort {
+    ID, RATING
+}
@@ -0,0 +1,45 @@
+package com.gitlab.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая запись строк в NDJSON (по одному JSON-объекту на строку) для export-эндпоинтов всех сервисов.
+ * Строки читаются из {@link Stream} репозитория через серверный курсор и сразу пишутся в ответ,
+ * поэтому расход памяти не зависит от размера таблицы.
+ */
+@UtilityClass
+public class NdjsonWriter {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    /**
+     * Пишет строки в NDJSON. Каждые {@value PagePolicy#EXPORT_FETCH_SIZE} строк ответ сбрасывается клиенту
+     * и вызывается {@code clearContext}, обычно {@code entityManager::clear}, чтобы прочитанные сущности
+     * не копились в контексте персистентности до конца выгрузки. Вызывается внутри транзакции, в которой
+     * открыт поток; поток закрывает вызывающий.
+     *
+     * @return число выгруженных строк.
+     */
+    public static <T, D> long write(Stream<T> rows, Function<T, D> mapper, ObjectMapper objectMapper,
+                                    Runnable clearContext, OutputStream outputStream) throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            outputStream.write(objectMapper.writeValueAsBytes(mapper.apply(iterator.next())));
+            outputStream.write(LINE_SEPARATOR);
+            if (++count % PagePolicy.EXPORT_FETCH_SIZE == 0) {
+                outputStream.flush();
+                clearContext.run();
+            }
+        }
+        outputStream.flush();
+        return count;
+    }
+}
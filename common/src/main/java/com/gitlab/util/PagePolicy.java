@@ -0,0 +1,38 @@
+package com.gitlab.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Единые правила offset-пагинации для всех сервисов: без номера страницы отдается первая,
+ * без размера {@value #DEFAULT_SIZE} записей, размер больше {@value #MAX_SIZE} обрезается.
+ * Таблица целиком через страничный API не выгружается, для этого есть потоковые export-эндпоинты.
+ */
+@UtilityClass
+public class PagePolicy {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    /**
+     * Сколько строк драйвер JDBC забирает за один проход курсора при потоковой выгрузке.
+     */
+    public static final int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * @return false, если номер или размер страницы переданы явно и некорректны (page < 0, size < 1).
+     */
+    public static boolean isValid(Integer page, Integer size) {
+        return (page == null || page >= 0) && (size == null || size >= 1);
+    }
+
+    /**
+     * Запрос страницы по правилам политики, параметры должны пройти {@link #isValid(Integer, Integer)}.
+     */
+    public static PageRequest of(Integer page, Integer size) {
+        return PageRequest.of(page == null ? 0 : page, size(size));
+    }
+
+    public static int size(Integer size) {
+        return size == null || size < 1 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+}
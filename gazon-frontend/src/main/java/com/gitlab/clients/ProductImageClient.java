@@ -2,7 +2,17 @@ package com.gitlab.clients;
 
 import com.gitlab.controllers.api.rest.ProductImageRestApi;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(value = "${app.feign.config.name}", contextId = "ProductImage", url = "${app.feign.config.url}")
 public interface ProductImageClient extends ProductImageRestApi {
-}
\ No newline at end of file
+
+    /**
+     * Содержимое изображения в размере thumb, preview или full.
+     */
+    @GetMapping("/api/images/{id}")
+    ResponseEntity<byte[]> getContent(@PathVariable("id") Long id, @RequestParam("size") String size);
+}
@@ -3,6 +3,6 @@ package com.gitlab.clients;
 import com.gitlab.controllers.api.rest.ProductSearchRestApi;
 import org.springframework.cloud.openfeign.FeignClient;
 
-@FeignClient(value = "${app.feign.config.name}", contextId = "SearchProduct", url = "http://localhost:8089")
+@FeignClient(value = "${app.feign.config.name}", contextId = "SearchProduct", url = "${app.feign.config.search-url}")
 public interface ProductSearchClient extends ProductSearchRestApi {
 }
\ No newline at end of file
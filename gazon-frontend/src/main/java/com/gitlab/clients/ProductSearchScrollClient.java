@@ -0,0 +1,8 @@
+package com.gitlab.clients;
+
+import com.gitlab.controllers.api.rest.ProductSearchScrollRestApi;
+import org.springframework.cloud.openfeign.FeignClient;
+
+@FeignClient(value = "${app.feign.config.name}", contextId = "ScrollProduct", url = "${app.feign.config.search-url}")
+public interface ProductSearchScrollClient extends ProductSearchScrollRestApi {
+}
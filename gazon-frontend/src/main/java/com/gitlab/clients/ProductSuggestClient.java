@@ -0,0 +1,8 @@
+package com.gitlab.clients;
+
+import com.gitlab.controllers.api.rest.ProductSuggestRestApi;
+import org.springframework.cloud.openfeign.FeignClient;
+
+@FeignClient(value = "${app.feign.config.name}", contextId = "SuggestProduct", url = "${app.feign.config.search-url}")
+public interface ProductSuggestClient extends ProductSuggestRestApi {
+}
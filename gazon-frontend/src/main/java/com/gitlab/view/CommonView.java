@@ -10,6 +10,7 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.router.RouterLink;
+import com.vaadin.flow.server.VaadinService;
 
 /**
  * Base class CommonView for views.
@@ -44,7 +45,7 @@ public abstract class CommonView extends FlexLayout {
         catalogButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
         HorizontalLayout searchContainer = new HorizontalLayout();
-        SearchBar searchBar = new SearchBar();
+        SearchBar searchBar = VaadinService.getCurrent().getInstantiator().getOrCreate(SearchBar.class);
         searchContainer.add(searchBar);
 
         Div loginButton = createIconAndTextDiv(VaadinIcon.SMILEY_O, "Войти");
@@ -4,8 +4,8 @@ import com.gitlab.clients.ProductImageClient;
 import com.gitlab.clients.ProductPageClient;
 import com.gitlab.clients.ReviewClient;
 import com.gitlab.dto.ProductDto;
-import com.gitlab.dto.ProductImageDto;
 import com.gitlab.dto.ReviewDto;
+import com.gitlab.enums.ImageRendition;
 import com.vaadin.flow.component.Composite;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -29,6 +29,7 @@ import org.springframework.http.ResponseEntity;
 import java.io.ByteArrayInputStream;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -108,27 +109,26 @@ public class ProductPageView extends CommonView implements HasUrlParameter<Strin
      * В случае отсутствия картинок в map будет добавлена картинка-заглушка
      */
     private Map<Long, Image> getImagesPreview(ProductDto productDto) {
-        List<ProductImageDto> productImageList = productImageClient.getAllByProductId(productDto.getId()).getBody();
+        Long[] imagesId = productDto.getImagesId();
         Map<Long, Image> previewImages = new HashMap<>();
-        if (productImageList != null && !productImageList.isEmpty()) {
+        if (imagesId != null && imagesId.length > 0) {
             //пока нет ограничения по загрузке картинок на один товар - лимитируем вручную
-            productImageList = productImageList.stream().limit(5).toList();
-            for (ProductImageDto imageDto : productImageList) {
-                StreamResource sr = new StreamResource("image", () -> new ByteArrayInputStream(imageDto.getData()));
-                sr.setContentType("image/png");
+            for (Long imageId : Arrays.stream(imagesId).limit(5).toList()) {
+                StreamResource sr = new StreamResource("image", () -> new ByteArrayInputStream(
+                        productImageClient.getContent(imageId, ImageRendition.PREVIEW.getValue()).getBody()));
 
-                Image image = new Image(sr, imageDto.getId().toString());
+                Image image = new Image(sr, imageId.toString());
                 image.setWidth("300px");
                 image.setHeight("300px");
-                fullSizedImages.put(imageDto.getId(), image);
+                fullSizedImages.put(imageId, image);
 
-                StreamResource srPreview = new StreamResource("image", () -> new ByteArrayInputStream(imageDto.getData()));
-                srPreview.setContentType("image/png");
+                StreamResource srPreview = new StreamResource("image", () -> new ByteArrayInputStream(
+                        productImageClient.getContent(imageId, ImageRendition.THUMB.getValue()).getBody()));
 
-                Image imagePreview = new Image(sr, imageDto.getId().toString());
+                Image imagePreview = new Image(srPreview, imageId.toString());
                 imagePreview.setWidth("50px");
                 imagePreview.setHeight("50px");
-                previewImages.put(imageDto.getId(), imagePreview);
+                previewImages.put(imageId, imagePreview);
             }
 
         } else {
@@ -1,20 +1,31 @@
 package com.gitlab.view;
 
+import com.gitlab.clients.ProductSuggestClient;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import feign.FeignException;
+import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 
 @Route
 @PageTitle("Поиск")
 public class SearchBar extends VerticalLayout {
+    private static final int SUGGEST_DELAY_MS = 300;
+    private static final int SUGGEST_SIZE = 8;
+
+    private final ProductSuggestClient productSuggestClient;
     private final TextField searchField = new TextField();
     private final Button searchButton = new Button(VaadinIcon.SEARCH.create());
+    private final VerticalLayout suggestionList = new VerticalLayout();
 
     private SearchListener searchListener;
 
@@ -22,7 +33,8 @@ public class SearchBar extends VerticalLayout {
         void onSearch(String query);
     }
 
-    public SearchBar() {
+    public SearchBar(ProductSuggestClient productSuggestClient) {
+        this.productSuggestClient = productSuggestClient;
         addClassName("search-view");
 
         HorizontalLayout searchWrapper = new HorizontalLayout();
@@ -33,27 +45,69 @@ public class SearchBar extends VerticalLayout {
         searchField.setWidthFull();
         searchField.setWidth("600px");
 
+        // Запрос подсказок уходит только после паузы в наборе, а не на каждое нажатие клавиши.
+        searchField.setValueChangeMode(ValueChangeMode.TIMEOUT);
+        searchField.setValueChangeTimeout(SUGGEST_DELAY_MS);
+        searchField.addValueChangeListener(event -> showSuggestions(event.getValue()));
+
         searchButton.addClickListener(event -> performSearch());
         searchButton.addClickShortcut(Key.ENTER);
 
         HorizontalLayout searchFieldContainer = new HorizontalLayout(searchField, searchButton);
         searchFieldContainer.addClassName("search-field-container");
 
+        suggestionList.addClassName("search-suggestions");
+        suggestionList.setPadding(false);
+        suggestionList.setSpacing(false);
+        suggestionList.setWidth("600px");
+        suggestionList.setVisible(false);
+
         searchWrapper.add(searchFieldContainer);
-        add(searchWrapper);
+        add(searchWrapper, suggestionList);
     }
 
     public void setSearchListener(SearchListener listener) {
         this.searchListener = listener;
     }
 
+    private void showSuggestions(String prefix) {
+        suggestionList.removeAll();
+        List<String> suggestions = prefix.isBlank() ? List.of() : fetchSuggestions(prefix);
+        for (String suggestion : suggestions) {
+            Span item = new Span(suggestion);
+            item.addClassName("search-suggestion");
+            item.getStyle().set("cursor", "pointer");
+            item.addClickListener(event -> {
+                suggestionList.setVisible(false);
+                navigateToResults(suggestion);
+            });
+            suggestionList.add(item);
+        }
+        suggestionList.setVisible(!suggestions.isEmpty());
+    }
+
+    private List<String> fetchSuggestions(String prefix) {
+        try {
+            ResponseEntity<List<String>> response = productSuggestClient.suggest(prefix, SUGGEST_SIZE);
+            return response.getBody() == null ? List.of() : response.getBody();
+        } catch (FeignException e) {
+            // Подсказки не критичны для поиска: при недоступности сервиса просто не показываем их.
+            return List.of();
+        }
+    }
+
     private void performSearch() {
+        suggestionList.setVisible(false);
         String strQuery = searchField.getValue();
 
         if (!strQuery.isEmpty()) {
-            String searchResultsUrl = "search/" + strQuery;
-            getUI().ifPresent(ui -> ui.navigate(searchResultsUrl));
+            navigateToResults(strQuery);
         }
 
     }
+
+    private void navigateToResults(String query) {
+        String searchResultsUrl = "search/" + query;
+        getUI().ifPresent(ui -> ui.navigate(searchResultsUrl));
+    }
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.gitlab.view;
 
 import com.gitlab.clients.ProductImageClient;
-import com.gitlab.clients.ProductSearchClient;
+import com.gitlab.clients.ProductSearchScrollClient;
 import com.gitlab.clients.ReviewClient;
 import com.gitlab.dto.ProductDto;
-import com.gitlab.dto.ProductImageDto;
+import com.gitlab.dto.ProductSearchPageDto;
+import com.gitlab.enums.ImageRendition;
 import com.vaadin.flow.component.Composite;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Image;
@@ -15,23 +16,30 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.*;
 import com.vaadin.flow.server.StreamResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Route("search")
 public class SearchResultsView extends CommonView implements HasUrlParameter<String> {
-    private final ProductSearchClient productSearchClient;
+    private static final int PAGE_SIZE = 20;
+
+    private final ProductSearchScrollClient productSearchScrollClient;
     private final ProductImageClient productImageClient;
     private final ReviewClient reviewClient;
     private final FlexLayout contentContainer;
 
-    public SearchResultsView(ProductSearchClient productSearchClient, ProductImageClient productImageClient, ReviewClient reviewClient) {
-        this.productSearchClient = productSearchClient;
+    public SearchResultsView(ProductSearchScrollClient productSearchScrollClient, ProductImageClient productImageClient, ReviewClient reviewClient) {
+        this.productSearchScrollClient = productSearchScrollClient;
         this.productImageClient = productImageClient;
         this.reviewClient = reviewClient;
         contentContainer = new FlexLayout();
@@ -44,44 +52,35 @@ public class SearchResultsView extends CommonView implements HasUrlParameter<Str
     @Override
     public void setParameter(BeforeEvent event, @WildcardParameter String parameter) {
         if (parameter != null && !parameter.isEmpty()) {
-            try {
-                performSearch(parameter);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+            performSearch(parameter);
         }
     }
 
-    private void performSearch(String query) throws InterruptedException {
-        if (!query.isEmpty()) {
-            ResponseEntity<List<ProductDto>> response = productSearchClient.searchOptionalPaginate(query,null,null);
-            HttpStatus statusCode = response.getStatusCode();
-
-            if (statusCode.is2xxSuccessful()) {
-                List<ProductDto> products = response.getBody();
-
-                if (products != null) {
-                    displaySearchResults(products.stream().map(this::getProductView).toList());
-                } else {
-                    displayNoResults();
-                }
-            } else if (statusCode == HttpStatus.NO_CONTENT) {
+    private void performSearch(String query) {
+        SearchResults results = new SearchResults(query);
+        try {
+            if (!results.loadNextPage()) {
                 displayNoResults();
-            } else {
-                displayError();
+                return;
             }
+        } catch (RuntimeException e) {
+            displayError();
+            return;
         }
+        displaySearchResults(results);
     }
 
-    private void displaySearchResults(List<ProductComponent> products) {
+    /**
+     * Карточки товаров создаются только для видимой части списка, следующие страницы
+     * запрашиваются курсором по мере прокрутки.
+     */
+    private void displaySearchResults(SearchResults results) {
         contentContainer.removeAll();
-        if (!products.isEmpty()) {
-            for (ProductComponent product : products) {
-                contentContainer.add(product);
-            }
-        } else {
-            displayNoResults();
-        }
+        VirtualList<ProductDto> productList = new VirtualList<>();
+        productList.setRenderer(new ComponentRenderer<>(this::getProductView));
+        productList.setItems(results::fetch);
+        productList.setHeight("100vh");
+        contentContainer.add(productList);
     }
 
     private ProductComponent getProductView(ProductDto productDto) {
@@ -89,11 +88,11 @@ public class SearchResultsView extends CommonView implements HasUrlParameter<Str
     }
 
     private Image getImages(ProductDto productDto) {
-        List<ProductImageDto> productImageDtos = productImageClient.getAllByProductId(productDto.getId()).getBody();
+        Long[] imagesId = productDto.getImagesId();
         Image resImage;
-        if (productImageDtos != null && !productImageDtos.isEmpty()) {
-            StreamResource sr = new StreamResource("image", () -> new ByteArrayInputStream(productImageDtos.get(0).getData()));
-            sr.setContentType("image/png");
+        if (imagesId != null && imagesId.length > 0) {
+            StreamResource sr = new StreamResource("image", () -> new ByteArrayInputStream(
+                    productImageClient.getContent(imagesId[0], ImageRendition.PREVIEW.getValue()).getBody()));
             resImage = new Image(sr, "profile-picture");
 
         } else {
@@ -119,6 +118,46 @@ public class SearchResultsView extends CommonView implements HasUrlParameter<Str
         contentContainer.add(new H2("Произошла ошибка при выполнении поиска"));
     }
 
+    /**
+     * Уже загруженные результаты поиска и курсор следующей страницы.
+     */
+    private class SearchResults {
+        private final String query;
+        private final List<ProductDto> loaded = new ArrayList<>();
+        private String nextCursor;
+        private boolean exhausted;
+
+        private SearchResults(String query) {
+            this.query = query;
+        }
+
+        private Stream<ProductDto> fetch(Query<ProductDto, Void> query) {
+            int offset = query.getOffset();
+            int limit = query.getLimit();
+            boolean hasMore = true;
+            while (hasMore && loaded.size() < offset + limit) {
+                hasMore = loadNextPage();
+            }
+            return loaded.stream().skip(offset).limit(limit);
+        }
+
+        private boolean loadNextPage() {
+            if (exhausted) {
+                return false;
+            }
+            ResponseEntity<ProductSearchPageDto> response = productSearchScrollClient.scroll(query, nextCursor, PAGE_SIZE);
+            ProductSearchPageDto page = response.getBody();
+            if (response.getStatusCode() == HttpStatus.NO_CONTENT || page == null || page.getProducts().isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            loaded.addAll(page.getProducts());
+            nextCursor = page.getNextCursor();
+            exhausted = nextCursor == null;
+            return true;
+        }
+    }
+
     public static class ProductComponent extends Composite<HorizontalLayout> {
         public ProductComponent(ProductDto productDto, Image image, Long reviewAmount) {
             RouterLink productPageLink = new RouterLink("Страница товара", ProductPageView.class);
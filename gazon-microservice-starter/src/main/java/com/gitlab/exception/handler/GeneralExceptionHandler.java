@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import javax.persistence.EntityNotFoundException;
 
@@ -49,8 +50,14 @@ public class GeneralExceptionHandler {
         return new ErrorResponseDto(ex.getHttpStatus().value(), ex.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ExceptionHandler(value = MaxUploadSizeExceededException.class)
+    public ErrorResponseDto handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        return new ErrorResponseDto(HttpStatus.PAYLOAD_TOO_LARGE.value(), ex.getMessage());
+    }
+
     @ExceptionHandler(value = TechnicalException.class)
-    public ErrorResponseDto handleTechnicalException(TechnicalException ex) {
-        return new ErrorResponseDto(ex.getHttpStatus().value(), ex.getMessage());
+    public ResponseEntity<ErrorResponseDto> handleTechnicalException(TechnicalException ex) {
+        return new ResponseEntity<>(new ErrorResponseDto(ex.getHttpStatus().value(), ex.getMessage()), ex.getHttpStatus());
     }
 }
\ No newline at end of file
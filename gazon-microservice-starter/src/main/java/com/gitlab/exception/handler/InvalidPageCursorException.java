@@ -0,0 +1,12 @@
+package com.gitlab.exception.handler;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidPageCursorException extends BusinessException {
+
+    private static final String MESSAGE = "Invalid page cursor";
+
+    public InvalidPageCursorException() {
+        super(HttpStatus.BAD_REQUEST, MESSAGE);
+    }
+}
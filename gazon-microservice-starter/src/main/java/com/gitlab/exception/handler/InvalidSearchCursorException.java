@@ -0,0 +1,12 @@
+package com.gitlab.exception.handler;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidSearchCursorException extends BusinessException {
+
+    private static final String MESSAGE = "Invalid search cursor";
+
+    public InvalidSearchCursorException() {
+        super(HttpStatus.BAD_REQUEST, MESSAGE);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gitlab.exception.handler;
+
+import org.springframework.http.HttpStatus;
+
+public class SearchIndexNotReadyException extends TechnicalException {
+
+    private static final String MESSAGE = "Search index is being built, try again later";
+
+    public SearchIndexNotReadyException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, MESSAGE);
+    }
+}
@@ -0,0 +1,152 @@
+package com.gitlab.benchmark;
+
+import com.gitlab.util.DeflateCodec;
+import com.gitlab.util.ImageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Сравнение прежнего кодирования изображений (Deflate BEST_COMPRESSION для любого файла, новые
+ * Deflater/Inflater и буферы на каждый вызов) с текущим ({@link ImageUtils#isCompressedFormat(String)}
+ * и пул {@link DeflateCodec}). Пропускную способность и аллокации показывает профилировщик gc.
+ * <p>
+ * Запуск из корня проекта: сначала
+ * {@code mvn -pl gazon-service -Pjmh test-compile dependency:build-classpath -Dmdep.includeScope=test
+ * -Dmdep.outputFile=target/jmh.classpath}, затем
+ * {@code java -cp gazon-service/target/test-classes:gazon-service/target/classes:$(cat gazon-service/target/jmh.classpath)
+ * com.gitlab.benchmark.ImageEncodingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageEncodingBenchmark {
+
+    @Param({"jpg", "png", "bmp"})
+    private String format;
+
+    private byte[] image;
+    private byte[] legacyEncoded;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        image = generateImage(format);
+        legacyEncoded = legacyCompress(image);
+        encoded = encode(image);
+    }
+
+    @Benchmark
+    public byte[] legacyWrite() {
+        return legacyCompress(image);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return encode(image);
+    }
+
+    @Benchmark
+    public byte[] legacyRead() {
+        return legacyDecompress(legacyEncoded);
+    }
+
+    @Benchmark
+    public byte[] read() throws DataFormatException {
+        return encoded == image ? encoded : DeflateCodec.inflate(encoded);
+    }
+
+    /**
+     * То же решение, что принимает {@code LocalImageStore.put}.
+     */
+    private static byte[] encode(byte[] data) {
+        if (ImageUtils.isCompressedFormat(ImageUtils.detectContentType(data))) {
+            return data;
+        }
+        byte[] deflated = DeflateCodec.deflate(data);
+        return deflated.length <= data.length - data.length / 10 ? deflated : data;
+    }
+
+    private static byte[] legacyCompress(byte[] data) {
+        var deflater = new Deflater();
+        deflater.setLevel(Deflater.BEST_COMPRESSION);
+        deflater.setInput(data);
+        deflater.finish();
+        var outputStream = new ByteArrayOutputStream(data.length);
+        byte[] tmp = new byte[4 * 1024];
+        while (!deflater.finished()) {
+            int size = deflater.deflate(tmp);
+            outputStream.write(tmp, 0, size);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] legacyDecompress(byte[] data) {
+        var inflater = new Inflater();
+        inflater.setInput(data);
+        var outputStream = new ByteArrayOutputStream(data.length);
+        byte[] tmp = new byte[4 * 1024];
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(tmp);
+                outputStream.write(tmp, 0, count);
+            }
+        } catch (DataFormatException ignored) {
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Фото-подобное изображение 1024x768: градиент с шумом, чтобы кодеки не сжимали его до нуля.
+     */
+    private static byte[] generateImage(String format) throws IOException {
+        BufferedImage image = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y += 4) {
+            for (int x = 0; x < image.getWidth(); x += 4) {
+                graphics.setColor(new Color((x / 4 + random.nextInt(16)) % 256,
+                        (y / 3 + random.nextInt(16)) % 256, (x + y) / 8 % 256));
+                graphics.fillRect(x, y, 4, 4);
+            }
+        }
+        graphics.dispose();
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImageEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,213 @@
+package com.gitlab.config.cache;
+
+import lombok.Value;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Кэш с ограничением по числу записей (вытесняется давно не читанная запись) и по времени жизни записи.
+ * Считает попадания, промахи и вытеснения для статистики.
+ * <p>
+ * Построен на {@link ConcurrentHashMap} без общей блокировки: чтение только отмечает время обращения к записи.
+ * При превышении предела один поток удаляет истекшие записи, а если их не хватило, то давно не читанные,
+ * с запасом в десятую часть размера. Остальные потоки вытеснения не ждут, поэтому размер может ненадолго
+ * превысить предел.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong readOrder = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maximumSize, Duration ttl) {
+        this(name, maximumSize, ttl, System::nanoTime);
+    }
+
+    BoundedCache(String name, int maximumSize, Duration ttl, LongSupplier clock) {
+        super(true);
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long now = clock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(now)) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastRead = readOrder.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Загрузка атомарна по ключу: при одновременном промахе загрузчик вызывается один раз, остальные
+     * потоки ждут его результата. Загрузчик не должен обращаться к этому же кэшу.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        Entry entry = entries.compute(key, (k, existing) -> {
+            long now = clock.getAsLong();
+            if (existing != null && !existing.isExpired(now)) {
+                return existing;
+            }
+            try {
+                return newEntry(valueLoader.call(), now);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        evictIfFull();
+        return (T) fromStoreValue(entry.value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        entries.put(key, newEntry(value, clock.getAsLong()));
+        evictIfFull();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long now = clock.getAsLong();
+        Entry candidate = newEntry(value, now);
+        Entry entry = entries.merge(key, candidate, (existing, added) -> existing.isExpired(now) ? added : existing);
+        if (entry == candidate) {
+            evictIfFull();
+            return null;
+        }
+        return toValueWrapper(entry.value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return entries.remove(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private Entry newEntry(Object value, long now) {
+        return new Entry(toStoreValue(value), now + ttlNanos, readOrder.incrementAndGet());
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            entries.forEach((key, entry) -> {
+                if (entry.isExpired(now) && entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            });
+            long excess = entries.size() - (maximumSize - maximumSize / 10);
+            if (excess > 0) {
+                entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                        .limit(excess)
+                        .toList()
+                        .forEach(this::evictEntry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evictEntry(Map.Entry<Object, Entry> entry) {
+        if (entries.remove(entry.getKey(), entry.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Снимок счетчиков кэша.
+     */
+    @Value
+    public static class Statistics {
+        long hits;
+        long misses;
+        long evictions;
+        int size;
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+        private volatile long lastRead;
+
+        private Entry(Object value, long expiresAt, long lastRead) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastRead = lastRead;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gitlab.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Создает {@link BoundedCache} по настройкам {@link CacheSpecProperties}, в том числе для имен,
+ * не объявленных заранее. Выключенный в настройках кэш заменяется на {@link NoOpCache}.
+ * Кэши оборачиваются в транзакционный декоратор: запись и удаление выполняются после коммита,
+ * поэтому параллельное чтение не вернет в кэш значение из еще не закоммиченной или откатанной транзакции.
+ */
+public class BoundedCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheSpecProperties properties;
+    private final Map<String, BoundedCache> boundedCaches = new ConcurrentHashMap<>();
+
+    public BoundedCacheManager(CacheSpecProperties properties) {
+        this.properties = properties;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getSpecs().keySet().stream()
+                .map(this::createCache)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * @return включенные кэши для снятия статистики, без транзакционного декоратора.
+     */
+    public Collection<BoundedCache> getBoundedCaches() {
+        return Collections.unmodifiableCollection(boundedCaches.values());
+    }
+
+    private Cache createCache(String name) {
+        CacheSpecProperties.Spec spec = properties.getSpec(name);
+        if (!spec.isEnabled()) {
+            return new NoOpCache(name);
+        }
+        return boundedCaches.computeIfAbsent(name,
+                cacheName -> new BoundedCache(cacheName, spec.getMaximumSize(), spec.getTtl()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.gitlab.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties cacheSpecProperties) {
+        return new BoundedCacheManager(cacheSpecProperties);
+    }
+}
@@ -0,0 +1,15 @@
+package com.gitlab.config.cache;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Имена кэшей сервиса. Под этими же именами задаются настройки в {@code cache.specs}.
+ */
+@UtilityClass
+public class CacheNames {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_CATEGORIES = "product-categories";
+    public static final String STORES = "stores";
+    public static final String AUTHENTICATED_USERS = "authenticated-users";
+}
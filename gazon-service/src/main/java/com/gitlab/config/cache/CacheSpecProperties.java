@@ -0,0 +1,37 @@
+package com.gitlab.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Настройки кэшей: {@code cache.default-spec} действует для кэшей, не перечисленных в {@code cache.specs}.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheSpecProperties {
+
+    private Spec defaultSpec = new Spec();
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec getSpec(String name) {
+        return specs.getOrDefault(name, defaultSpec);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Выключенный кэш не хранит значения, каждый вызов идет в базу.
+         */
+        private boolean enabled = true;
+
+        private int maximumSize = 1000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,32 @@
+package com.gitlab.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодически пишет в лог статистику кэшей: долю попаданий, число записей и вытеснений.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheStatisticsLogger {
+
+    private final CacheManager cacheManager;
+
+    @Scheduled(fixedDelayString = "${cache.statistics-log-delay:300000}",
+            initialDelayString = "${cache.statistics-log-delay:300000}")
+    public void logStatistics() {
+        if (!(cacheManager instanceof BoundedCacheManager boundedCacheManager)) {
+            return;
+        }
+        for (BoundedCache cache : boundedCacheManager.getBoundedCaches()) {
+            BoundedCache.Statistics statistics = cache.getStatistics();
+            log.info("logStatistics: Cache {}: hit rate {}, hits {}, misses {}, size {}, evictions {}",
+                    cache.getName(), String.format("%.3f", statistics.getHitRate()), statistics.getHits(),
+                    statistics.getMisses(), statistics.getSize(), statistics.getEvictions());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gitlab.config.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Локальный (в памяти одного экземпляра) провайдер второго уровня кэша Hibernate на {@link BoundedCache}.
+ * Регионы сущностей и запросов ограничены по размеру и времени жизни записи
+ * ({@value #MAXIMUM_SIZE}, {@value #TTL_SECONDS}), регион меток времени обновления таблиц не вытесняется:
+ * по нему Hibernate проверяет актуальность закэшированных результатов запросов.
+ * <p>
+ * Кэш рассчитан только на один экземпляр gazon-service. Записи и мягкие блокировки READ_WRITE живут в памяти
+ * процесса и другим узлам не видны: изменение, сделанное через один узел, не сбрасывает записи на остальных,
+ * и они отдают устаревшие данные до истечения времени жизни записи. При запуске нескольких экземпляров
+ * этот провайдер использовать нельзя, нужен кластерный провайдер с инвалидацией между узлами.
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAXIMUM_SIZE = "hibernate.cache.local.maximum_size";
+    public static final String TTL_SECONDS = "hibernate.cache.local.ttl_seconds";
+
+    private int maximumSize;
+    private Duration ttl;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, @SuppressWarnings("rawtypes") Map configValues) {
+        maximumSize = ConfigurationHelper.getInt(MAXIMUM_SIZE, configValues, 10_000);
+        ttl = Duration.ofSeconds(ConfigurationHelper.getLong(TTL_SECONDS, configValues, 3600));
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // регионы освобождаются вместе с фабрикой сессий через StorageAccess.release()
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new LocalStorageAccess(new BoundedCache(regionConfig.getRegionName(), maximumSize, ttl));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new LocalStorageAccess(new BoundedCache(regionName, maximumSize, ttl));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return new LocalStorageAccess(new ConcurrentMapCache(regionName, false));
+    }
+}
@@ -0,0 +1,56 @@
+package com.gitlab.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.cache.Cache;
+
+/**
+ * Хранилище региона {@link LocalRegionFactory} поверх {@link Cache} Spring.
+ */
+@RequiredArgsConstructor
+class LocalStorageAccess implements DomainDataStorageAccess {
+
+    private final Cache cache;
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Cache.ValueWrapper valueWrapper = cache.get(key);
+        return valueWrapper == null ? null : valueWrapper.get();
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+        cache.evict(key);
+    }
+
+    @Override
+    public void clearCache(SharedSessionContractImplementor session) {
+        cache.clear();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return cache.get(key) != null;
+    }
+
+    @Override
+    public void evictData() {
+        cache.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        cache.evict(key);
+    }
+
+    @Override
+    public void release() {
+        cache.clear();
+    }
+}
@@ -31,6 +31,7 @@ public class SecurityConfig {
                 .authorizeRequests(authorizeRequests -> authorizeRequests
                         .antMatchers("/api/bank-card/**").authenticated()
                         .antMatchers("api/personal-address/**").authenticated()
+                        .antMatchers("/api/export/**").hasRole("ADMIN")
                         .anyRequest().permitAll())
                 .oauth2ResourceServer()
                 .jwt()
@@ -6,6 +6,7 @@ import com.gitlab.mapper.BankCardMapper;
 import com.gitlab.model.BankCard;
 import com.gitlab.model.User;
 import com.gitlab.service.BankCardService;
+import com.gitlab.service.AuthorizationService;
 import com.gitlab.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -18,8 +19,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import static com.gitlab.util.UserUtils.isAdmin;
-
 @Validated
 @RestController
 @Slf4j
@@ -27,13 +26,16 @@ public class BankCardRestController implements BankCardRestApi {
 
     private final BankCardService bankCardService;
     private final UserService userService;
+    private final AuthorizationService authorizationService;
     private final BankCardMapper bankCardMapper;
 
     public BankCardRestController(BankCardService bankCardService,
                                   UserService userService,
+                                  AuthorizationService authorizationService,
                                   BankCardMapper bankCardMapper) {
         this.bankCardService = bankCardService.clone();
         this.userService = userService.clone();
+        this.authorizationService = authorizationService;
         this.bankCardMapper = bankCardMapper;
     }
 
@@ -52,15 +54,14 @@ public class BankCardRestController implements BankCardRestApi {
     @Override
     public ResponseEntity<BankCardDto> get(Long cardId) {
         log.info("Вызван метод get с cardId={}", cardId);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user)) {
-            log.info("Пользователь {} является администратором", user.getUsername());
+        if (authorizationService.isAdmin()) {
+            log.info("Пользователь {} является администратором", authorizationService.getUsername());
             return bankCardService.findByIdDto(cardId)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         }
 
+        User user = userService.getAuthenticatedUser();
         if (isAuthorized(user, cardId)) {
             log.info("Пользователь {} авторизован для доступа к карте cardId={}", user.getUsername(), cardId);
             return bankCardService.findByIdDto(cardId)
@@ -83,14 +84,12 @@ public class BankCardRestController implements BankCardRestApi {
     @Override
     public ResponseEntity<BankCardDto> update(Long cardId, BankCardDto bankCardDto) {
         log.info("Вызван метод update с cardId={} и объектом BankCardDto: {}", cardId, bankCardDto);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user) || isAuthorized(user, cardId)) {
+        if (authorizationService.isAdmin() || isAuthorized(userService.getAuthenticatedUser(), cardId)) {
             Optional<BankCardDto> optionalBankCardDto = bankCardService.updateDto(cardId, bankCardDto);
             log.info("Карта обновлена: {}", optionalBankCardDto);
             return optionalBankCardDto.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } else {
-            log.warn("Пользователь {} не авторизован для обновления карты cardId={}", user.getUsername(), cardId);
+            log.warn("Пользователь {} не авторизован для обновления карты cardId={}", authorizationService.getUsername(), cardId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
     }
@@ -98,14 +97,13 @@ public class BankCardRestController implements BankCardRestApi {
     @Override
     public ResponseEntity<Void> delete(Long cardId) {
         log.info("Вызван метод delete с cardId={}", cardId);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user)) {
-            log.info("Пользователь {} является администратором", user.getUsername());
+        if (authorizationService.isAdmin()) {
+            log.info("Пользователь {} является администратором", authorizationService.getUsername());
             return (bankCardService.deleteDto(cardId).isPresent())
                     ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
         }
 
+        User user = userService.getAuthenticatedUser();
         if (isAuthorized(user, cardId)) {
             log.info("Пользователь {} авторизован для удаления карты cardId={}", user.getUsername(), cardId);
             return (bankCardService.deleteDto(cardId).isPresent())
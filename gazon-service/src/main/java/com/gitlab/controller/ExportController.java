@@ -0,0 +1,100 @@
+package com.gitlab.controller;
+
+import com.gitlab.service.ExportService;
+import com.gitlab.service.OrderService;
+import com.gitlab.service.ProductService;
+import com.gitlab.service.ReviewService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Потоковые выгрузки в NDJSON. Маппинги объявлены здесь, а не в интерфейсе из common:
+ * {@link StreamingResponseBody} есть только в spring-webmvc, от которого common не зависит.
+ * <p>
+ * Выгрузки доступны только администратору и все инкрементальные: заголовок
+ * {@value ExportService#WATERMARK_HEADER} ответа передается в {@code since} следующего запроса, а прерванную
+ * выгрузку можно продолжить с id последней полученной строки через {@code afterId}. Каждая строка содержит
+ * {@code entityStatus}, инкрементальная выгрузка отдает и удаленные записи. Ограничения водяного знака описаны
+ * в {@link ExportService#nextWatermark()}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Api(tags = "Export REST")
+@Tag(name = "Export REST", description = "Streaming NDJSON export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final ProductService productService;
+    private final OrderService orderService;
+    private final ReviewService reviewService;
+
+    @GetMapping(value = "/api/export/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Export active Products as NDJSON, or all Products changed since the watermark including deleted")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Products stream"),
+            @ApiResponse(code = 401, message = "Not authenticated"),
+            @ApiResponse(code = 403, message = "Not an administrator")}
+    )
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @ApiParam(name = "afterId", value = "Resume after this Product.id") @RequestParam(required = false, value = "afterId") Long afterId,
+            @ApiParam(name = "since", value = "Watermark of the previous export (ISO date-time)")
+            @RequestParam(required = false, value = "since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        log.info("exportProducts: Received GET request with afterId: {}, since: {}", afterId, since);
+        return ResponseEntity.ok()
+                .header(ExportService.WATERMARK_HEADER, exportService.nextWatermark().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> productService.exportDto(afterId, since, outputStream));
+    }
+
+    @GetMapping(value = "/api/export/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Export active Orders of all users as NDJSON, or all Orders changed since the watermark including deleted")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Orders stream"),
+            @ApiResponse(code = 401, message = "Not authenticated"),
+            @ApiResponse(code = 403, message = "Not an administrator")}
+    )
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @ApiParam(name = "afterId", value = "Resume after this Order.id") @RequestParam(required = false, value = "afterId") Long afterId,
+            @ApiParam(name = "since", value = "Watermark of the previous export (ISO date-time)")
+            @RequestParam(required = false, value = "since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        log.info("exportOrders: Received GET request with afterId: {}, since: {}", afterId, since);
+        return ResponseEntity.ok()
+                .header(ExportService.WATERMARK_HEADER, exportService.nextWatermark().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> orderService.exportDto(afterId, since, outputStream));
+    }
+
+    @GetMapping(value = "/api/export/reviews", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Export active Reviews as NDJSON, or all Reviews changed since the watermark including deleted")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Reviews stream"),
+            @ApiResponse(code = 401, message = "Not authenticated"),
+            @ApiResponse(code = 403, message = "Not an administrator")}
+    )
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @ApiParam(name = "afterId", value = "Resume after this Review.id") @RequestParam(required = false, value = "afterId") Long afterId,
+            @ApiParam(name = "since", value = "Watermark of the previous export (ISO date-time)")
+            @RequestParam(required = false, value = "since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        log.info("exportReviews: Received GET request with afterId: {}, since: {}", afterId, since);
+        return ResponseEntity.ok()
+                .header(ExportService.WATERMARK_HEADER, exportService.nextWatermark().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> reviewService.exportDto(afterId, since, outputStream));
+    }
+}
@@ -2,6 +2,7 @@ package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.OrderRestApi;
 import com.gitlab.dto.OrderDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.service.OrderService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,17 @@ public class OrderRestController implements OrderRestApi {
         return ResponseEntity.ok(orderPage.getContent());
     }
 
+    @Override
+    public ResponseEntity<SliceDto<OrderDto>> getSlice(String after, Integer size, boolean count) {
+        log.info("Received request to get slice with after: {}, size: {}", after, size);
+        SliceDto<OrderDto> slice = orderService.getSliceDto(after, size, count);
+        if (slice.getContent().isEmpty() && !count) {
+            log.info("No content found after: {}", after);
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(slice);
+    }
+
     @Override
     public ResponseEntity<OrderDto> get(Long id) {
         log.info("Received request to get order with id: {}", id);
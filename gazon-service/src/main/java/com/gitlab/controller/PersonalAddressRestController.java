@@ -5,6 +5,7 @@ import com.gitlab.dto.PersonalAddressDto;
 import com.gitlab.model.ShippingAddress;
 import com.gitlab.model.User;
 import com.gitlab.service.PersonalAddressService;
+import com.gitlab.service.AuthorizationService;
 import com.gitlab.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,8 +18,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import static com.gitlab.util.UserUtils.isAdmin;
-
 @Slf4j
 @Validated
 @RestController
@@ -26,10 +25,13 @@ public class PersonalAddressRestController implements PersonalAddressRestApi {
 
     private final PersonalAddressService personalAddressService;
     private final UserService userService;
+    private final AuthorizationService authorizationService;
 
-    public PersonalAddressRestController(PersonalAddressService personalAddressService, UserService userService) {
+    public PersonalAddressRestController(PersonalAddressService personalAddressService, UserService userService,
+                                         AuthorizationService authorizationService) {
         this.personalAddressService = personalAddressService.clone();
         this.userService = userService.clone();
+        this.authorizationService = authorizationService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,14 +48,12 @@ public class PersonalAddressRestController implements PersonalAddressRestApi {
     @Override
     public ResponseEntity<PersonalAddressDto> get(Long personalAddressId) {
         log.info("Fetching personal address with id: {}", personalAddressId);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user)) {
+        if (authorizationService.isAdmin()) {
             return personalAddressService.findByIdDto(personalAddressId)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         }
-        if (isAuthorized(user, personalAddressId)) {
+        if (isAuthorized(userService.getAuthenticatedUser(), personalAddressId)) {
             return personalAddressService.findByIdDto(personalAddressId)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
@@ -73,9 +73,7 @@ public class PersonalAddressRestController implements PersonalAddressRestApi {
     @Override
     public ResponseEntity<PersonalAddressDto> update(Long personalAddressId, PersonalAddressDto personalAddressDto) {
         log.info("Updating personal address with id: {}", personalAddressId);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user) || isAuthorized(user, personalAddressId)) {
+        if (authorizationService.isAdmin() || isAuthorized(userService.getAuthenticatedUser(), personalAddressId)) {
             Optional<PersonalAddressDto> updatedAddressDto = Optional
                     .ofNullable(personalAddressService.update(personalAddressId, personalAddressDto));
             return updatedAddressDto.map(ResponseEntity::ok)
@@ -89,15 +87,13 @@ public class PersonalAddressRestController implements PersonalAddressRestApi {
     @Override
     public ResponseEntity<Void> delete(Long id) {
         log.info("Deleting personal address with id: {}", id);
-        User user = userService.getAuthenticatedUser();
-
-        if (isAdmin(user)) {
+        if (authorizationService.isAdmin()) {
             return (personalAddressService.deleteDto(id).isPresent())
                     ? ResponseEntity.ok().build()
                     : ResponseEntity.notFound().build();
         }
 
-        if (isAuthorized(user, id)) {
+        if (isAuthorized(userService.getAuthenticatedUser(), id)) {
             return (personalAddressService.deleteDto(id).isPresent())
                     ? ResponseEntity.ok().build()
                     : ResponseEntity.notFound().build();
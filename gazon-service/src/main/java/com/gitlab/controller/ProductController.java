@@ -2,21 +2,24 @@ package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.ProductRestApi;
 import com.gitlab.dto.ProductDto;
+import com.gitlab.dto.SliceDto;
+import com.gitlab.enums.ProductSort;
 import com.gitlab.model.Product;
 import com.gitlab.model.ProductImage;
 import com.gitlab.service.ProductImageService;
 import com.gitlab.service.ProductService;
-import com.gitlab.util.ImageUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -27,11 +30,18 @@ public class ProductController implements ProductRestApi {
 
     private final ProductImageService productImageService;
 
-    public ResponseEntity<List<ProductDto>> getPage(Integer page, Integer size, Long storeId) {
-        log.info("getPage: Received GET request with page: {} , size: {} and storeId: {}", page, size, storeId);
-        var productPage = (storeId == null)
-                ? productService.getPage(page, size)
-                : productService.getPageByStoreId(page, size, storeId);
+    public ResponseEntity<List<ProductDto>> getPage(Integer page, Integer size, Long storeId, BigDecimal minRating,
+                                                    ProductSort sort) {
+        log.info("getPage: Received GET request with page: {} , size: {}, storeId: {}, minRating: {}, sort: {}",
+                page, size, storeId, minRating, sort);
+        Page<ProductDto> productPage;
+        if (minRating != null || sort == ProductSort.RATING) {
+            productPage = productService.getPageByRating(page, size, storeId, minRating, sort);
+        } else {
+            productPage = (storeId == null)
+                    ? productService.getPage(page, size)
+                    : productService.getPageByStoreId(page, size, storeId);
+        }
         if (productPage == null || productPage.getContent().isEmpty()) {
             log.warn("getPage: Page is empty");
             return ResponseEntity.noContent().build();
@@ -40,6 +50,17 @@ public class ProductController implements ProductRestApi {
         return ResponseEntity.ok(productPage.getContent());
     }
 
+    @Override
+    public ResponseEntity<SliceDto<ProductDto>> getSlice(String after, Integer size, Long storeId, boolean count) {
+        log.info("getSlice: Received GET request with after: {}, size: {}, storeId: {}", after, size, storeId);
+        SliceDto<ProductDto> slice = productService.getSlice(after, size, storeId, count);
+        if (slice.getContent().isEmpty() && !count) {
+            log.info("getSlice: Slice is empty");
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(slice);
+    }
+
     @Override
     public ResponseEntity<ProductDto> get(Long id) {
         log.info("get: Received GET request with id: {}", id);
@@ -116,15 +137,7 @@ public class ProductController implements ProductRestApi {
                     .body("At least one file should be included");
         }
 
-        List<ProductImage> imageList = new ArrayList<>();
-        for (MultipartFile file : files) {
-            var image = new ProductImage();
-            image.setSomeProduct(product.get());
-            image.setName(file.getOriginalFilename());
-            image.setData(ImageUtils.compressImage(file.getBytes()));
-            imageList.add(image);
-        }
-        productImageService.saveAll(imageList);
+        productImageService.uploadAll(product.get(), files);
         log.info("uploadImagesByProductId: Images for product with id: {} were updated", id);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
@@ -192,11 +205,17 @@ public class ProductController implements ProductRestApi {
     }
 
     @Override
-    public ResponseEntity<List<ProductDto>> getFavouriteProducts() {
-        log.info("getFavouriteProducts: Received GET request");
-        List<ProductDto> favouriteProducts = productService.getFavouriteProducts();
+    public ResponseEntity<List<ProductDto>> getFavouriteProducts(Integer page, Integer size) {
+        log.info("getFavouriteProducts: Received GET request with page: {}, size: {}", page, size);
+        Page<ProductDto> favouriteProducts = productService.getFavouriteProducts(page, size);
 
-        log.info("getFavouriteProducts: Returning {} favourite products", favouriteProducts);
-        return ResponseEntity.status(HttpStatus.OK).body(favouriteProducts);
+        log.info("getFavouriteProducts: Returning {} favourite products", favouriteProducts.getNumberOfElements());
+        return ResponseEntity.status(HttpStatus.OK).body(favouriteProducts.getContent());
+    }
+
+    @Override
+    public ResponseEntity<Set<Long>> getFavouriteIds(List<Long> productIds) {
+        log.info("getFavouriteIds: Received GET request with {} product ids", productIds.size());
+        return ResponseEntity.ok(productService.getFavouriteIds(productIds));
     }
 }
\ No newline at end of file
@@ -2,18 +2,23 @@ package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.ProductImageRestApi;
 import com.gitlab.dto.ProductImageDto;
+import com.gitlab.dto.ProductImageInfoDto;
+import com.gitlab.enums.ImageRendition;
 import com.gitlab.model.ProductImage;
+import com.gitlab.service.ImageContent;
 import com.gitlab.service.ProductImageService;
-import com.gitlab.util.ImageUtils;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,9 +29,12 @@ public class ProductImageController implements ProductImageRestApi {
     private final ProductImageService productImageService;
     private static final Logger log = LoggerFactory.getLogger(ProductImageController.class);
 
-    public ResponseEntity<List<ProductImageDto>> getPage(Integer page, Integer size) {
+    @Value("${image.cache.max-age:7d}")
+    private Duration cacheMaxAge;
+
+    public ResponseEntity<List<ProductImageInfoDto>> getPage(Integer page, Integer size) {
         log.info("Request to get product images page: page={}, size={}", page, size);
-        var productImagePage = productImageService.getPageDto(page, size);
+        var productImagePage = productImageService.getInfoPage(page, size);
         if (productImagePage == null || productImagePage.getContent().isEmpty()) {
             log.info("No content found for page={}, size={}", page, size);
             return ResponseEntity.noContent().build();
@@ -36,32 +44,42 @@ public class ProductImageController implements ProductImageRestApi {
     }
 
     @Override
-    public ResponseEntity<?> get(@PathVariable Long id) {
-        log.info("Request to get product image by id: {}", id);
-        Optional<ProductImageDto> productImage = productImageService.findByIdDto(id);
+    public ResponseEntity<?> get(@PathVariable Long id, String size) {
+        log.info("Request to get product image by id: {}, size: {}", id, size);
+        Optional<ImageRendition> rendition = ImageRendition.fromValue(size);
+        if (rendition.isEmpty()) {
+            log.warn("Unknown product image size: {}", size);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ProductImage> productImage = productImageService.findById(id);
         if (productImage.isEmpty()) {
             log.warn("Product image with id {} not found", id);
             return ResponseEntity.notFound().build();
         }
 
-        if (productImage.get().getData().length < 60) {
-            log.warn("Product image with id {} has partial content", id);
-            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(productImage.get());
+        Optional<ImageContent> content = productImageService.getContent(productImage.get(), rendition.get());
+        if (content.isEmpty()) {
+            log.warn("Product image with id {} has no content in the image store", id);
+            return ResponseEntity.notFound().build();
         }
 
+        // Ответы 304 на If-None-Match и 206 на Range Spring формирует сам по ETag и Resource в теле,
+        // файл при этом не читается или читается только запрошенный диапазон
         log.info("Returning product image with id {}", id);
-        return productImage.map(image ->
-                ResponseEntity.status(HttpStatus.OK)
-                        .contentType(MediaType.parseMediaType(MediaType.IMAGE_JPEG_VALUE))
-                        .body(ImageUtils.decompressImage(image.getData()))).orElse(null);
+        return ResponseEntity.ok()
+                .eTag(content.get().getHash())
+                .cacheControl(content.get().isFallback()
+                        ? CacheControl.noCache()
+                        : CacheControl.maxAge(cacheMaxAge).cachePublic())
+                .contentType(MediaType.parseMediaType(content.get().getContentType()))
+                .body(content.get().getResource());
     }
 
     @Override
-    public ResponseEntity<List<ProductImageDto>> getAllByProductId(Long id) {
+    public ResponseEntity<List<ProductImageInfoDto>> getAllByProductId(Long id) {
         log.info("Request to get all product images by product id: {}", id);
-        List<ProductImageDto> productImageDtos = productImageService.findAllByProductIdDto(id);
+        List<ProductImageInfoDto> productImageDtos = productImageService.findAllInfoByProductId(id);
         if (productImageDtos.isEmpty()) {
             log.info("No product images found for product id: {}", id);
             return ResponseEntity.noContent().build();
@@ -71,18 +89,18 @@ public class ProductImageController implements ProductImageRestApi {
     }
 
     @Override
-    public ResponseEntity<ProductImageDto> create(ProductImageDto productImageDto) {
+    public ResponseEntity<ProductImageInfoDto> create(ProductImageDto productImageDto) {
         log.info("Request to create new product image: {}", productImageDto);
-        ProductImageDto savedProductImageDto = productImageService.saveDto(productImageDto);
+        ProductImageInfoDto savedProductImageDto = productImageService.saveDto(productImageDto);
         log.info("Product image created with id: {}", savedProductImageDto.getId());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(savedProductImageDto);
     }
 
     @Override
-    public ResponseEntity<ProductImageDto> update(Long id, ProductImageDto productImageDto) {
+    public ResponseEntity<ProductImageInfoDto> update(Long id, ProductImageDto productImageDto) {
         log.info("Request to update product image with id: {}", id);
-        Optional<ProductImageDto> updatedProductImageDto = productImageService.updateDto(id, productImageDto);
+        Optional<ProductImageInfoDto> updatedProductImageDto = productImageService.updateDto(id, productImageDto);
         if (updatedProductImageDto.isPresent()) {
             log.info("Product image with id {} updated successfully", id);
             return ResponseEntity.ok(updatedProductImageDto.get());
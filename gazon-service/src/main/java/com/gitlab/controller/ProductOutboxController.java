@@ -0,0 +1,32 @@
+package com.gitlab.controller;
+
+import com.gitlab.controllers.api.rest.ProductOutboxRestApi;
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.service.ProductOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ProductOutboxController implements ProductOutboxRestApi {
+
+    private final ProductOutboxService productOutboxService;
+
+    @Override
+    public ResponseEntity<List<ProductChangeEventDto>> getBatch(Long afterTxid, Long afterId, Integer size) {
+        log.debug("getBatch: Received GET request with afterTxid: {}, afterId: {}, size: {}", afterTxid, afterId, size);
+        List<ProductChangeEventDto> events = productOutboxService.getBatch(afterTxid, afterId, size);
+        return events.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(events);
+    }
+
+    @Override
+    public ResponseEntity<ProductOutboxPositionDto> getPosition() {
+        return ResponseEntity.ok(productOutboxService.getPosition());
+    }
+}
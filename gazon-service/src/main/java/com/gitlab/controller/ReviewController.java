@@ -2,6 +2,7 @@ package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.ReviewRestApi;
 import com.gitlab.dto.ReviewDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.model.Review;
 import com.gitlab.service.ReviewService;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,15 @@ public class ReviewController implements ReviewRestApi {
         return ResponseEntity.ok(reviewPage.getContent());
     }
 
+    @Override
+    public ResponseEntity<SliceDto<ReviewDto>> getSlice(String after, Integer size, boolean count) {
+        SliceDto<ReviewDto> slice = reviewService.getSliceDto(after, size, count);
+        if (slice.getContent().isEmpty() && !count) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(slice);
+    }
+
     @Override
     public ResponseEntity<ReviewDto> get(Long id) {
         Optional<ReviewDto> reviewDtoOptional = reviewService.findByIdDto(id);
@@ -2,22 +2,26 @@ package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.ReviewImageRestApi;
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.dto.ReviewImageUpdateDto;
 import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
+import com.gitlab.service.ImageContent;
 import com.gitlab.service.ReviewImageService;
 import com.gitlab.service.ReviewService;
-import com.gitlab.util.ImageUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +34,10 @@ public class ReviewImageController implements ReviewImageRestApi {
     private final ReviewImageService reviewImageService;
     private final ReviewService reviewService;
 
-    public ResponseEntity<List<ReviewImageDto>> getPage(Integer page, Integer size) {
+    @Value("${image.cache.max-age:7d}")
+    private Duration cacheMaxAge;
+
+    public ResponseEntity<List<ReviewImageInfoDto>> getPage(Integer page, Integer size) {
         var reviewImagePage = reviewImageService.getPageDto(page, size);
         if (reviewImagePage == null || reviewImagePage.getContent().isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -39,22 +46,37 @@ public class ReviewImageController implements ReviewImageRestApi {
     }
 
     @Override
-    public ResponseEntity<ReviewImageDto> get(Long id) {
+    public ResponseEntity<ReviewImageInfoDto> get(Long id) {
         return reviewImageService.findByIdDto(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Override
-    public ResponseEntity<ReviewImageDto> create(ReviewImageDto reviewImageDto) {
-        ReviewImageDto savedReviewImageDto = reviewImageService.saveDto(reviewImageDto);
+    public ResponseEntity<?> getContent(Long id) {
+        Optional<ImageContent> content = reviewImageService.findById(id)
+                .flatMap(reviewImageService::getContent);
+        if (content.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // 304 на If-None-Match и 206 на Range Spring формирует сам по ETag и Resource в теле
+        return ResponseEntity.ok()
+                .eTag(content.get().getHash())
+                .cacheControl(CacheControl.maxAge(cacheMaxAge).cachePublic())
+                .contentType(MediaType.parseMediaType(content.get().getContentType()))
+                .body(content.get().getResource());
+    }
+
+    @Override
+    public ResponseEntity<ReviewImageInfoDto> create(ReviewImageDto reviewImageDto) {
+        ReviewImageInfoDto savedReviewImageDto = reviewImageService.saveDto(reviewImageDto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(savedReviewImageDto);
     }
 
     @Override
-    public ResponseEntity<ReviewImageDto> update(Long id, ReviewImageUpdateDto reviewImageUpdateDto) {
-        Optional<ReviewImageDto> updatedReviewImageDto = reviewImageService.updateDto(id, reviewImageUpdateDto);
+    public ResponseEntity<ReviewImageInfoDto> update(Long id, ReviewImageUpdateDto reviewImageUpdateDto) {
+        Optional<ReviewImageInfoDto> updatedReviewImageDto = reviewImageService.updateDto(id, reviewImageUpdateDto);
         return updatedReviewImageDto
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -101,15 +123,7 @@ public class ReviewImageController implements ReviewImageRestApi {
                     .body("At least one file should be included");
         }
 
-        List<ReviewImage> imageList = new ArrayList<>();
-        for (MultipartFile file : files) {
-            var image = new ReviewImage();
-            image.setReview(reviewOptional.get());
-            image.setName(file.getOriginalFilename());
-            image.setData(ImageUtils.compressImage(file.getBytes()));
-            imageList.add(image);
-        }
-        reviewImageService.saveAll(imageList);
+        reviewImageService.uploadAll(reviewOptional.get(), files);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -1,6 +1,7 @@
 package com.gitlab.controller;
 
 import com.gitlab.controllers.api.rest.UserRestApi;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.dto.UserDto;
 import com.gitlab.model.User;
 import com.gitlab.service.UserService;
@@ -33,6 +34,17 @@ public class UserRestController implements UserRestApi {
         return ResponseEntity.ok(userPage.getContent());
     }
 
+    @Override
+    public ResponseEntity<SliceDto<UserDto>> getSlice(String after, Integer size, boolean count) {
+        log.info("getSlice: Received GET request with after: {} and size: {}", after, size);
+        SliceDto<UserDto> slice = userService.getSliceDto(after, size, count);
+        if (slice.getContent().isEmpty() && !count) {
+            log.warn("getSlice: Slice is empty");
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(slice);
+    }
+
     @Override
     public ResponseEntity<UserDto> get(Long id) {
         log.info("get: Received GET request with id: {}", id);
@@ -1,12 +1,16 @@
 package com.gitlab.mapper;
 
 import com.gitlab.dto.ProductImageDto;
+import com.gitlab.dto.ProductImageInfoDto;
 import com.gitlab.model.Product;
 import com.gitlab.model.ProductImage;
 import com.gitlab.repository.ProductRepository;
+import com.gitlab.repository.projection.ProductImageInfo;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
@@ -20,6 +24,18 @@ public abstract class ProductImageMapper {
     @Mapping(source = "someProduct", target = "productId")
     public abstract ProductImageDto toDto(ProductImage productImage);
 
+    @Mapping(target = "url", ignore = true)
+    public abstract ProductImageInfoDto toInfoDto(ProductImageInfo productImageInfo);
+
+    @Mapping(source = "someProduct", target = "productId")
+    @Mapping(target = "url", ignore = true)
+    public abstract ProductImageInfoDto toInfoDto(ProductImage productImage);
+
+    @AfterMapping
+    protected void setUrl(@MappingTarget ProductImageInfoDto productImageInfoDto) {
+        productImageInfoDto.setUrl("/api/images/" + productImageInfoDto.getId());
+    }
+
     public Long mapProductToProductId(Product product) {
         if (product == null) {
             return null;
@@ -1,14 +1,13 @@
 package com.gitlab.mapper;
 
 import com.gitlab.dto.ProductDto;
-import com.gitlab.dto.StoreDto;
 import com.gitlab.model.Product;
 import com.gitlab.model.ProductCategory;
 import com.gitlab.model.ProductImage;
-import com.gitlab.model.Review;
 import com.gitlab.model.Store;
-import com.gitlab.service.ProductImageService;
-import com.gitlab.service.StoreService;
+import com.gitlab.repository.ProductImageRepository;
+import com.gitlab.repository.StoreRepository;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -17,7 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,14 +24,12 @@ import java.util.stream.Collectors;
 public abstract class ProductMapper {
 
     @Autowired
-    private ProductImageService productImageService;
+    private ProductImageRepository productImageRepository;
     @Autowired
-    private StoreService storeService;
-    @Autowired
-    private StoreMapper storeMapper;
+    private StoreRepository storeRepository;
 
     @Mapping(source = "productImages", target = "imagesId")
-    @Mapping(source = "review", target = "rating")
+    @Mapping(target = "rating", expression = "java(mapRating(product.getRatingSum(), product.getRatingCount()))")
     @Mapping(source = "store", target = "storeId")
     public abstract ProductDto toDto(Product product);
 
@@ -43,13 +40,14 @@ public abstract class ProductMapper {
             return store.getId();
         }
     }
+    /**
+     * Продукту нужен только внешний ключ магазина, поэтому возвращается ссылка без запроса к БД.
+     */
     public Store map(Long storeId) {
         if (storeId == null) {
             return null;
-        } else {
-            Optional<StoreDto> storeServiceById = storeService.findById(storeId);
-            return storeMapper.toEntity(storeServiceById.orElse(null));
         }
+        return storeRepository.getById(storeId);
     }
 
     public String map(ProductCategory productCategory) {
@@ -78,27 +76,52 @@ public abstract class ProductMapper {
                 .toArray(Long[]::new);
     }
 
-    public String mapProductReviewsToRating(Set<Review> productReviews) {
-        if (productReviews == null || productReviews.isEmpty()) {
+    /**
+     * Средняя оценка считается по агрегатам продукта, коллекция отзывов не загружается.
+     */
+    public String mapRating(Long ratingSum, Integer ratingCount) {
+        if (ratingSum == null || ratingCount == null || ratingCount == 0) {
             return "Нет оценок";
         }
-
-        return String.format("%.2f", productReviews.stream()
-                .map(Review::getRating).mapToInt(a -> a).average().orElse(0));
+        return String.format("%.2f", (double) ratingSum / ratingCount);
     }
 
     @Mapping(source = "imagesId", target = "productImages")
-    public abstract Product toEntity(ProductDto exampleDto);
+    public abstract Product toEntity(ProductDto productDto, @Context ReferenceResolver<ProductImage> productImages);
+
+    public Product toEntity(ProductDto productDto) {
+        return toEntity(productDto, productImageResolver());
+    }
 
-    public Set<ProductImage> mapImagesIdToProductImages(Long[] imagesId) {
+    public Set<ProductImage> mapImagesIdToProductImages(Long[] imagesId,
+                                                        @Context ReferenceResolver<ProductImage> productImages) {
         if (imagesId == null || imagesId.length == 0) {
             return null;
         }
-        return Arrays.stream(imagesId)
-                .map(productImageService::findById).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toSet());
+        return productImages.resolveAll(Arrays.asList(imagesId));
     }
 
     public abstract List<ProductDto> toDtoList(List<Product> productList);
 
-    public abstract List<Product> toEntityList(List<ProductDto> productDtoList);
+    /**
+     * Изображения всех продуктов списка загружаются одним запросом.
+     */
+    public List<Product> toEntityList(List<ProductDto> productDtoList) {
+        if (productDtoList == null) {
+            return null;
+        }
+        ReferenceResolver<ProductImage> productImages = productImageResolver();
+        productImages.prefetch(productDtoList.stream()
+                .map(ProductDto::getImagesId)
+                .filter(Objects::nonNull)
+                .flatMap(Arrays::stream)
+                .collect(Collectors.toList()));
+        return productDtoList.stream()
+                .map(productDto -> toEntity(productDto, productImages))
+                .collect(Collectors.toList());
+    }
+
+    private ReferenceResolver<ProductImage> productImageResolver() {
+        return new ReferenceResolver<>(ids -> productImageRepository.findAllById(ids), ProductImage::getId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.gitlab.mapper;
+
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.model.ProductOutboxEvent;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ProductOutboxMapper {
+
+    ProductChangeEventDto toDto(ProductOutboxEvent productOutboxEvent);
+
+    List<ProductChangeEventDto> toDtoList(List<ProductOutboxEvent> productOutboxEvents);
+}
@@ -0,0 +1,67 @@
+package com.gitlab.mapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Контекст маппинга ({@code @Context}), который разрешает ссылки по id пачкой: все id, встреченные в DTO,
+ * загружаются одним {@code findAllById}, а дальше сущности берутся из уже загруженной карты.
+ * Создается на один вызов маппера и не потокобезопасен.
+ */
+public class ReferenceResolver<T> {
+
+    private final Function<Collection<Long>, List<T>> loader;
+    private final Function<T, Long> idExtractor;
+    private final Map<Long, T> loaded = new HashMap<>();
+
+    public ReferenceResolver(Function<Collection<Long>, List<T>> loader, Function<T, Long> idExtractor) {
+        this.loader = loader;
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * Загружает одним запросом id, которых еще нет в контексте. Несуществующие id запоминаются,
+     * чтобы не запрашивать их повторно.
+     */
+    public void prefetch(Collection<Long> ids) {
+        List<Long> missing = ids.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !loaded.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        loader.apply(missing).forEach(entity -> loaded.put(idExtractor.apply(entity), entity));
+        missing.forEach(id -> loaded.putIfAbsent(id, null));
+    }
+
+    /**
+     * @return сущность или null, если id null или такой записи нет.
+     */
+    public T resolve(Long id) {
+        if (id == null) {
+            return null;
+        }
+        prefetch(List.of(id));
+        return loaded.get(id);
+    }
+
+    /**
+     * @return найденные сущности, несуществующие id пропускаются.
+     */
+    public Set<T> resolveAll(Collection<Long> ids) {
+        prefetch(ids);
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
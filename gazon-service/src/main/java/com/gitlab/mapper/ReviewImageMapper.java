@@ -1,12 +1,15 @@
 package com.gitlab.mapper;
 
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
 import com.gitlab.repository.ReviewRepository;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
@@ -21,6 +24,15 @@ public abstract class ReviewImageMapper {
     @Mapping(source = "review", target = "reviewId")
     public abstract ReviewImageDto toDto(ReviewImage reviewImage);
 
+    @Mapping(source = "review", target = "reviewId")
+    @Mapping(target = "url", ignore = true)
+    public abstract ReviewImageInfoDto toInfoDto(ReviewImage reviewImage);
+
+    @AfterMapping
+    protected void setUrl(@MappingTarget ReviewImageInfoDto reviewImageInfoDto) {
+        reviewImageInfoDto.setUrl("/api/review-images/" + reviewImageInfoDto.getId() + "/content");
+    }
+
     public Long mapReviewToReviewId(Review review) {
         if (review == null) {
             return null;
@@ -5,9 +5,10 @@ import com.gitlab.model.Product;
 import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
 import com.gitlab.model.User;
+import com.gitlab.repository.ReviewImageRepository;
 import com.gitlab.repository.UserRepository;
 import com.gitlab.service.ProductService;
-import com.gitlab.service.ReviewImageService;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -15,7 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,7 +24,7 @@ import java.util.stream.Collectors;
 public abstract class ReviewMapper {
 
     @Autowired
-    protected ReviewImageService reviewImageService;
+    protected ReviewImageRepository reviewImageRepository;
     @Autowired
     protected ProductService productService;
     @Autowired
@@ -60,14 +61,18 @@ public abstract class ReviewMapper {
     @Mapping(source = "reviewImagesId", target = "reviewImages")
     @Mapping(source = "productId", target = "product")
     @Mapping(source = "userId", target = "user")
-    public abstract Review toEntity(ReviewDto reviewDto);
+    public abstract Review toEntity(ReviewDto reviewDto, @Context ReferenceResolver<ReviewImage> reviewImages);
 
-    public Set<ReviewImage> mapReviewImagesIdToReviewImages(Long[] imagesId) {
+    public Review toEntity(ReviewDto reviewDto) {
+        return toEntity(reviewDto, reviewImageResolver());
+    }
+
+    public Set<ReviewImage> mapReviewImagesIdToReviewImages(Long[] imagesId,
+                                                           @Context ReferenceResolver<ReviewImage> reviewImages) {
         if (imagesId == null || imagesId.length == 0) {
             return null;
         }
-        return Arrays.stream(imagesId)
-                .map(reviewImageService::findById).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toSet());
+        return reviewImages.resolveAll(Arrays.asList(imagesId));
     }
 
     public Product mapProductIdToProduct(Long productId) {
@@ -88,5 +93,25 @@ public abstract class ReviewMapper {
 
     public abstract List<ReviewDto> toDtoList(List<Review> reviewList);
 
-    public abstract List<Review> toEntityList(List<ReviewDto> reviewDtoList);
+    /**
+     * Изображения всех отзывов списка загружаются одним запросом.
+     */
+    public List<Review> toEntityList(List<ReviewDto> reviewDtoList) {
+        if (reviewDtoList == null) {
+            return null;
+        }
+        ReferenceResolver<ReviewImage> reviewImages = reviewImageResolver();
+        reviewImages.prefetch(reviewDtoList.stream()
+                .map(ReviewDto::getReviewImagesId)
+                .filter(Objects::nonNull)
+                .flatMap(Arrays::stream)
+                .collect(Collectors.toList()));
+        return reviewDtoList.stream()
+                .map(reviewDto -> toEntity(reviewDto, reviewImages))
+                .collect(Collectors.toList());
+    }
+
+    private ReferenceResolver<ReviewImage> reviewImageResolver() {
+        return new ReferenceResolver<>(ids -> reviewImageRepository.findAllById(ids), ReviewImage::getId);
+    }
 }
\ No newline at end of file
@@ -3,15 +3,17 @@ package com.gitlab.mapper;
 import com.gitlab.dto.StoreDto;
 import com.gitlab.model.Store;
 import com.gitlab.model.User;
-import com.gitlab.service.UserService;
+import com.gitlab.repository.UserRepository;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -19,7 +21,7 @@ import java.util.stream.Collectors;
 public abstract class StoreMapper {
 
     @Autowired
-    private UserService userService;
+    private UserRepository userRepository;
 
     @Mapping(target = "ownerId", source = "owner")
     @Mapping(target = "managersId", source = "managers")
@@ -27,28 +29,47 @@ public abstract class StoreMapper {
 
     @Mapping(target = "owner", source = "ownerId")
     @Mapping(target = "managers", source = "managersId")
-    public abstract Store toEntity(StoreDto storeDto);
+    public abstract Store toEntity(StoreDto storeDto, @Context ReferenceResolver<User> users);
+
+    /**
+     * Владелец и менеджеры магазина загружаются одним запросом.
+     */
+    public Store toEntity(StoreDto storeDto) {
+        ReferenceResolver<User> users = userResolver();
+        if (storeDto != null) {
+            users.prefetch(userIds(storeDto));
+        }
+        return toEntity(storeDto, users);
+    }
+
+    /**
+     * Переносит в магазин владельца и менеджеров, заданных в DTO (null-поля пропускаются),
+     * загружая их одним запросом.
+     */
+    public void updateUsers(StoreDto storeDto, Store store) {
+        ReferenceResolver<User> users = userResolver();
+        users.prefetch(userIds(storeDto));
+        if (storeDto.getOwnerId() != null) {
+            store.setOwner(users.resolve(storeDto.getOwnerId()));
+        }
+        if (storeDto.getManagersId() != null) {
+            store.setManagers(users.resolveAll(storeDto.getManagersId()));
+        }
+    }
 
     public Long mapUserToOwnerId(User user) {
         return user != null ? user.getId() : null;
     }
 
-    public User mapOwnerIdToUser(Long ownerId) {
-        if (ownerId == null) {
-            return null;
-        }
-        Optional<User> userById = userService.findUserById(ownerId);
-        return userById.orElse(null);
+    public User mapOwnerIdToUser(Long ownerId, @Context ReferenceResolver<User> users) {
+        return users.resolve(ownerId);
     }
 
-    public Set<User> mapUserToLong(Set<Long> managersId) {
+    public Set<User> mapUserToLong(Set<Long> managersId, @Context ReferenceResolver<User> users) {
         if (managersId == null) {
             return Collections.emptySet();
         }
-        return managersId.stream()
-                .map(u -> userService.findUserById(u))
-                .filter(Optional::isPresent)
-                .map(Optional::get).collect(Collectors.toSet());
+        return users.resolveAll(managersId);
     }
     public Set<Long> mapLongToUser(Set<User> managers) {
         if (managers == null) {
@@ -62,5 +83,33 @@ public abstract class StoreMapper {
 
     public abstract List<StoreDto> toDtoList(List<Store> storeList);
 
-    public abstract List<Store> toEntityList(List<StoreDto> storeDtoList);
+    /**
+     * Владельцы и менеджеры всех магазинов списка загружаются одним запросом.
+     */
+    public List<Store> toEntityList(List<StoreDto> storeDtoList) {
+        if (storeDtoList == null) {
+            return null;
+        }
+        ReferenceResolver<User> users = userResolver();
+        users.prefetch(storeDtoList.stream()
+                .filter(Objects::nonNull)
+                .flatMap(storeDto -> userIds(storeDto).stream())
+                .collect(Collectors.toList()));
+        return storeDtoList.stream()
+                .map(storeDto -> toEntity(storeDto, users))
+                .collect(Collectors.toList());
+    }
+
+    private ReferenceResolver<User> userResolver() {
+        return new ReferenceResolver<>(ids -> userRepository.findAllById(ids), User::getId);
+    }
+
+    private static List<Long> userIds(StoreDto storeDto) {
+        List<Long> userIds = new ArrayList<>();
+        userIds.add(storeDto.getOwnerId());
+        if (storeDto.getManagersId() != null) {
+            userIds.addAll(storeDto.getManagersId());
+        }
+        return userIds;
+    }
 }
\ No newline at end of file
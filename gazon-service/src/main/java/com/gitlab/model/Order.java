@@ -3,6 +3,8 @@ package com.gitlab.model;
 import com.gitlab.enums.EntityStatus;
 import com.gitlab.enums.OrderStatus;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -71,6 +73,13 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private EntityStatus entityStatus;
 
+    /**
+     * Время последнего изменения, водяной знак инкрементальной выгрузки.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Order(long id) {
         this.id = id;
     }
@@ -1,17 +1,18 @@
 package com.gitlab.model;
 
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.util.PagePolicy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.search.annotations.Field;
-import org.hibernate.search.annotations.Indexed;
-import org.hibernate.search.annotations.Store;
-import org.hibernate.search.annotations.TermVector;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @NamedEntityGraph(name = "product",
@@ -25,15 +26,15 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "product")
-@Indexed
 public class Product {
 
+    public static final String RATING_AVERAGE_FIELD = "ratingAverage";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "name")
-    @Field(termVector = TermVector.YES, store = Store.YES)
     private String name;
 
     @Column(name = "stock_count")
@@ -42,7 +43,11 @@ public class Product {
     @OneToMany(mappedBy = "someProduct")
     private Set<ProductImage> productImages;
 
+    /**
+     * Отзывы страницы продуктов подгружаются одним запросом на страницу, а не на каждый продукт.
+     */
     @OneToMany(mappedBy = "product")
+    @BatchSize(size = PagePolicy.MAX_SIZE)
     private Set<Review> review;
 
     @Column(name = "description")
@@ -72,4 +77,28 @@ public class Product {
     @JoinColumn(name = "product_category_id")
     private ProductCategory productCategory;
 
+    /**
+     * Время последнего изменения, водяной знак инкрементальной выгрузки.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Сумма и число оценок активных отзывов. Меняются только атомарным UPDATE из {@code ReviewService}
+     * и сверкой, поэтому при сохранении продукта не записываются.
+     */
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private Integer ratingCount = 0;
+
+    /**
+     * Средняя оценка для сортировки и фильтрации, 0 без оценок. Выражение совпадает с индексом
+     * product_rating_average_id_idx.
+     */
+    @Formula("COALESCE(rating_sum * 1.0 / NULLIF(rating_count, 0), 0)")
+    private BigDecimal ratingAverage;
+
 }
\ No newline at end of file
@@ -23,6 +23,34 @@ public class ProductImage {
     @Column(name = "name")
     private String name;
 
-    @Column(name = "data")
+    /**
+     * Содержимое изображения. Не хранится в таблице: записывается в {@link com.gitlab.service.ImageStore}
+     * и читается из него по {@link #contentHash}.
+     */
+    @Transient
     private byte[] data;
+
+    @Column(name = "content_hash")
+    private String contentHash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size")
+    private Long size;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    /**
+     * Уменьшенные копии изображения, создаются в фоне после сохранения, см. {@link com.gitlab.enums.ImageRendition}.
+     */
+    @Column(name = "thumb_hash")
+    private String thumbHash;
+
+    @Column(name = "preview_hash")
+    private String previewHash;
 }
@@ -0,0 +1,66 @@
+package com.gitlab.model;
+
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Запись transactional outbox об изменении продукта. Пишется в одной транзакции с изменением продукта
+ * и читается search-service для поддержания поискового индекса. Вместе с событием сохраняются
+ * индексируемые поля продукта, номер транзакции заполняет база.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "product_outbox")
+public class ProductOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "txid", insertable = false, updatable = false)
+    private Long txid;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "change_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ProductChangeType changeType;
+
+    @Column(name = "create_date_time", nullable = false)
+    private LocalDateTime createDateTime;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "price")
+    private BigDecimal price;
+
+    @Column(name = "is_adult")
+    private Boolean isAdult;
+
+    @Column(name = "entity_status")
+    @Enumerated(EnumType.STRING)
+    private EntityStatus entityStatus;
+
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Column(name = "product_category_name")
+    private String productCategoryName;
+
+    @Column(name = "rating_sum")
+    private Long ratingSum;
+
+    @Column(name = "rating_count")
+    private Integer ratingCount;
+}
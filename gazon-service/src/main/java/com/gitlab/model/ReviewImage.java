@@ -25,6 +25,18 @@ public class ReviewImage {
     @Column(name = "name")
     private String name;
 
-    @Column(name = "data")
+    /**
+     * Хранится в {@link com.gitlab.service.ImageStore}, в таблице только хэш, см. {@link ProductImage#getData()}.
+     */
+    @Transient
     private byte[] data;
+
+    @Column(name = "content_hash")
+    private String contentHash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size")
+    private Long size;
 }
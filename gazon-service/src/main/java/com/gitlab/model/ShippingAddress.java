@@ -6,6 +6,10 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
 
+/**
+ * Иерархия адресов не кэшируется во втором уровне Hibernate: кэш объявляется на корне иерархии и действовал бы
+ * и для личных адресов покупателей, а персональные данные в общем кэше не держим.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
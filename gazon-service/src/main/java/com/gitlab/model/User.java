@@ -90,10 +90,4 @@ public class User {
 
     @Column(name = "bonuses_count")
     private Long bonusesCount;
-
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    @JoinTable(name = "users_favourite_products",
-            joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "product_id"))
-    private Set<Product> favouriteProducts;
 }
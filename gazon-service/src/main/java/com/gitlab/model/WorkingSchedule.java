@@ -3,6 +3,8 @@ package com.gitlab.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.time.DayOfWeek;
@@ -14,6 +16,8 @@ import java.time.LocalTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "working_schedule")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class WorkingSchedule {
 
     @Id
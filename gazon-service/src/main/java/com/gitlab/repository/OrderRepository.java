@@ -1,16 +1,26 @@
 package com.gitlab.repository;
 
 import com.gitlab.model.Order;
+import com.gitlab.util.PagePolicy;
 import lombok.NonNull;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -37,6 +47,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT r FROM Order r WHERE r.entityStatus = 'ACTIVE' AND r.id = :id AND r.user.username = :username order by r.id asc")
     Optional<Order> findById(@Param("id") Long id, @Param("username") String username);
 
+    @Query("SELECT r FROM Order r WHERE r.entityStatus = 'ACTIVE' AND r.id > :after order by r.id asc")
+    Slice<Order> findAllAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT r FROM Order r WHERE r.entityStatus = 'ACTIVE' AND r.user.username = :username AND r.id > :after order by r.id asc")
+    Slice<Order> findAllAfter(@Param("after") long after, Pageable pageable, @Param("username") String username);
+
+    @Query("SELECT count(r) FROM Order r WHERE r.entityStatus = 'ACTIVE'")
+    long countActive();
+
+    @Query("SELECT count(r) FROM Order r WHERE r.entityStatus = 'ACTIVE' AND r.user.username = :username")
+    long countActive(@Param("username") String username);
+
+    /**
+     * Активные заказы всех пользователей с id больше {@code afterId} по возрастанию id для потоковой выгрузки,
+     * читается внутри транзакции.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT r FROM Order r WHERE r.entityStatus = 'ACTIVE' AND r.id > :afterId order by r.id asc")
+    Stream<Order> streamAllAfter(@Param("afterId") long afterId);
+
+    /**
+     * Как {@link #streamAllAfter}, но только измененные начиная с {@code since}, включая удаленные:
+     * потребителю инкрементальной выгрузки нужно узнать и об удалении.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT r FROM Order r WHERE r.updatedAt >= :since AND r.id > :afterId order by r.id asc")
+    Stream<Order> streamUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId);
+
     @NonNull
     @Query("SELECT r FROM Order r JOIN FETCH r.selectedProducts where r.orderStatus = 'NOT_PAID' order by r.id asc")
     List<Order> findOrdersWithNotPaidStatus();
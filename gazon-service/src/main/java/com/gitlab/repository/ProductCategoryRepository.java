@@ -1,9 +1,21 @@
 package com.gitlab.repository;
 
 import com.gitlab.model.ProductCategory;
+import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {
+
+    @Override
+    @NonNull
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProductCategory> findAll();
 }
\ No newline at end of file
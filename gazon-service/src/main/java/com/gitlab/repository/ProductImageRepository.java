@@ -1,9 +1,14 @@
 package com.gitlab.repository;
 
 import com.gitlab.model.ProductImage;
+import com.gitlab.repository.projection.ProductImageInfo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,4 +18,38 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
 
     @Query("SELECT r FROM ProductImage r WHERE r.someProduct.id = :id and r.someProduct.entityStatus = 'ACTIVE'")
     List<ProductImage> findAllBySomeProductId(Long id);
+
+    @Query("SELECT i.id AS id, i.someProduct.id AS productId, i.name AS name, i.contentType AS contentType, "
+            + "i.size AS size, i.contentHash AS contentHash, i.width AS width, i.height AS height "
+            + "FROM ProductImage i WHERE i.someProduct.id = :id AND i.someProduct.entityStatus = 'ACTIVE' ORDER BY i.id")
+    List<ProductImageInfo> findInfoBySomeProductId(Long id);
+
+    @Query(value = "SELECT i.id AS id, i.someProduct.id AS productId, i.name AS name, i.contentType AS contentType, "
+            + "i.size AS size, i.contentHash AS contentHash, i.width AS width, i.height AS height "
+            + "FROM ProductImage i ORDER BY i.id",
+            countQuery = "SELECT count(i) FROM ProductImage i")
+    Page<ProductImageInfo> findAllInfo(Pageable pageable);
+
+    @Query(value = "SELECT id FROM product_image WHERE id > :afterId AND content_hash IS NULL AND data IS NOT NULL "
+            + "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsWithLegacyData(Long afterId, int limit);
+
+    @Query("SELECT i.id AS id, i.contentHash AS contentHash FROM ProductImage i WHERE i.id > :afterId "
+            + "AND i.contentHash IS NOT NULL AND (i.thumbHash IS NULL OR i.previewHash IS NULL) ORDER BY i.id")
+    List<ProductImageInfo> findWithoutRenditions(Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT data FROM product_image WHERE id = :id", nativeQuery = true)
+    byte[] findLegacyDataById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE product_image SET content_hash = :contentHash, content_type = :contentType, size = :size, "
+            + "data = NULL WHERE id = :id", nativeQuery = true)
+    void moveLegacyDataToStore(Long id, String contentHash, String contentType, long size);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductImage i SET i.thumbHash = :thumbHash, i.previewHash = :previewHash, "
+            + "i.width = :width, i.height = :height WHERE i.id = :id AND i.contentHash = :contentHash")
+    int updateRenditions(Long id, String contentHash, String thumbHash, String previewHash, int width, int height);
 }
@@ -0,0 +1,57 @@
+package com.gitlab.repository;
+
+import com.gitlab.model.ProductOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+
+    /**
+     * Записывает событие вместе с индексируемыми полями продукта так, как их видит текущая транзакция.
+     * Незаписанные изменения сессии сбрасываются в базу перед запросом.
+     *
+     * @return 0, если продукта нет в базе.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO product_outbox (product_id, change_type, create_date_time, name, price, is_adult, "
+            + "entity_status, store_id, product_category_name, rating_sum, rating_count) "
+            + "SELECT p.id, :changeType, :createDateTime, p.name, p.price, p.is_adult, "
+            + "p.entity_status, p.store_id, c.name, p.rating_sum, p.rating_count "
+            + "FROM product p LEFT JOIN product_category c ON c.id = p.product_category_id "
+            + "WHERE p.id = :productId",
+            nativeQuery = true)
+    int insertWithSnapshot(@Param("productId") Long productId,
+                           @Param("changeType") String changeType,
+                           @Param("createDateTime") LocalDateTime createDateTime);
+
+    /**
+     * События после позиции (afterTxid, afterId) в порядке номера транзакции. Отдаются только события
+     * транзакций младше самой старой незавершенной: более ранних событий в ленте появиться уже не может.
+     */
+    @Query(value = "SELECT * FROM product_outbox e "
+            + "WHERE (e.txid, e.id) > (:afterTxid, :afterId) "
+            + "AND e.txid < txid_snapshot_xmin(txid_current_snapshot()) "
+            + "ORDER BY e.txid, e.id LIMIT :limit",
+            nativeQuery = true)
+    List<ProductOutboxEvent> findCommittedBatchAfter(@Param("afterTxid") Long afterTxid,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("limit") int limit);
+
+    /**
+     * Номер самой старой незавершенной транзакции: все события с меньшим номером уже закоммичены
+     * или отменены.
+     */
+    @Query(value = "SELECT txid_snapshot_xmin(txid_current_snapshot())", nativeQuery = true)
+    Long findOldestActiveTxid();
+
+    @Modifying
+    @Query("DELETE FROM ProductOutboxEvent e WHERE e.createDateTime < :threshold")
+    int deleteOlderThan(LocalDateTime threshold);
+}
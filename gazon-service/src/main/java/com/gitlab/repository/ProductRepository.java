@@ -1,16 +1,29 @@
 package com.gitlab.repository;
 
 import com.gitlab.model.Product;
+import com.gitlab.util.PagePolicy;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -37,8 +50,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.entityStatus = 'ACTIVE'")
     Page<Product> findAll(Pageable pageable);
 
-    Iterable<Product> findByNameContainingIgnoreCase(String name);
-
     @NonNull
     @EntityGraph(value = "product")
     @Query("SELECT p FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.store.id = :storeId")
@@ -47,4 +58,126 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @NonNull
     @EntityGraph(value = "product")
     Product findProductById(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Id страницы для keyset-пагинации: сами продукты с изображениями загружаются отдельно
+     * через {@link #findAllByIdInOrderById}, иначе fetch-join коллекции заставил бы Hibernate
+     * выбирать все строки и применять LIMIT в памяти.
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.id > :after ORDER BY p.id")
+    Slice<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.store.id = :storeId AND p.id > :after ORDER BY p.id")
+    Slice<Long> findIdsByStoreAfter(@Param("storeId") Long storeId, @Param("after") long after, Pageable pageable);
+
+    @EntityGraph(value = "product")
+    @Query("SELECT DISTINCT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdInOrderById(@Param("ids") List<Long> ids);
+
+    @Query("SELECT count(p) FROM Product p WHERE p.entityStatus = 'ACTIVE'")
+    long countActive();
+
+    /**
+     * Id страницы активных продуктов со средней оценкой не ниже {@code minRating}. Порядок задается
+     * {@code pageable}, продукты загружаются отдельно через {@link #findAllByIdInOrderById}.
+     */
+    @Query(value = "SELECT p.id FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.ratingAverage >= :minRating",
+            countQuery = "SELECT count(p) FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.ratingAverage >= :minRating")
+    Page<Long> findIdsByRating(@Param("minRating") BigDecimal minRating, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.store.id = :storeId "
+            + "AND p.ratingAverage >= :minRating",
+            countQuery = "SELECT count(p) FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.store.id = :storeId "
+                    + "AND p.ratingAverage >= :minRating")
+    Page<Long> findIdsByStoreAndRating(@Param("storeId") Long storeId, @Param("minRating") BigDecimal minRating,
+                                       Pageable pageable);
+
+    /**
+     * Атомарно меняет агрегаты рейтинга, не читая продукт: параллельные отзывы не теряют обновлений.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.ratingSum = p.ratingSum + :sumDelta, p.ratingCount = p.ratingCount + :countDelta, "
+            + "p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int addRating(@Param("id") Long id, @Param("sumDelta") long sumDelta, @Param("countDelta") int countDelta);
+
+    /**
+     * Id продуктов, у которых агрегаты рейтинга разошлись с активными отзывами.
+     */
+    @Query(value = "SELECT p.id FROM product p LEFT JOIN (SELECT product_id, SUM(rating) AS rating_sum, "
+            + "COUNT(rating) AS rating_count FROM review WHERE entity_status = 'ACTIVE' GROUP BY product_id) r "
+            + "ON r.product_id = p.id "
+            + "WHERE p.rating_sum <> COALESCE(r.rating_sum, 0) OR p.rating_count <> COALESCE(r.rating_count, 0)",
+            nativeQuery = true)
+    List<Long> findRatingMismatchIds();
+
+    /**
+     * Пересчитывает агрегаты рейтинга продуктов по активным отзывам.
+     */
+    @Modifying
+    @Query(value = "UPDATE product p SET "
+            + "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM review r "
+            + "WHERE r.product_id = p.id AND r.entity_status = 'ACTIVE'), "
+            + "rating_count = (SELECT COUNT(r.rating) FROM review r "
+            + "WHERE r.product_id = p.id AND r.entity_status = 'ACTIVE'), "
+            + "updated_at = now() "
+            + "WHERE p.id IN :ids",
+            nativeQuery = true)
+    int recalculateRating(@Param("ids") List<Long> ids);
+
+    @Query("SELECT count(p) FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.store.id = :storeId")
+    long countActiveByStore(@Param("storeId") Long storeId);
+
+    /**
+     * Активные продукты с id больше {@code afterId} по возрастанию id для потоковой выгрузки,
+     * читается внутри транзакции.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT p FROM Product p WHERE p.entityStatus = 'ACTIVE' AND p.id > :afterId ORDER BY p.id")
+    Stream<Product> streamAllAfter(@Param("afterId") long afterId);
+
+    /**
+     * Как {@link #streamAllAfter}, но только измененные начиная с {@code since}, включая удаленные:
+     * потребителю инкрементальной выгрузки нужно узнать и об удалении.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT p FROM Product p WHERE p.updatedAt >= :since AND p.id > :afterId ORDER BY p.id")
+    Stream<Product> streamUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId);
+
+    /**
+     * Id активных избранных продуктов пользователя по возрастанию id, продукты загружаются отдельно
+     * через {@link #findAllByIdInOrderById}.
+     */
+    @Query(value = "SELECT f.product_id FROM users_favourite_products f JOIN product p ON p.id = f.product_id "
+            + "WHERE f.user_id = :userId AND p.entity_status = 'ACTIVE' ORDER BY f.product_id",
+            countQuery = "SELECT count(*) FROM users_favourite_products f JOIN product p ON p.id = f.product_id "
+                    + "WHERE f.user_id = :userId AND p.entity_status = 'ACTIVE'",
+            nativeQuery = true)
+    Page<Long> findFavouriteIds(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Какие из {@code productIds} в избранном у пользователя: чтение только по первичному ключу таблицы связи.
+     */
+    @Query(value = "SELECT f.product_id FROM users_favourite_products f "
+            + "WHERE f.user_id = :userId AND f.product_id IN :productIds",
+            nativeQuery = true)
+    List<Long> findFavouriteIds(@Param("userId") Long userId, @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * @return 0, если продукт уже в избранном.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO users_favourite_products (user_id, product_id) VALUES (:userId, :productId) "
+            + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addFavourite(@Param("userId") Long userId, @Param("productId") Long productId);
+
+    /**
+     * @return 0, если продукта не было в избранном.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM users_favourite_products WHERE user_id = :userId AND product_id = :productId",
+            nativeQuery = true)
+    int removeFavourite(@Param("userId") Long userId, @Param("productId") Long productId);
+}
@@ -2,8 +2,26 @@ package com.gitlab.repository;
 
 import com.gitlab.model.ReviewImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface ReviewImageRepository extends JpaRepository<ReviewImage, Long> {
+
+    @Query(value = "SELECT id FROM review_image WHERE id > :afterId AND content_hash IS NULL AND data IS NOT NULL "
+            + "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsWithLegacyData(Long afterId, int limit);
+
+    @Query(value = "SELECT data FROM review_image WHERE id = :id", nativeQuery = true)
+    byte[] findLegacyDataById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE review_image SET content_hash = :contentHash, content_type = :contentType, size = :size, "
+            + "data = NULL WHERE id = :id", nativeQuery = true)
+    void moveLegacyDataToStore(Long id, String contentHash, String contentType, long size);
 }
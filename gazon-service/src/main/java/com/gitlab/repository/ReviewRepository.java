@@ -2,16 +2,26 @@ package com.gitlab.repository;
 
 import com.gitlab.enums.EntityStatus;
 import com.gitlab.model.Review;
+import com.gitlab.util.PagePolicy;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -37,5 +47,29 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.entityStatus = 'ACTIVE'")
     Page<Review> findAll(@NonNull Pageable pageable);
 
+    @Query("SELECT r FROM Review r WHERE r.entityStatus = 'ACTIVE' AND r.id > :after ORDER BY r.id")
+    Slice<Review> findAllAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT count(r) FROM Review r WHERE r.entityStatus = 'ACTIVE'")
+    long countActive();
+
+    /**
+     * Активные отзывы с id больше {@code afterId} по возрастанию id для потоковой выгрузки,
+     * читается внутри транзакции.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT r FROM Review r WHERE r.entityStatus = 'ACTIVE' AND r.id > :afterId ORDER BY r.id")
+    Stream<Review> streamAllAfter(@Param("afterId") long afterId);
+
+    /**
+     * Как {@link #streamAllAfter}, но только измененные начиная с {@code since}, включая удаленные:
+     * потребителю инкрементальной выгрузки нужно узнать и об удалении.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + PagePolicy.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT r FROM Review r WHERE r.updatedAt >= :since AND r.id > :afterId ORDER BY r.id")
+    Stream<Review> streamUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId);
+
     Long countReviewByProduct_IdAndEntityStatus(Long id, EntityStatus entityStatus);
 }
\ No newline at end of file
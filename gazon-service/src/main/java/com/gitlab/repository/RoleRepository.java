@@ -8,16 +8,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     @Override
     @Query("SELECT r FROM Role r WHERE r.entityStatus = 'ACTIVE'")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Role> findAll();
 
     @Override
@@ -25,6 +30,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     @Query("SELECT r FROM Role r WHERE r.entityStatus = 'ACTIVE'")
     Page<Role> findAll(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Role findByName(String name);
 
     Optional<Role> findByIdAndEntityStatus(Long id, EntityStatus status);
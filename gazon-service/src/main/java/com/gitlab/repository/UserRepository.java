@@ -3,9 +3,11 @@ import com.gitlab.model.User;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -31,4 +33,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findById(@NonNull Long id);
 
     Optional<User> findByUsername(@NonNull String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    @Query("SELECT u FROM User u WHERE u.entityStatus = 'ACTIVE' AND u.id > :after order by u.id asc")
+    Slice<User> findAllAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT count(u) FROM User u WHERE u.entityStatus = 'ACTIVE'")
+    long countActive();
 }
\ No newline at end of file
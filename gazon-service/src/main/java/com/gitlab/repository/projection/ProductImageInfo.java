@@ -0,0 +1,24 @@
+package com.gitlab.repository.projection;
+
+/**
+ * Метаданные изображения товара без содержимого. Запросы с этой проекцией выбирают только перечисленные
+ * колонки, поэтому списки изображений не обращаются к {@link com.gitlab.service.ImageStore}.
+ */
+public interface ProductImageInfo {
+
+    Long getId();
+
+    Long getProductId();
+
+    String getName();
+
+    String getContentType();
+
+    Long getSize();
+
+    String getContentHash();
+
+    Integer getWidth();
+
+    Integer getHeight();
+}
@@ -0,0 +1,161 @@
+package com.gitlab.service;
+
+import com.gitlab.config.cache.CacheNames;
+import com.gitlab.model.User;
+import com.gitlab.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Аутентифицированный пользователь для {@link UserService#getAuthenticatedUser()} и его id
+ * для {@link AuthorizationService}.
+ * <p>
+ * В пределах HTTP-запроса пользователь загружается один раз и хранится в атрибуте запроса: сущность
+ * остается управляемой, пока открыт контекст персистентности запроса (open-in-view).
+ * Между запросами в кэше {@value CacheNames#AUTHENTICATED_USERS} хранится только id по имени пользователя,
+ * сама сущность не разделяется между потоками. При попадании вместо запроса возвращается ссылка
+ * {@code getById}, которая загружается при первом обращении к полям кроме id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthenticatedUserCache {
+
+    static final String REQUEST_ATTRIBUTE = AuthenticatedUserCache.class.getName() + ".user";
+    private static final String REQUEST_COUNTED_ATTRIBUTE = AuthenticatedUserCache.class.getName() + ".counted";
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    /**
+     * @return пользователь или empty, если пользователя с таким именем нет.
+     */
+    public Optional<User> get(String username) {
+        RequestAttributes attributes = countLookup();
+        if (attributes != null && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestUser requestUser && requestUser.getUsername().equals(username)) {
+            return Optional.of(requestUser.getUser());
+        }
+        Optional<User> user = load(username);
+        if (attributes != null) {
+            user.ifPresent(value -> attributes.setAttribute(REQUEST_ATTRIBUTE, new RequestUser(username, value),
+                    RequestAttributes.SCOPE_REQUEST));
+        }
+        return user;
+    }
+
+    /**
+     * Id пользователя без загрузки сущности: из пользователя текущего запроса, кэша или запросом только id.
+     *
+     * @return id или empty, если пользователя с таким именем нет.
+     */
+    public Optional<Long> getId(String username) {
+        RequestAttributes attributes = countLookup();
+        if (attributes != null && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestUser requestUser && requestUser.getUsername().equals(username)) {
+            return Optional.of(requestUser.getUser().getId());
+        }
+        Cache cache = usersCache();
+        Long id = cache.get(username, Long.class);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        queries.increment();
+        Optional<Long> loadedId = userRepository.findIdByUsername(username);
+        loadedId.ifPresent(value -> cache.put(username, value));
+        return loadedId;
+    }
+
+    /**
+     * Сбрасывает пользователя после изменения или удаления, в том числе из текущего запроса.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        usersCache().evict(username);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestUser requestUser && requestUser.getUsername().equals(username)) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), lookups.sum(), queries.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${cache.statistics-log-delay:300000}",
+            initialDelayString = "${cache.statistics-log-delay:300000}")
+    public void logStatistics() {
+        Statistics statistics = getStatistics();
+        log.info("logStatistics: Authenticated user: requests {}, lookups {}, queries {}, queries saved per request {}",
+                statistics.getRequests(), statistics.getLookups(), statistics.getQueries(),
+                String.format("%.2f", statistics.getSavedQueriesPerRequest()));
+    }
+
+    /**
+     * Учитывает обращение, а первое обращение в HTTP-запросе - еще и как запрос.
+     *
+     * @return атрибуты текущего HTTP-запроса или null вне запроса.
+     */
+    private RequestAttributes countLookup() {
+        lookups.increment();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(REQUEST_COUNTED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            attributes.setAttribute(REQUEST_COUNTED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            requests.increment();
+        }
+        return attributes;
+    }
+
+    private Optional<User> load(String username) {
+        Cache cache = usersCache();
+        Long id = cache.get(username, Long.class);
+        if (id != null) {
+            return Optional.of(userRepository.getById(id));
+        }
+        queries.increment();
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(value -> cache.put(username, value.getId()));
+        return user;
+    }
+
+    private Cache usersCache() {
+        return cacheManager.getCache(CacheNames.AUTHENTICATED_USERS);
+    }
+
+    /**
+     * Снимок счетчиков: сколько раз запрашивали пользователя и сколько из этого ушло в базу.
+     */
+    @Value
+    public static class Statistics {
+        long requests;
+        long lookups;
+        long queries;
+
+        public double getSavedQueriesPerRequest() {
+            return requests == 0 ? 0 : (double) (lookups - queries) / requests;
+        }
+    }
+
+    @Value
+    private static class RequestUser {
+        String username;
+        User user;
+    }
+}
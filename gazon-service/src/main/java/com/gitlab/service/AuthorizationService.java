@@ -0,0 +1,75 @@
+package com.gitlab.service;
+
+import com.gitlab.exception.handler.UserNotAuthenticatedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * Проверки ролей и владения для текущего запроса без загрузки пользователя и его ролей из БД.
+ * Роли берутся из authorities аутентификации (для JWT их заполняет {@code JwtAuthConverter}
+ * из {@code realm_access}), id пользователя - из {@link AuthenticatedUserCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthorizationService {
+
+    public static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    private final AuthenticatedUserCache authenticatedUserCache;
+
+    /**
+     * @throws UserNotAuthenticatedException если запрос не аутентифицирован.
+     */
+    public String getUsername() {
+        return getAuthentication().getName();
+    }
+
+    /**
+     * @throws UserNotAuthenticatedException если запрос не аутентифицирован или пользователя нет в БД.
+     */
+    public Long getUserId() {
+        return authenticatedUserCache.getId(getUsername())
+                .orElseThrow(AuthorizationService::notAuthenticated);
+    }
+
+    public boolean hasRole(String role) {
+        return getAuthentication().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role::equals);
+    }
+
+    public boolean isAdmin() {
+        return hasRole(ADMIN_ROLE);
+    }
+
+    public boolean isOwner(Long userId) {
+        return userId != null && Objects.equals(userId, getUserId());
+    }
+
+    /**
+     * Администратору доступно все, остальным только свое. Для администратора id пользователя не запрашивается.
+     */
+    public boolean isAdminOrOwner(Long userId) {
+        return isAdmin() || isOwner(userId);
+    }
+
+    private static Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw notAuthenticated();
+        }
+        return authentication;
+    }
+
+    private static UserNotAuthenticatedException notAuthenticated() {
+        return new UserNotAuthenticatedException(HttpStatus.UNAUTHORIZED, "Пользователь не аутентифицирован");
+    }
+}
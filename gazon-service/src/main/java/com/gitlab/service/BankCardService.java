@@ -5,9 +5,9 @@ import com.gitlab.mapper.BankCardMapper;
 import com.gitlab.model.BankCard;
 import com.gitlab.model.User;
 import com.gitlab.repository.BankCardRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,11 +53,11 @@ public class BankCardService implements Cloneable {
 
     public Page<BankCard> getPage(Integer page, Integer size) {
         log.info("Вызван метод getPage с параметрами: page={}, size={}", page, size);
-        if (page == null || size == null || page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Неверные параметры для страницы: page={}, size={}", page, size);
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<BankCard> bankCardPage = bankCardRepository.findAll(pageRequest);
         log.info("Возвращена страница с {} картами", bankCardPage.getTotalElements());
         return bankCardPage;
@@ -5,10 +5,10 @@ import com.gitlab.enums.EntityStatus;
 import com.gitlab.mapper.ExampleMapper;
 import com.gitlab.model.Example;
 import com.gitlab.repository.ExampleRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,16 +57,11 @@ public class ExampleService implements Cloneable {
 
     public Page<Example> getPage(Integer page, Integer size) {
         log.info("Вызван метод getPage с page={}, size={}", page, size);
-        if (page == null || size == null) {
-            log.warn("getPage: переданы некорректные параметры");
-            var examples = findAll();
-            return examples.isEmpty() ? Page.empty() : new PageImpl<>(examples);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("getPage: page или size имеют недопустимые значения");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Example> examplePage = exampleRepository.findAll(pageRequest);
         log.info("getPage: возвращена страница с {} элементами", examplePage.getTotalElements());
         return examplePage;
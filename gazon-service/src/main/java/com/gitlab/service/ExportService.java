@@ -0,0 +1,63 @@
+package com.gitlab.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitlab.util.NdjsonWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка в NDJSON для тех, кому нужна вся таблица, см. {@link NdjsonWriter}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /**
+     * Заголовок ответа со значением {@code since} для следующей инкрементальной выгрузки.
+     */
+    public static final String WATERMARK_HEADER = "X-Export-Watermark";
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${export.watermark-overlap:1m}")
+    private Duration watermarkOverlap;
+
+    /**
+     * Водяной знак следующей инкрементальной выгрузки: время начала текущей минус перекрытие.
+     * Перекрытие покрывает транзакции, которые изменили строку раньше водяного знака, а зафиксировались
+     * уже после открытия курсора. Строки на стыке выгрузятся повторно, поэтому потребитель применяет их
+     * как upsert по id.
+     * <p>
+     * updatedAt проставляется при flush, а не при коммите: транзакция, которая длится дольше перекрытия,
+     * зафиксирует строки со временем раньше водяного знака, и инкрементальная выгрузка их пропустит.
+     * Водяной знак не гарантирует полноты, поэтому потребитель должен периодически сверяться с полной выгрузкой
+     * (без {@code since}), а перекрытие {@code export.watermark-overlap} - быть больше самой долгой транзакции.
+     */
+    public LocalDateTime nextWatermark() {
+        return LocalDateTime.now().minus(watermarkOverlap);
+    }
+
+    /**
+     * Пишет строки в NDJSON через {@link NdjsonWriter}. Вызывается внутри транзакции, в которой открыт поток;
+     * поток закрывает вызывающий.
+     *
+     * @return число выгруженных строк.
+     */
+    public <T, D> long writeNdjson(Stream<T> rows, Function<T, D> mapper, OutputStream outputStream) throws IOException {
+        long count = NdjsonWriter.write(rows, mapper, objectMapper, entityManager::clear, outputStream);
+        log.info("writeNdjson: exported {} rows", count);
+        return count;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gitlab.service;
+
+import lombok.Value;
+import org.springframework.core.io.Resource;
+
+/**
+ * Содержимое изображения из {@link ImageStore}, готовое к отдаче клиенту. Хэш содержимого служит строгим ETag.
+ * {@code fallback} означает, что вместо еще не готовой уменьшенной копии отдан оригинал: такой ответ
+ * нельзя кэшировать надолго.
+ */
+@Value
+public class ImageContent {
+    String hash;
+    String contentType;
+    Resource resource;
+    boolean fallback;
+}
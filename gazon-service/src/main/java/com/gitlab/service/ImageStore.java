@@ -0,0 +1,38 @@
+package com.gitlab.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Хранилище содержимого изображений. Содержимое адресуется SHA-256 хэшем, поэтому одинаковые файлы
+ * хранятся один раз, а записанное по хэшу содержимое никогда не меняется. В таблицах изображений
+ * остаются только метаданные и хэш.
+ */
+public interface ImageStore {
+
+    /**
+     * Сохраняет содержимое, если его еще нет в хранилище.
+     *
+     * @return SHA-256 хэш содержимого в hex.
+     */
+    String put(byte[] data);
+
+    /**
+     * Сохраняет содержимое потока, читая его буфером фиксированного размера. Хэш, тип и размер
+     * определяются по ходу чтения, поэтому содержимое целиком в памяти не оказывается.
+     * Поток не закрывается.
+     */
+    StoredImage put(InputStream inputStream);
+
+    /**
+     * @return содержимое для потоковой отдачи клиенту без загрузки в память.
+     */
+    Optional<Resource> get(String hash);
+
+    /**
+     * Читает содержимое целиком. Для отдачи клиенту предпочтительнее {@link #get(String)}.
+     */
+    Optional<byte[]> read(String hash);
+}
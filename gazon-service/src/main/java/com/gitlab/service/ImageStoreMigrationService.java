@@ -0,0 +1,77 @@
+package com.gitlab.service;
+
+import com.gitlab.repository.ProductImageRepository;
+import com.gitlab.repository.ReviewImageRepository;
+import com.gitlab.util.ImageUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Переносит содержимое изображений, оставшееся в колонках {@code data} таблиц product_image и review_image,
+ * в {@link ImageStore}. Строки обрабатываются по одной, после записи файла колонка очищается,
+ * поэтому прерванный перенос безопасно продолжается при следующем старте. После переноса запускается
+ * досоздание уменьшенных копий для изображений товаров, у которых их нет.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStoreMigrationService {
+
+    private final ProductImageRepository productImageRepository;
+    private final ReviewImageRepository reviewImageRepository;
+    private final ImageStore imageStore;
+    private final ProductImageRenditionService productImageRenditionService;
+
+    @Value("${image.store.migration.batch-size:100}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        int productImages = migrate("product_image", productImageRepository::findIdsWithLegacyData,
+                productImageRepository::findLegacyDataById, productImageRepository::moveLegacyDataToStore);
+        int reviewImages = migrate("review_image", reviewImageRepository::findIdsWithLegacyData,
+                reviewImageRepository::findLegacyDataById, reviewImageRepository::moveLegacyDataToStore);
+        if (productImages + reviewImages > 0) {
+            log.info("migrateOnStartup: Moved {} product images and {} review images to the image store",
+                    productImages, reviewImages);
+        }
+        productImageRenditionService.backfillAsync();
+    }
+
+    private int migrate(String table, BiFunction<Long, Integer, List<Long>> findIds,
+                        Function<Long, byte[]> findData, MoveToStore moveToStore) {
+        int moved = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = findIds.apply(afterId, batchSize);
+            for (Long id : ids) {
+                try {
+                    byte[] data = findData.apply(id);
+                    if (data != null) {
+                        byte[] image = ImageUtils.decodeLegacyImage(data);
+                        moveToStore.move(id, imageStore.put(image), ImageUtils.detectContentType(image), image.length);
+                        moved++;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("migrate: Could not move {} row {} to the image store", table, id, e);
+                }
+                afterId = id;
+            }
+        } while (ids.size() == batchSize);
+        return moved;
+    }
+
+    @FunctionalInterface
+    private interface MoveToStore {
+        void move(Long id, String contentHash, String contentType, long size);
+    }
+}
@@ -0,0 +1,249 @@
+package com.gitlab.service;
+
+import com.gitlab.util.DeflateCodec;
+import com.gitlab.util.ImageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+
+/**
+ * Хранилище изображений в локальной файловой системе.
+ * Файл с хэшем {@code abcdef...} лежит в {@code root/ab/cd/abcdef...}. Запись идет во временный файл
+ * в том же каталоге и атомарно переименовывается, поэтому читатели никогда не видят недописанный файл.
+ * <p>
+ * JPEG, PNG, GIF и WebP уже сжаты и хранятся как есть. Остальное содержимое (BMP и т.п.) сжимается Deflate
+ * и хранится в файле {@code abcdef....z}, если это экономит хотя бы {@value #MIN_DEFLATE_SAVING_PERCENT}%.
+ * Хэш всегда считается от исходного содержимого.
+ */
+@Slf4j
+@Service
+public class LocalImageStore implements ImageStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String TMP_DIR = "tmp";
+    private static final String DEFLATED_SUFFIX = ".z";
+    private static final int MIN_DEFLATE_SAVING_PERCENT = 10;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int SIGNATURE_LENGTH = 12;
+
+    @Value("${image.store.root:image-store}")
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(root.resolve(TMP_DIR));
+        log.info("init: Image store root: {}", root.toAbsolutePath());
+    }
+
+    @Override
+    public String put(byte[] data) {
+        String hash = sha256(data);
+        Path target = pathOf(hash);
+        Path deflatedTarget = deflatedPathOf(hash);
+        if (Files.exists(target) || Files.exists(deflatedTarget)) {
+            log.debug("put: Image {} is already stored", hash);
+            return hash;
+        }
+        byte[] content = data;
+        if (!ImageUtils.isCompressedFormat(ImageUtils.detectContentType(data))) {
+            byte[] deflated = DeflateCodec.deflate(data);
+            if (deflated.length <= data.length - data.length * MIN_DEFLATE_SAVING_PERCENT / 100) {
+                content = deflated;
+                target = deflatedTarget;
+            }
+        }
+        try {
+            Path tmp = Files.createTempFile(root.resolve(TMP_DIR), hash, ".tmp");
+            try {
+                Files.write(tmp, content);
+                moveInto(tmp, target);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image " + hash, e);
+        }
+        log.debug("put: Stored image {} ({} bytes, {} on disk)", hash, data.length, content.length);
+        return hash;
+    }
+
+    @Override
+    public StoredImage put(InputStream inputStream) {
+        try {
+            Path tmp = Files.createTempFile(root.resolve(TMP_DIR), "upload", ".tmp");
+            try {
+                return putStream(inputStream, tmp);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store uploaded image", e);
+        }
+    }
+
+    /**
+     * Пишет поток во временный файл, одновременно считая хэш и, для несжатых форматов, сжимая Deflate.
+     * Если сжатие не окупилось, файл распаковывается обратно.
+     */
+    private StoredImage putStream(InputStream inputStream, Path tmp) throws IOException {
+        var bufferedStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        bufferedStream.mark(SIGNATURE_LENGTH);
+        String contentType = ImageUtils.detectContentType(bufferedStream.readNBytes(SIGNATURE_LENGTH));
+        bufferedStream.reset();
+        boolean deflate = !ImageUtils.isCompressedFormat(contentType);
+
+        MessageDigest digest = sha256Digest();
+        long size = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream fileStream = Files.newOutputStream(tmp);
+             OutputStream outputStream = deflate ? DeflateCodec.deflatingStream(fileStream) : fileStream) {
+            int count;
+            while ((count = bufferedStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+                outputStream.write(buffer, 0, count);
+                size += count;
+            }
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        Path target = pathOf(hash);
+        Path deflatedTarget = deflatedPathOf(hash);
+        if (Files.exists(target) || Files.exists(deflatedTarget)) {
+            log.debug("put: Image {} is already stored", hash);
+            return new StoredImage(hash, contentType, size);
+        }
+        if (!deflate) {
+            moveInto(tmp, target);
+        } else if (Files.size(tmp) <= size - size * MIN_DEFLATE_SAVING_PERCENT / 100) {
+            moveInto(tmp, deflatedTarget);
+        } else {
+            Path raw = Files.createTempFile(root.resolve(TMP_DIR), hash, ".tmp");
+            try {
+                try (InputStream inflated = DeflateCodec.inflatingStream(Files.newInputStream(tmp))) {
+                    Files.copy(inflated, raw, StandardCopyOption.REPLACE_EXISTING);
+                }
+                moveInto(raw, target);
+            } finally {
+                Files.deleteIfExists(raw);
+            }
+        }
+        log.debug("put: Stored uploaded image {} ({} bytes)", hash, size);
+        return new StoredImage(hash, contentType, size);
+    }
+
+    private void moveInto(Path tmp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Optional<Resource> get(String hash) {
+        Path path = pathOf(hash);
+        if (Files.isRegularFile(path)) {
+            return Optional.of(new FileSystemResource(path));
+        }
+        Path deflatedPath = deflatedPathOf(hash);
+        if (Files.isRegularFile(deflatedPath)) {
+            return Optional.of(new DeflatedFileResource(deflatedPath, hash));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<byte[]> read(String hash) {
+        try {
+            Path path = pathOf(hash);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(Files.readAllBytes(path));
+            }
+            Path deflatedPath = deflatedPathOf(hash);
+            if (Files.isRegularFile(deflatedPath)) {
+                return Optional.of(DeflateCodec.inflate(Files.readAllBytes(deflatedPath)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read image " + hash, e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted image " + hash, e);
+        }
+        log.warn("read: Image {} is missing in the store", hash);
+        return Optional.empty();
+    }
+
+    private Path pathOf(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid image hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path deflatedPathOf(String hash) {
+        Path path = pathOf(hash);
+        return path.resolveSibling(path.getFileName() + DEFLATED_SUFFIX);
+    }
+
+    static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(sha256Digest().digest(data));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Файл, сжатый Deflate, который отдается клиенту в распакованном виде.
+     * Размер содержимого заранее неизвестен и считается чтением потока, если он понадобится.
+     */
+    private static class DeflatedFileResource extends AbstractResource {
+
+        private final Path path;
+        private final String hash;
+
+        DeflatedFileResource(Path path, String hash) {
+            this.path = path;
+            this.hash = hash;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return DeflateCodec.inflatingStream(Files.newInputStream(path));
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(path);
+        }
+
+        @Override
+        public String getFilename() {
+            return hash;
+        }
+
+        @Override
+        public String getDescription() {
+            return "deflated image [" + path + "]";
+        }
+    }
+}
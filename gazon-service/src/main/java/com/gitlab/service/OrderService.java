@@ -1,7 +1,10 @@
 package com.gitlab.service;
 
+import com.gitlab.dto.ExportRowDto;
 import com.gitlab.dto.OrderDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
 import com.gitlab.enums.OrderStatus;
 import com.gitlab.exception.handler.UserDoesNotHaveAccessException;
 import com.gitlab.exception.handler.WrongSelectedProductsException;
@@ -12,29 +15,33 @@ import com.gitlab.mapper.UserMapper;
 import com.gitlab.model.Order;
 import com.gitlab.model.SelectedProduct;
 import com.gitlab.model.ShoppingCart;
-import com.gitlab.model.User;
 import com.gitlab.repository.OrderRepository;
 import com.gitlab.repository.ProductRepository;
 import com.gitlab.repository.ShoppingCartRepository;
 import com.gitlab.repository.UserRepository;
+import com.gitlab.util.KeysetPagination;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.gitlab.util.ServiceUtils.updateFieldIfNotNull;
 
@@ -46,6 +53,7 @@ public class OrderService implements Cloneable {
 
     private final OrderRepository orderRepository;
     private final UserService userService;
+    private final AuthorizationService authorizationService;
     private final OrderMapper orderMapper;
     private final ShippingAddressMapper shippingAddressMapper;
     private final SelectedProductMapper selectedProductMapper;
@@ -53,16 +61,18 @@ public class OrderService implements Cloneable {
     private final ProductRepository productRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final UserRepository userRepository;
+    private final ProductOutboxService productOutboxService;
+    private final ExportService exportService;
 
     public List<Order> findAll() {
-        User user = userService.getAuthenticatedUser();
-        log.info("User {} requested to find all orders", user.getUsername());
+        String username = authorizationService.getUsername();
+        log.info("User {} requested to find all orders", username);
 
-        List<Order> orders = isAdmin(user)
+        List<Order> orders = authorizationService.isAdmin()
                 ? orderRepository.findAll()
-                : orderRepository.findAll(user.getUsername());
+                : orderRepository.findAll(username);
 
-        log.info("Found {} orders for user {}", orders.size(), user.getUsername());
+        log.info("Found {} orders for user {}", orders.size(), username);
         return orders;
     }
 
@@ -73,12 +83,12 @@ public class OrderService implements Cloneable {
     }
 
     public Optional<Order> findById(Long id) {
-        User user = userService.getAuthenticatedUser();
-        log.info("User {} requested to find order by id {}", user.getUsername(), id);
+        String username = authorizationService.getUsername();
+        log.info("User {} requested to find order by id {}", username, id);
 
-        Optional<Order> orderOptional = isAdmin(user)
+        Optional<Order> orderOptional = authorizationService.isAdmin()
                 ? orderRepository.findById(id)
-                : orderRepository.findById(id, user.getUsername());
+                : orderRepository.findById(id, username);
 
         if (orderOptional.isEmpty() || orderOptional.get().getEntityStatus().equals(EntityStatus.DELETED)) {
             log.warn("Order with id {} not found or deleted", id);
@@ -96,16 +106,15 @@ public class OrderService implements Cloneable {
 
     public Page<Order> getPage(Integer page, Integer size) {
         log.info("User requested order page: page={}, size={}", page, size);
-        if (page == null || size == null || page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid page or size values: page={}, size={}", page, size);
             return Page.empty();
         }
 
-        PageRequest pageRequest = PageRequest.of(page, size);
-        User user = userService.getAuthenticatedUser();
-        Page<Order> orders = isAdmin(user)
+        PageRequest pageRequest = PagePolicy.of(page, size);
+        Page<Order> orders = authorizationService.isAdmin()
                 ? orderRepository.findAll(pageRequest)
-                : orderRepository.findAll(pageRequest, user.getUsername());
+                : orderRepository.findAll(pageRequest, authorizationService.getUsername());
 
         log.info("Found {} orders on page {}", orders.getTotalElements(), page);
         return orders;
@@ -116,13 +125,47 @@ public class OrderService implements Cloneable {
         return getPage(page, size).map(orderMapper::toDto);
     }
 
-    boolean authenticatedUserHasAccess(Order order) {
-        User user = userService.getAuthenticatedUser();
-        return user.getId().equals(order.getUser().getId()) || isAdmin(user);
+    /**
+     * Keyset-страница заказов по возрастанию id: администратору все заказы, остальным только свои.
+     * Общее число считается только при {@code count}.
+     */
+    public SliceDto<OrderDto> getSliceDto(String after, Integer size, boolean count) {
+        long afterId = KeysetPagination.decodeCursor(after);
+        Pageable pageable = KeysetPagination.pageable(size);
+        log.info("User requested order slice: after id={}, size={}", afterId, pageable.getPageSize());
+        boolean admin = authorizationService.isAdmin();
+        String username = authorizationService.getUsername();
+        Slice<Order> orders = admin
+                ? orderRepository.findAllAfter(afterId, pageable)
+                : orderRepository.findAllAfter(afterId, pageable, username);
+        Long totalElements = !count ? null
+                : admin ? orderRepository.countActive() : orderRepository.countActive(username);
+        log.info("Found {} orders after id {}", orders.getNumberOfElements(), afterId);
+        return KeysetPagination.toDto(orders, Order::getId, orderMapper::toDto, totalElements);
+    }
+
+    /**
+     * Потоковая выгрузка заказов всех пользователей в NDJSON по возрастанию id, каждая строка со статусом записи.
+     * Полная выгрузка содержит только активные заказы, инкрементальная - и удаленные.
+     * Доступ ограничен администраторами на уровне SecurityConfig.
+     *
+     * @param afterId продолжить после этого id (возобновление прерванной выгрузки), null - с начала.
+     * @param since   только измененные начиная с этого момента (водяной знак прошлой выгрузки), null - все.
+     */
+    @Transactional(readOnly = true)
+    public long exportDto(Long afterId, LocalDateTime since, OutputStream outputStream) throws IOException {
+        long after = afterId == null ? 0L : afterId;
+        log.info("Exporting orders: after id={}, since={}", after, since);
+        try (Stream<Order> orders = since == null
+                ? orderRepository.streamAllAfter(after)
+                : orderRepository.streamUpdatedSince(since, after)) {
+            return exportService.writeNdjson(orders,
+                    order -> new ExportRowDto<>(orderMapper.toDto(order), order.getEntityStatus()), outputStream);
+        }
     }
 
-    boolean isAdmin(User user) {
-        return user.getRolesSet().stream().anyMatch(role -> role.getName().equals("ROLE_ADMIN"));
+    boolean authenticatedUserHasAccess(Order order) {
+        return authorizationService.isAdminOrOwner(order.getUser().getId());
     }
 
     public Optional<OrderDto> saveDto(OrderDto orderDto) {
@@ -135,11 +178,10 @@ public class OrderService implements Cloneable {
                 )
         );
 
-        User user = userService.getAuthenticatedUser();
-        if (!Objects.equals(user.getId(), order.getUser().getId()) && !isAdmin(user)) {
+        if (!authenticatedUserHasAccess(order)) {
             throw new UserDoesNotHaveAccessException(
                     HttpStatus.BAD_REQUEST,
-                    String.format("User with id %s can't create orders for someone else", user.getId()));
+                    String.format("User with id %s can't create orders for someone else", authorizationService.getUserId()));
         }
 
         Optional<ShoppingCart> optionalUserShoppingCart = shoppingCartRepository.findByUser_Id(order.getUser().getId());
@@ -265,6 +307,7 @@ public class OrderService implements Cloneable {
         var product = selectedProduct.getProduct();
         product.setStockCount(product.getStockCount() + selectedProduct.getCount());
         productRepository.save(product);
+        productOutboxService.publish(product, ProductChangeType.UPDATED);
         log.info("Stock count for product {} increased to {}", product.getId(), product.getStockCount());
     }
 
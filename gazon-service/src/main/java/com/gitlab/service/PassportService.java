@@ -5,10 +5,10 @@ import com.gitlab.enums.EntityStatus;
 import com.gitlab.mapper.PassportMapper;
 import com.gitlab.model.Passport;
 import com.gitlab.repository.PassportRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,37 +57,21 @@ public class PassportService implements Cloneable {
 
     public Page<Passport> getPage(Integer page, Integer size) {
         log.info("Fetching passport page - page: {}, size: {}", page, size);
-        if (page == null || size == null) {
-            var passports = findAllActive();
-            if (passports.isEmpty()) {
-                log.warn("No passports found");
-                return Page.empty();
-            }
-            return new PageImpl<>(passports);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid page or size - page: {}, size: {}", page, size);
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return passportRepository.findAll(pageRequest);
     }
 
     public Page<PassportDto> getPageDto(Integer page, Integer size) {
         log.info("Fetching passport DTO page - page: {}, size: {}", page, size);
-        if (page == null || size == null) {
-            var passports = findAllActiveDto();
-            if (passports.isEmpty()) {
-                log.warn("No passport DTOs found");
-                return Page.empty();
-            }
-            return new PageImpl<>(passports);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid page or size for DTO - page: {}, size: {}", page, size);
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Passport> passportPage = passportRepository.findAll(pageRequest);
         return passportPage.map(passportMapper::toDto);
     }
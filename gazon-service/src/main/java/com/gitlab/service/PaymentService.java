@@ -7,7 +7,6 @@ import com.gitlab.enums.OrderStatus;
 import com.gitlab.enums.PaymentStatus;
 import com.gitlab.exception.handler.NoResponseException;
 import com.gitlab.model.Order;
-import com.gitlab.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -28,7 +27,6 @@ import java.util.Optional;
 public class PaymentService implements Cloneable {
 
     private final OrderService orderService;
-    private final UserService userService;
     private final PaymentClient paymentClient;
 
     public List<PaymentDto> findAllDto() {
@@ -57,14 +55,6 @@ public class PaymentService implements Cloneable {
 
     public List<PaymentDto> getPageDto(Integer page, Integer size) {
         log.info("Fetching payments page - page: {}, size: {}", page, size);
-        if (page == null || size == null) {
-            log.info("Fetching all payments without pagination");
-            return findAllDto()
-                    .stream()
-                    .sorted(Comparator.comparing(PaymentDto::getId))
-                    .toList();
-        }
-
         ResponseEntity<List<PaymentDto>> responseEntity = paymentClient.getPaymentsPage(page, size);
         if (responseEntity == null) {
             log.warn("No response from payment service for page: {}, size: {}", page, size);
@@ -117,12 +107,6 @@ public class PaymentService implements Cloneable {
         }
 
         log.info("Found payment with id: {} for update", id);
-        Optional<User> paymentUser = userService.findUserById(userService.getAuthenticatedUser().getId());
-        if (paymentUser.isEmpty()) {
-            log.error("User not found for updating payment with id: {}", id);
-            throw new EntityNotFoundException("User not found");
-        }
-
         Optional<Order> paymentOrder = orderService.findById(paymentDto.getOrderId());
         if (paymentOrder.isEmpty()) {
             log.error("Order not found for updating payment with id: {}", paymentDto.getOrderId());
@@ -4,10 +4,10 @@ import com.gitlab.dto.PersonalAddressDto;
 import com.gitlab.mapper.PersonalAddressMapper;
 import com.gitlab.model.PersonalAddress;
 import com.gitlab.repository.PersonalAddressRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,29 +55,19 @@ public class PersonalAddressService implements Cloneable {
 
     public Page<PersonalAddress> getPage(Integer page, Integer size) {
         log.info("Fetching personal address page. Page: {}, Size: {}", page, size);
-        if (page == null || size == null) {
-            var personalAddresses = findAll();
-            if (personalAddresses.isEmpty()) {
-                log.warn("No personal addresses found.");
-                return Page.empty();
-            }
-            return new PageImpl<>(personalAddresses);
+        if (!PagePolicy.isValid(page, size)) {
+            return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return personalAddressRepository.findAll(pageRequest);
     }
 
     public Page<PersonalAddressDto> getPageDto(Integer page, Integer size) {
         log.info("Fetching personal address DTO page. Page: {}, Size: {}", page, size);
-        if (page == null || size == null) {
-            var personalAddresses = findAllDto();
-            if (personalAddresses.isEmpty()) {
-                log.warn("No personal address DTOs found.");
-                return Page.empty();
-            }
-            return new PageImpl<>(personalAddresses);
+        if (!PagePolicy.isValid(page, size)) {
+            return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<PersonalAddress> personalAddressPage = personalAddressRepository.findAll(pageRequest);
         return personalAddressPage.map(personalAddressMapper::toDto);
     }
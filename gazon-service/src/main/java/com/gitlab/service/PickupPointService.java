@@ -5,9 +5,9 @@ import com.gitlab.dto.PickupPointDto;
 import com.gitlab.mapper.PickupPointMapper;
 import com.gitlab.model.PickupPoint;
 import com.gitlab.repository.PickupPointRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,33 +53,19 @@ public class PickupPointService {
     }
 
     public Page<PickupPoint> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var pickupPoints = findAll();
-            if (pickupPoints.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(pickupPoints);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return pickupPointRepository.findAll(pageRequest);
     }
 
     public Page<PickupPointDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var pickupPoints = findAllDto();
-            if (pickupPoints.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(pickupPoints);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<PickupPoint> pickupPointPage = pickupPointRepository.findAll(pageRequest);
         return pickupPointPage.map(pickupPointMapper::toDto);
     }
@@ -4,9 +4,9 @@ import com.gitlab.dto.PostomatDto;
 import com.gitlab.mapper.PostomatMapper;
 import com.gitlab.model.Postomat;
 import com.gitlab.repository.PostomatRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -43,33 +43,19 @@ public class PostomatService {
     }
 
     public Page<Postomat> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var postomats = findAll();
-            if (postomats.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(postomats);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return postomatRepository.findAll(pageRequest);
     }
 
     public Page<PostomatDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var postomats = findAllDto();
-            if (postomats.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(postomats);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Postomat> postomatPage = postomatRepository.findAll(pageRequest);
         return postomatPage.map(postomatMapper::toDto);
     }
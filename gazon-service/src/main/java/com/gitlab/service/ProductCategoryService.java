@@ -1,13 +1,16 @@
 package com.gitlab.service;
 
+import com.gitlab.config.cache.CacheNames;
 import com.gitlab.dto.ProductCategoryDto;
 import com.gitlab.mapper.ProductCategoryMapper;
 import com.gitlab.model.ProductCategory;
 import com.gitlab.repository.ProductCategoryRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +41,7 @@ public class ProductCategoryService {
         return productCategoryDtos;
     }
 
+    @Cacheable(cacheNames = CacheNames.PRODUCT_CATEGORIES, key = "#id", unless = "#result == null")
     public Optional<ProductCategoryDto> findByIdDto(Long id) {
         log.info("Finding product category by id: {}", id);
         Optional<ProductCategory> productCategoryOptional = productCategoryRepository.findById(id);
@@ -51,24 +55,20 @@ public class ProductCategoryService {
     public Page<ProductCategoryDto> getPageDto(Integer page, Integer size) {
         log.info("Getting product category page: page = {}, size = {}", page, size);
 
-        if (page == null || size == null) {
-            var productCategory = findAllDto();
-            log.info("Returning all product categories as no pagination parameters were provided");
-            return productCategory.isEmpty() ? Page.empty() : new PageImpl<>(productCategory);
-        }
-
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid pagination parameters: page = {}, size = {}", page, size);
             return Page.empty();
         }
 
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<ProductCategory> productCategoryPage = productCategoryRepository.findAll(pageRequest);
         log.info("Returning product category page with {} items", productCategoryPage.getContent().size());
 
         return productCategoryPage.map(productCategoryMapper::toDto);
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCT_CATEGORIES, key = "#productCategoryDto.id",
+            condition = "#productCategoryDto.id != null")
     public ProductCategoryDto saveDto(ProductCategoryDto productCategoryDto) {
         log.info("Saving product category DTO: {}", productCategoryDto);
         ProductCategory savedProductCategory = productCategoryRepository.save(productCategoryMapper.toEntity(productCategoryDto));
@@ -77,6 +77,7 @@ public class ProductCategoryService {
         return savedDto;
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCT_CATEGORIES, key = "#id")
     public Optional<ProductCategoryDto> updateDto(Long id, ProductCategoryDto productCategoryDto) {
         log.info("Updating product category with id: {}", id);
         Optional<ProductCategory> optionalSavedProductCategory = productCategoryRepository.findById(id);
@@ -99,6 +100,7 @@ public class ProductCategoryService {
         return Optional.ofNullable(updatedDto);
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCT_CATEGORIES, key = "#id")
     public Optional<ProductCategory> delete(Long id) {
         log.info("Deleting product category with id: {}", id);
         Optional<ProductCategory> foundProductCategory = productCategoryRepository.findById(id);
@@ -0,0 +1,223 @@
+package com.gitlab.service;
+
+import com.gitlab.model.ProductImage;
+import com.gitlab.repository.ProductImageRepository;
+import com.gitlab.repository.projection.ProductImageInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создает уменьшенные копии изображений товаров (thumb и preview) и сохраняет их в {@link ImageStore}.
+ * Копии создаются в фоне после коммита транзакции, сохранившей изображение. Пул потоков и очередь ограничены:
+ * при переполненной очереди копии создаются в потоке, сохраняющем изображение, что притормаживает загрузку,
+ * но не дает задачам копиться в памяти. Чтение изображений копии не создает: для изображений без копий
+ * (сохраненных до их появления или не попавших в очередь) они досоздаются разовым фоновым проходом
+ * {@link #backfillAsync()} после старта.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImageRenditionService {
+
+    private final ProductImageRepository productImageRepository;
+    private final ImageStore imageStore;
+
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor renditionExecutor;
+
+    @Value("${image.renditions.thumb-size:100}")
+    private int thumbSize;
+
+    @Value("${image.renditions.preview-size:600}")
+    private int previewSize;
+
+    @Value("${image.renditions.threads:2}")
+    private int threads;
+
+    @Value("${image.renditions.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${image.renditions.backfill.enabled:true}")
+    private boolean backfillEnabled;
+
+    @Value("${image.renditions.backfill.batch-size:100}")
+    private int backfillBatchSize;
+
+    @PostConstruct
+    public void init() {
+        renditionExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "product-image-rendition");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renditionExecutor.shutdownNow();
+    }
+
+    /**
+     * Ставит создание копий в очередь после коммита текущей транзакции, без транзакции - сразу.
+     * Если очередь переполнена, копии создаются в текущем потоке.
+     */
+    public void scheduleAfterCommit(ProductImage productImage) {
+        Long id = productImage.getId();
+        String contentHash = productImage.getContentHash();
+        if (id == null || contentHash == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleOrRun(id, contentHash);
+                }
+            });
+        } else {
+            scheduleOrRun(id, contentHash);
+        }
+    }
+
+    private void scheduleOrRun(Long id, String contentHash) {
+        if (!schedule(id, contentHash)) {
+            createRenditionsSafely(id, contentHash);
+        }
+    }
+
+    /**
+     * Ставит создание копий в очередь, если для этого содержимого оно еще не запланировано.
+     *
+     * @return false, если очередь переполнена и задача не принята.
+     */
+    boolean schedule(Long id, String contentHash) {
+        String key = id + ":" + contentHash;
+        if (!scheduled.add(key)) {
+            return true;
+        }
+        try {
+            renditionExecutor.execute(() -> {
+                try {
+                    createRenditionsSafely(id, contentHash);
+                } finally {
+                    scheduled.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            scheduled.remove(key);
+            return false;
+        }
+    }
+
+    /**
+     * Запускает в отдельном потоке разовый проход по изображениям, у которых нет уменьшенных копий,
+     * и создает копии по одной. Очередь загрузок при этом не занимается.
+     */
+    public void backfillAsync() {
+        if (!backfillEnabled) {
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "product-image-rendition-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int backfill() {
+        int created = 0;
+        long afterId = 0;
+        List<ProductImageInfo> images;
+        do {
+            images = productImageRepository.findWithoutRenditions(afterId, PageRequest.of(0, backfillBatchSize));
+            for (ProductImageInfo image : images) {
+                if (createRenditionsSafely(image.getId(), image.getContentHash())) {
+                    created++;
+                }
+                afterId = image.getId();
+            }
+        } while (images.size() == backfillBatchSize && !Thread.currentThread().isInterrupted());
+        if (created > 0) {
+            log.info("backfill: Created renditions for {} product images", created);
+        }
+        return created;
+    }
+
+    private boolean createRenditionsSafely(Long id, String contentHash) {
+        try {
+            return createRenditions(id, contentHash);
+        } catch (IOException | RuntimeException e) {
+            log.error("createRenditions: Could not create renditions for product image with id: {}", id, e);
+            return false;
+        }
+    }
+
+    boolean createRenditions(Long id, String contentHash) throws IOException {
+        Optional<byte[]> original = imageStore.read(contentHash);
+        if (original.isEmpty()) {
+            return false;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(original.get()));
+        if (image == null) {
+            log.warn("createRenditions: Product image with id: {} has unsupported format", id);
+            return false;
+        }
+        String thumbHash = imageStore.put(resize(image, thumbSize));
+        String previewHash = imageStore.put(resize(image, previewSize));
+        if (productImageRepository.updateRenditions(id, contentHash, thumbHash, previewHash,
+                image.getWidth(), image.getHeight()) == 0) {
+            log.debug("createRenditions: Product image with id: {} was changed or deleted meanwhile", id);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Уменьшает изображение так, чтобы большая сторона не превышала {@code maxSide}, с сохранением пропорций.
+     * Изображения с прозрачностью сохраняются в PNG, остальные - в JPEG.
+     */
+    static byte[] resize(BufferedImage image, int maxSide) throws IOException {
+        double scale = Math.min(1d, (double) maxSide / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        boolean alpha = image.getColorModel().hasAlpha();
+
+        BufferedImage resized = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(resized, alpha ? "png" : "jpg", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -1,17 +1,31 @@
 package com.gitlab.service;
 
+import com.gitlab.config.cache.CacheNames;
 import com.gitlab.dto.ProductImageDto;
+import com.gitlab.dto.ProductImageInfoDto;
+import com.gitlab.enums.ImageRendition;
 import com.gitlab.mapper.ProductImageMapper;
+import com.gitlab.model.Product;
 import com.gitlab.model.ProductImage;
 import com.gitlab.repository.ProductImageRepository;
+import com.gitlab.util.ImageUtils;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.Dimension;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,17 +39,20 @@ public class ProductImageService {
 
     private final ProductImageRepository productImageRepository;
     private final ProductImageMapper productImageMapper;
+    private final ImageStore imageStore;
+    private final ProductImageRenditionService productImageRenditionService;
+    private final CacheManager cacheManager;
 
     public List<ProductImage> findAll() {
         log.info("Fetching all product images");
         return productImageRepository.findAll();
     }
 
-    public List<ProductImageDto> findAllDto() {
+    public List<ProductImageInfoDto> findAllDto() {
         log.info("Fetching all product image DTOs");
         List<ProductImage> productImages = productImageRepository.findAll();
-        List<ProductImageDto> productImageDtos = productImages.stream()
-                .map(productImageMapper::toDto)
+        List<ProductImageInfoDto> productImageDtos = productImages.stream()
+                .map(productImageMapper::toInfoDto)
                 .collect(Collectors.toList());
         log.info("Found product image DTOs: {}", productImageDtos);
         return productImageDtos;
@@ -46,10 +63,10 @@ public class ProductImageService {
         return productImageRepository.findById(id);
     }
 
-    public Optional<ProductImageDto> findByIdDto(Long id) {
+    public Optional<ProductImageInfoDto> findByIdDto(Long id) {
         log.info("Fetching product image DTO by id: {}", id);
-        Optional<ProductImageDto> productImageDto = productImageRepository.findById(id)
-                .map(productImageMapper::toDto);
+        Optional<ProductImageInfoDto> productImageDto = productImageRepository.findById(id)
+                .map(productImageMapper::toInfoDto);
         productImageDto.ifPresent(dto -> log.info("Found product image DTO: {}", dto));
         return productImageDto;
     }
@@ -59,68 +76,53 @@ public class ProductImageService {
         return productImageRepository.findAllBySomeProductId(id);
     }
 
-    public List<ProductImageDto> findAllByProductIdDto(Long id) {
-        log.info("Fetching all product image DTOs for product id: {}", id);
-        List<ProductImageDto> productImageDtos = findAllByProductId(id)
+    public List<ProductImageInfoDto> findAllInfoByProductId(Long id) {
+        log.info("Fetching product image metadata for product id: {}", id);
+        return productImageRepository.findInfoBySomeProductId(id)
                 .stream()
-                .map(productImageMapper::toDto)
+                .map(productImageMapper::toInfoDto)
                 .collect(Collectors.toList());
-        log.info("Found product image DTOs for product id {}: {}", id, productImageDtos);
-        return productImageDtos;
     }
 
     public Page<ProductImage> getPage(Integer page, Integer size) {
         log.info("Fetching product image page: page = {}, size = {}", page, size);
-        if (page == null || size == null) {
-            var productImages = findAll();
-            if (productImages.isEmpty()) {
-                log.info("No product images found.");
-                return Page.empty();
-            }
-            return new PageImpl<>(productImages);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid page or size parameters");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return productImageRepository.findAll(pageRequest);
     }
 
-    public Page<ProductImageDto> getPageDto(Integer page, Integer size) {
-        log.info("Fetching product image DTO page: page = {}, size = {}", page, size);
-        if (page == null || size == null) {
-            var productImages = findAllDto();
-            if (productImages.isEmpty()) {
-                log.info("No product image DTOs found.");
-                return Page.empty();
-            }
-            return new PageImpl<>(productImages);
-        }
-        if (page < 0 || size < 1) {
+    public Page<ProductImageInfoDto> getInfoPage(Integer page, Integer size) {
+        log.info("Fetching product image metadata page: page = {}, size = {}", page, size);
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("Invalid page or size parameters");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
-        Page<ProductImage> productImagePage = productImageRepository.findAll(pageRequest);
-        return productImagePage.map(productImageMapper::toDto);
+        return productImageRepository.findAllInfo(PagePolicy.of(page, size)).map(productImageMapper::toInfoDto);
     }
 
     @Transactional
     public ProductImage save(ProductImage productImage) {
         log.info("Saving product image: {}", productImage);
-        return productImageRepository.save(productImage);
+        ProductImage savedProductImage = productImageRepository.save(storeData(productImage));
+        productImageRenditionService.scheduleAfterCommit(savedProductImage);
+        evictProduct(savedProductImage);
+        return savedProductImage;
     }
 
-    public ProductImageDto saveDto(ProductImageDto productImageDto) {
+    public ProductImageInfoDto saveDto(ProductImageDto productImageDto) {
         log.info("Saving product image DTO: {}", productImageDto);
         if (productImageDto == null || (productImageDto.getProductId() == null && productImageDto.getName() == null && productImageDto.getData() == null)) {
             log.error("Invalid productImageDto: productImageDto cannot be null or have all fields null");
             throw new IllegalArgumentException("productImageDto cannot be null or have all fields null");
         }
         ProductImage productImage = productImageMapper.toEntity(productImageDto);
-        ProductImage savedProductImage = productImageRepository.save(productImage);
-        ProductImageDto savedProductImageDto = productImageMapper.toDto(savedProductImage);
+        ProductImage savedProductImage = productImageRepository.save(storeData(productImage));
+        productImageRenditionService.scheduleAfterCommit(savedProductImage);
+        evictProduct(savedProductImage);
+        ProductImageInfoDto savedProductImageDto = productImageMapper.toInfoDto(savedProductImage);
         log.info("Product image DTO saved: {}", savedProductImageDto);
         return savedProductImageDto;
     }
@@ -141,14 +143,16 @@ public class ProductImageService {
         }
         if (productImage.getData() != null) {
             currentImage.setData(productImage.getData());
+            storeData(currentImage);
         }
         ProductImage updatedImage = productImageRepository.save(currentImage);
+        productImageRenditionService.scheduleAfterCommit(updatedImage);
         log.info("Product image with id {} updated: {}", id, updatedImage);
         return Optional.of(updatedImage);
     }
 
     @Transactional
-    public Optional<ProductImageDto> updateDto(Long id, ProductImageDto productImageDto) {
+    public Optional<ProductImageInfoDto> updateDto(Long id, ProductImageDto productImageDto) {
         log.info("Updating product image DTO with id {}: {}", id, productImageDto);
         Optional<ProductImage> currentOptionalImage = findById(id);
 
@@ -165,10 +169,12 @@ public class ProductImageService {
 
         if (productImageDto.getData() != null) {
             currentImage.setData(productImageDto.getData());
+            storeData(currentImage);
         }
 
         ProductImage updatedImage = productImageRepository.save(currentImage);
-        ProductImageDto updatedProductImageDto = productImageMapper.toDto(updatedImage);
+        productImageRenditionService.scheduleAfterCommit(updatedImage);
+        ProductImageInfoDto updatedProductImageDto = productImageMapper.toInfoDto(updatedImage);
         log.info("Product image DTO with id {} updated: {}", id, updatedProductImageDto);
         return Optional.of(updatedProductImageDto);
     }
@@ -179,6 +185,7 @@ public class ProductImageService {
         Optional<ProductImage> foundProductImage = findById(id);
         if (foundProductImage.isPresent()) {
             productImageRepository.deleteById(id);
+            evictProduct(foundProductImage.get());
             log.info("Product image with id {} deleted", id);
         } else {
             log.warn("Product image with id {} not found", id);
@@ -187,13 +194,14 @@ public class ProductImageService {
     }
 
     @Transactional
-    public Optional<ProductImageDto> deleteDto(Long id) {
+    public Optional<ProductImageInfoDto> deleteDto(Long id) {
         log.info("Deleting product image DTO with id: {}", id);
         Optional<ProductImage> foundProductImage = findById(id);
         if (foundProductImage.isPresent()) {
             productImageRepository.deleteById(id);
+            evictProduct(foundProductImage.get());
             log.info("Product image DTO with id {} deleted", id);
-            return foundProductImage.map(productImageMapper::toDto);
+            return foundProductImage.map(productImageMapper::toInfoDto);
         } else {
             log.warn("Product image DTO with id {} not found", id);
             return Optional.empty();
@@ -203,22 +211,129 @@ public class ProductImageService {
     @Transactional
     public List<ProductImage> saveAll(List<ProductImage> imageList) {
         log.info("Saving all product images: {}", imageList);
+        imageList.forEach(this::storeData);
         List<ProductImage> savedImageList = productImageRepository.saveAll(imageList);
+        savedImageList.forEach(productImageRenditionService::scheduleAfterCommit);
+        savedImageList.forEach(this::evictProduct);
         log.info("Saved all product images: {}", savedImageList);
         return savedImageList;
     }
 
-    public List<ProductImageDto> saveAllDto(List<ProductImageDto> imageDtoList) {
+    /**
+     * Сохраняет загруженные файлы потоково: каждая часть multipart-запроса (Tomcat держит ее во временном
+     * файле) читается в {@link ImageStore} фиксированным буфером, в памяти остаются только метаданные.
+     * Прогресс пишется в лог после каждого файла.
+     */
+    @Transactional
+    public List<ProductImage> uploadAll(Product product, MultipartFile[] files) throws IOException {
+        long totalBytes = Arrays.stream(files).mapToLong(MultipartFile::getSize).sum();
+        long uploadedBytes = 0;
+        List<ProductImage> imageList = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
+            StoredImage storedImage;
+            try (InputStream inputStream = file.getInputStream()) {
+                storedImage = imageStore.put(inputStream);
+            }
+            var image = new ProductImage();
+            image.setSomeProduct(product);
+            image.setName(file.getOriginalFilename());
+            image.setContentHash(storedImage.getHash());
+            image.setContentType(storedImage.getContentType());
+            image.setSize(storedImage.getSize());
+            Optional<Dimension> dimensions = imageStore.get(storedImage.getHash())
+                    .flatMap(ImageUtils::readDimensions);
+            image.setWidth(dimensions.map(dimension -> dimension.width).orElse(null));
+            image.setHeight(dimensions.map(dimension -> dimension.height).orElse(null));
+            imageList.add(image);
+
+            uploadedBytes += storedImage.getSize();
+            log.info("uploadAll: Stored file {}/{} for product id {}: {} of {} bytes",
+                    i + 1, files.length, product.getId(), uploadedBytes, totalBytes);
+        }
+        List<ProductImage> savedImageList = productImageRepository.saveAll(imageList);
+        savedImageList.forEach(productImageRenditionService::scheduleAfterCommit);
+        savedImageList.forEach(this::evictProduct);
+        return savedImageList;
+    }
+
+    public List<ProductImageInfoDto> saveAllDto(List<ProductImageDto> imageDtoList) {
         log.info("Saving all product image DTOs: {}", imageDtoList);
         List<ProductImage> imageList = imageDtoList.stream()
                 .map(productImageMapper::toEntity)
+                .map(this::storeData)
                 .collect(Collectors.toList());
 
         List<ProductImage> savedImageList = productImageRepository.saveAll(imageList);
-        List<ProductImageDto> savedImageDtoList = savedImageList.stream()
-                .map(productImageMapper::toDto)
+        savedImageList.forEach(productImageRenditionService::scheduleAfterCommit);
+        savedImageList.forEach(this::evictProduct);
+        List<ProductImageInfoDto> savedImageDtoList = savedImageList.stream()
+                .map(productImageMapper::toInfoDto)
                 .collect(Collectors.toList());
         log.info("Saved all product image DTOs: {}", savedImageDtoList);
         return savedImageDtoList;
     }
+
+    /**
+     * @return содержимое изображения для потоковой отдачи, пусто если файла нет в хранилище.
+     */
+    public Optional<Resource> getContent(ProductImage productImage) {
+        if (productImage.getContentHash() == null) {
+            return Optional.empty();
+        }
+        return imageStore.get(productImage.getContentHash());
+    }
+
+    /**
+     * Возвращает изображение в запрошенном размере. Пока уменьшенная копия не готова (изображение только что
+     * загружено или сохранено до появления копий), отдается оригинал. Копии при чтении не создаются:
+     * их создает фоновая очередь после загрузки и разовый проход {@link ProductImageRenditionService#backfillAsync()}.
+     */
+    public Optional<ImageContent> getContent(ProductImage productImage, ImageRendition rendition) {
+        String renditionHash = switch (rendition) {
+            case THUMB -> productImage.getThumbHash();
+            case PREVIEW -> productImage.getPreviewHash();
+            case FULL -> productImage.getContentHash();
+        };
+        if (renditionHash != null && rendition != ImageRendition.FULL) {
+            Optional<ImageContent> content = imageStore.get(renditionHash)
+                    .map(resource -> new ImageContent(renditionHash, ImageUtils.detectContentType(resource), resource, false));
+            if (content.isPresent()) {
+                return content;
+            }
+        }
+        if (productImage.getContentHash() == null) {
+            return Optional.empty();
+        }
+        boolean fallback = rendition != ImageRendition.FULL;
+        return getContent(productImage).map(resource ->
+                new ImageContent(productImage.getContentHash(), productImage.getContentType(), resource, fallback));
+    }
+
+    private ProductImage storeData(ProductImage productImage) {
+        byte[] data = productImage.getData();
+        if (data != null) {
+            productImage.setContentHash(imageStore.put(data));
+            productImage.setContentType(ImageUtils.detectContentType(data));
+            productImage.setSize((long) data.length);
+            Optional<Dimension> dimensions = ImageUtils.readDimensions(data);
+            productImage.setWidth(dimensions.map(dimension -> dimension.width).orElse(null));
+            productImage.setHeight(dimensions.map(dimension -> dimension.height).orElse(null));
+            productImage.setThumbHash(null);
+            productImage.setPreviewHash(null);
+        }
+        return productImage;
+    }
+
+    /**
+     * Список изображений входит в кэшированную карточку продукта, поэтому добавление и удаление
+     * изображения сбрасывают ее.
+     */
+    private void evictProduct(ProductImage productImage) {
+        Product product = productImage.getSomeProduct();
+        Cache cache = cacheManager.getCache(CacheNames.PRODUCTS);
+        if (cache != null && product != null && product.getId() != null) {
+            cache.evict(product.getId());
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package com.gitlab.service;
+
+import com.gitlab.config.cache.CacheNames;
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.enums.ProductChangeType;
+import com.gitlab.mapper.ProductOutboxMapper;
+import com.gitlab.model.Product;
+import com.gitlab.model.ProductOutboxEvent;
+import com.gitlab.repository.ProductOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox изменений продуктов. События пишутся в той же транзакции, что и изменение продукта,
+ * вместе с индексируемыми полями продукта, и забираются search-service пачками в порядке (txid, id).
+ * Id выдается при вставке, а не при коммите, поэтому лента отдает события только завершенных транзакций:
+ * позиция потребителя не может обогнать событие, которое еще не закоммичено. Изменения одного продукта
+ * сериализуются блокировкой строки продукта, поэтому среди его событий актуально событие с большим id.
+ * Долгая транзакция задерживает выдачу всех более поздних событий до своего завершения.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductOutboxService {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final ProductOutboxMapper productOutboxMapper;
+
+    @Value("${product.outbox.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * Кроме события сбрасывает кэшированную карточку продукта: удаление выполняется после коммита.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#product.id", condition = "#product.id != null")
+    public void publish(Product product, ProductChangeType changeType) {
+        log.debug("publish: Product with id: {} {}", product.getId(), changeType);
+        LocalDateTime now = LocalDateTime.now();
+        if (productOutboxRepository.insertWithSnapshot(product.getId(), changeType.name(), now) == 0) {
+            ProductOutboxEvent event = new ProductOutboxEvent();
+            event.setProductId(product.getId());
+            event.setChangeType(changeType);
+            event.setCreateDateTime(now);
+            productOutboxRepository.save(event);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductChangeEventDto> getBatch(Long afterTxid, Long afterId, Integer size) {
+        long fromTxid = afterTxid == null ? 0L : afterTxid;
+        long fromId = afterId == null ? 0L : afterId;
+        int limit = (size == null || size < 1) ? MAX_BATCH_SIZE : Math.min(size, MAX_BATCH_SIZE);
+        List<ProductOutboxEvent> events = productOutboxRepository.findCommittedBatchAfter(fromTxid, fromId, limit);
+        log.debug("getBatch: Returning {} events after txid: {} id: {}", events.size(), fromTxid, fromId);
+        return productOutboxMapper.toDtoList(events);
+    }
+
+    /**
+     * Позиция, до которой все изменения продуктов уже видны в базе. Потребитель, построивший индекс
+     * по базе после получения позиции, продолжает чтение ленты с нее и не теряет изменений.
+     */
+    @Transactional(readOnly = true)
+    public ProductOutboxPositionDto getPosition() {
+        return new ProductOutboxPositionDto(productOutboxRepository.findOldestActiveTxid() - 1, Long.MAX_VALUE);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${product.outbox.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredEvents() {
+        int deleted = productOutboxRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        log.info("deleteExpiredEvents: Deleted {} product outbox events older than {} days", deleted, retentionDays);
+    }
+}
@@ -1,23 +1,38 @@
 package com.gitlab.service;
 
+import com.gitlab.config.cache.CacheNames;
+import com.gitlab.dto.ExportRowDto;
 import com.gitlab.dto.ProductDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
+import com.gitlab.enums.ProductSort;
 import com.gitlab.mapper.ProductMapper;
 import com.gitlab.model.Product;
-import com.gitlab.model.User;
 import com.gitlab.repository.ProductRepository;
+import com.gitlab.util.KeysetPagination;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.search.jpa.FullTextQuery;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static com.gitlab.util.ServiceUtils.updateFieldIfNotNull;
 
@@ -27,10 +42,11 @@ import static com.gitlab.util.ServiceUtils.updateFieldIfNotNull;
 @RequiredArgsConstructor
 public class ProductService {
 
-    private final FuzzySearchService fuzzySearchService;
+    private final ProductOutboxService productOutboxService;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
-    private final UserService userService;
+    private final AuthorizationService authorizationService;
+    private final ExportService exportService;
 
     @Transactional(readOnly = true)
     public List<ProductDto> findAll() {
@@ -61,7 +77,12 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    /**
+     * Карточка товара кэшируется. Любое изменение продукта, его отзывов и изображений сбрасывает запись:
+     * изменения продукта и отзывов проходят через {@link ProductOutboxService#publish}.
+     */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PRODUCTS, key = "#id", unless = "#result == null")
     public Optional<ProductDto> findByIdDto(Long id) {
         log.info("findByIdDto: id: {}", id);
         Optional<Product> currentOptionalProduct = productRepository.findById(id);
@@ -71,20 +92,11 @@ public class ProductService {
 
     public Page<ProductDto> getPage(Integer page, Integer size) {
         log.info("getPage: Page: {} Size: {}", page, size);
-        if (page == null || size == null) {
-            var products = findAll();
-            if (products.isEmpty()) {
-                log.warn("getPage: Page {} is empty", page);
-                return Page.empty();
-            }
-            log.info("getPage: Returning {} products for page number: {}, page size: {}", products.size(), page, size);
-            return new PageImpl<>(products);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("getPage: Page or size is not valid");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Product> productPage = productRepository.findAll(pageRequest);
 
         log.info("getPage: Returning {} products for page number: {}, page size: {}", productPage.getContent().size(), page, size);
@@ -93,23 +105,12 @@ public class ProductService {
 
     public Page<ProductDto> getPageByStoreId(Integer page, Integer size, Long storeId) {
         log.info("getPageByStoreId: StoreId: {} Page: {} Size: {}", storeId, page, size);
-        if (page == null || size == null) {
-            log.debug("getPageByStoreId: Page or Size is null. Fetching all products for StoreId: {}", storeId);
-            var products = findAllByStoreId(storeId);
-
-            if (products.isEmpty()) {
-                log.warn("No products found for storeId: {}. Returning empty page.", storeId);
-                return Page.empty();
-            }
-            log.debug("getPageByStoreId: Returning {} products for storeId: {}", products.size(), storeId);
-            return new PageImpl<>(products);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("getPageByStoreId: Page or size is not valid");
             return Page.empty();
         }
 
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Product> productPage;
         if (storeId != null) {
             log.info("getPageByStoreId: Fetching products for storeId: {}", storeId);
@@ -123,20 +124,111 @@ public class ProductService {
         return productPage.map(productMapper::toDto);
     }
 
+    /**
+     * Страница активных продуктов со средней оценкой не ниже {@code minRating} (без фильтра, если null)
+     * по рейтингу от высшего или по id. Рейтинг берется из агрегатов продукта, отзывы не загружаются.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDto> getPageByRating(Integer page, Integer size, Long storeId, BigDecimal minRating,
+                                            ProductSort sort) {
+        log.info("getPageByRating: StoreId: {} Page: {} Size: {} MinRating: {} Sort: {}", storeId, page, size, minRating, sort);
+        if (!PagePolicy.isValid(page, size)) {
+            log.warn("getPageByRating: Page or size is not valid");
+            return Page.empty();
+        }
+        Sort order = sort == ProductSort.RATING
+                ? Sort.by(Sort.Direction.DESC, Product.RATING_AVERAGE_FIELD).and(Sort.by("id"))
+                : Sort.by("id");
+        PageRequest pageRequest = PagePolicy.of(page, size).withSort(order);
+        BigDecimal rating = minRating == null ? BigDecimal.ZERO : minRating;
+        Page<Long> ids = storeId == null
+                ? productRepository.findIdsByRating(rating, pageRequest)
+                : productRepository.findIdsByStoreAndRating(storeId, rating, pageRequest);
+        Map<Long, Product> products = new HashMap<>();
+        if (ids.hasContent()) {
+            productRepository.findAllByIdInOrderById(ids.getContent())
+                    .forEach(product -> products.put(product.getId(), product));
+        }
+        log.info("getPageByRating: Returning {} products for page number: {}, page size: {}", ids.getNumberOfElements(), page, size);
+        return ids.map(id -> productMapper.toDto(products.get(id)));
+    }
+
+    /**
+     * Keyset-страница активных продуктов по возрастанию id. Общее число считается только при {@code count}.
+     */
+    @Transactional(readOnly = true)
+    public SliceDto<ProductDto> getSlice(String after, Integer size, Long storeId, boolean count) {
+        long afterId = KeysetPagination.decodeCursor(after);
+        Pageable pageable = KeysetPagination.pageable(size);
+        log.info("getSlice: After id: {} Size: {} StoreId: {}", afterId, pageable.getPageSize(), storeId);
+        Slice<Long> ids = storeId == null
+                ? productRepository.findIdsAfter(afterId, pageable)
+                : productRepository.findIdsByStoreAfter(storeId, afterId, pageable);
+        List<Product> products = ids.hasContent()
+                ? productRepository.findAllByIdInOrderById(ids.getContent())
+                : List.of();
+        Long totalElements = !count ? null
+                : storeId == null ? productRepository.countActive() : productRepository.countActiveByStore(storeId);
+        log.info("getSlice: Returning {} products after id: {}", products.size(), afterId);
+        return KeysetPagination.toDto(new SliceImpl<>(products, pageable, ids.hasNext()),
+                Product::getId, productMapper::toDto, totalElements);
+    }
+
+    /**
+     * Потоковая выгрузка продуктов в NDJSON по возрастанию id, каждая строка со статусом записи.
+     * Полная выгрузка содержит только активные продукты, инкрементальная - и удаленные.
+     *
+     * @param afterId продолжить после этого id (возобновление прерванной выгрузки), null - с начала.
+     * @param since   только измененные начиная с этого момента (водяной знак прошлой выгрузки), null - все.
+     */
+    @Transactional(readOnly = true)
+    public long exportDto(Long afterId, LocalDateTime since, OutputStream outputStream) throws IOException {
+        long after = afterId == null ? 0L : afterId;
+        log.info("exportDto: After id: {} Since: {}", after, since);
+        try (Stream<Product> products = since == null
+                ? productRepository.streamAllAfter(after)
+                : productRepository.streamUpdatedSince(since, after)) {
+            return exportService.writeNdjson(products,
+                    product -> new ExportRowDto<>(productMapper.toDto(product), product.getEntityStatus()), outputStream);
+        }
+    }
+
+    /**
+     * Сверяет агрегаты рейтинга с активными отзывами и исправляет разошедшиеся, например после правки
+     * отзывов в БД в обход сервиса.
+     */
+    @Scheduled(cron = "${product.rating.reconcile-cron:0 0 4 * * *}")
+    public void reconcileRatings() {
+        List<Long> ids = productRepository.findRatingMismatchIds();
+        if (ids.isEmpty()) {
+            log.info("reconcileRatings: Product rating aggregates are consistent");
+            return;
+        }
+        int updated = productRepository.recalculateRating(ids);
+        ids.forEach(id -> productOutboxService.publish(productRepository.getById(id), ProductChangeType.UPDATED));
+        log.warn("reconcileRatings: Recalculated rating aggregates of {} products: {}", updated, ids);
+    }
+
     public Optional<ProductDto> save(ProductDto productDto) {
         log.info("save: ProductDto: {}", productDto);
         Product product = productMapper.toEntity(productDto);
         product.setEntityStatus(EntityStatus.ACTIVE);
         Product savedProduct = productRepository.save(product);
+        productOutboxService.publish(savedProduct, ProductChangeType.CREATED);
         log.info("save: Returning product with id: {}", product.getId());
         return Optional.of(productMapper.toDto(savedProduct));
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#product.id", condition = "#product.id != null")
     public Product save(Product product) {
         log.info("save: Returning product with id: {}", product.getId());
-        return productRepository.save(product);
+        boolean isNew = product.getId() == null;
+        Product savedProduct = productRepository.save(product);
+        productOutboxService.publish(savedProduct, isNew ? ProductChangeType.CREATED : ProductChangeType.UPDATED);
+        return savedProduct;
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#id")
     public Optional<ProductDto> update(Long id, ProductDto productDto) {
         log.info("update: id: {} productDto: {}", id, productDto);
         Optional<Product> currentOptionalProduct = productRepository.findById(id);
@@ -162,10 +254,13 @@ public class ProductService {
 
         updateFieldIfNotNull(currentProduct::setPrice, productDto.getPrice());
 
+        Product updatedProduct = productRepository.save(currentProduct);
+        productOutboxService.publish(updatedProduct, ProductChangeType.UPDATED);
         log.info("update: Returning product with id: {}", currentProduct.getId());
-        return Optional.of(productMapper.toDto(productRepository.save(currentProduct)));
+        return Optional.of(productMapper.toDto(updatedProduct));
     }
 
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#id")
     public Optional<ProductDto> delete(Long id) {
         log.info("delete: id: {}", id);
         Optional<Product> foundProduct = productRepository.findById(id);
@@ -173,6 +268,7 @@ public class ProductService {
             log.info("delete: {}. Marking as deleted.", foundProduct.get());
             foundProduct.get().setEntityStatus(EntityStatus.DELETED);
             productRepository.save(foundProduct.get());
+            productOutboxService.publish(foundProduct.get(), ProductChangeType.DELETED);
         }
         return foundProduct.map(productMapper::toDto);
     }
@@ -182,90 +278,87 @@ public class ProductService {
         Product productEntity = productMapper.toEntity(productDto);
         productEntity.setEntityStatus(EntityStatus.ACTIVE);
         Product savedProduct = productRepository.save(productEntity);
+        productOutboxService.publish(savedProduct, ProductChangeType.CREATED);
         log.info("create: Returning ProductDto with id: {}", savedProduct.getId());
         return Optional.of(productMapper.toDto(savedProduct));
     }
 
-    public List<ProductDto> findByNameIgnoreCaseContaining(String name) throws InterruptedException {
-
-        FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(name);
-        List<Product> firstList = jpaQuery.getResultList();
-        List<Product> secondList = (List<Product>) productRepository.findByNameContainingIgnoreCase(name);
-
-        List<Product> mergedList = new ArrayList<>(firstList);
-
-        mergedList.removeAll(secondList);
-        mergedList.addAll(secondList);
-
-        return mergedList.stream().filter(mergedList1 -> mergedList1
-                        .getEntityStatus()
-                        .equals(EntityStatus.ACTIVE))
-                .map(productMapper::toDto).toList();
-    }
-
-    @Transactional(readOnly = true)
-    public Page<ProductDto> findByNameIgnoreCaseContaining(String name, Pageable pageable) throws InterruptedException {
-
-        FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(name);
-        jpaQuery.setFirstResult(pageable.getPageSize() * pageable.getPageNumber())
-                .setMaxResults(pageable.getPageSize());
-        Page<Product> fuzzyPage = new PageImpl<>(jpaQuery.getResultList(), pageable, jpaQuery.getResultSize());
-
-        return fuzzyPage.map(productMapper::toDto);
-    }
-
-
     public Optional<Product> addFavouriteProduct(Long productId) {
         log.info("addFavouriteProduct: Adding product to favorite with id: {}", productId);
-        User user = userService.getAuthenticatedUser();
         Optional<Product> productOptional = productRepository.findById(productId);
 
         if (productOptional.isEmpty()) {
             log.warn("No product found with id: {}.", productId);
             return Optional.empty();
         }
-        Product product = productOptional.get();
+        Long userId = authorizationService.getUserId();
 
-        if (!user.getFavouriteProducts().add(product)) {
+        if (productRepository.addFavourite(userId, productId) == 0) {
             log.warn("addFavouriteProduct: Product with id: {} is already exists in the favourite products.", productId);
             return Optional.empty();
         }
 
-        userService.save(user);
-
         log.info("addFavouriteProduct: product with id: {} is added to favourite", productId);
-        return Optional.of(product);
+        return productOptional;
     }
 
     public Optional<Product> removeFavouriteProduct(Long productId) {
         log.info("removeFavouriteProduct: Removing product with id: {} from favorite", productId);
-        User user = userService.getAuthenticatedUser();
         Optional<Product> productOptional = productRepository.findById(productId);
 
         if (productOptional.isEmpty()) {
             log.warn("removeFavouriteProduct: Product with id: {} not found", productId);
             return Optional.empty();
         }
-        Product product = productOptional.get();
+        Long userId = authorizationService.getUserId();
 
-        if (!user.getFavouriteProducts().remove(product)) {
+        if (productRepository.removeFavourite(userId, productId) == 0) {
             log.info("removeFavouriteProduct: Product with id: {} was not in the favourites", productId);
             return Optional.empty();
         }
-        userService.save(user);
 
         log.info("removeFavouriteProduct: Product with id: {} was removed from favourites", productId);
-        return Optional.of(product);
+        return productOptional;
     }
 
-    public List<ProductDto> getFavouriteProducts() {
-        log.info("getFavouriteProducts: Method started");
-        User user = userService.getAuthenticatedUser();
-
-        Set<Product> productSet = user.getFavouriteProducts();
-        List<Product> productList = new ArrayList<>(productSet);
+    /**
+     * Страница избранного аутентифицированного пользователя по возрастанию id продукта.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDto> getFavouriteProducts(Integer page, Integer size) {
+        log.info("getFavouriteProducts: Page: {} Size: {}", page, size);
+        if (!PagePolicy.isValid(page, size)) {
+            log.warn("getFavouriteProducts: Page or size is not valid");
+            return Page.empty();
+        }
+        Long userId = authorizationService.getUserId();
+        Page<Long> ids = productRepository.findFavouriteIds(userId, PagePolicy.of(page, size));
+        Map<Long, Product> products = new HashMap<>();
+        if (ids.hasContent()) {
+            productRepository.findAllByIdInOrderById(ids.getContent())
+                    .forEach(product -> products.put(product.getId(), product));
+        }
+        log.info("getFavouriteProducts: Returned {} favourite products for user with id: {}", ids.getNumberOfElements(), userId);
+        return ids.map(id -> productMapper.toDto(products.get(id)));
+    }
 
-        log.info("getFavouriteProducts: Returned {} favourite products for user with id: {}", productSet.size(), user.getId());
-        return productMapper.toDtoList(productList);
+    /**
+     * Какие из переданных продуктов в избранном у аутентифицированного пользователя, для отметок в карточках
+     * без загрузки самого избранного. Учитываются первые {@value PagePolicy#MAX_SIZE} id.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> getFavouriteIds(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> ids = productIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(PagePolicy.MAX_SIZE)
+                .toList();
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(productRepository.findFavouriteIds(authorizationService.getUserId(), ids));
     }
-}
\ No newline at end of file
+}
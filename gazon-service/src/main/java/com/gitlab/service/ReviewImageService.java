@@ -1,17 +1,24 @@
 package com.gitlab.service;
 
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.dto.ReviewImageUpdateDto;
 import com.gitlab.mapper.ReviewImageMapper;
+import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
 import com.gitlab.repository.ReviewImageRepository;
+import com.gitlab.util.ImageUtils;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,68 +31,56 @@ public class ReviewImageService {
 
     private final ReviewImageMapper reviewImageMapper;
 
+    private final ImageStore imageStore;
+
     public List<ReviewImage> findAll() {
         return reviewImageRepository.findAll();
     }
 
-    public List<ReviewImageDto> findAllDto() {
+    public List<ReviewImageInfoDto> findAllDto() {
         List<ReviewImage> reviewImages = reviewImageRepository.findAll();
-        return reviewImageMapper.toDtoList(reviewImages);
+        return reviewImages.stream().map(reviewImageMapper::toInfoDto).toList();
     }
 
     public Optional<ReviewImage> findById(Long id) {
         return reviewImageRepository.findById(id);
     }
 
-    public Optional<ReviewImageDto> findByIdDto(Long id) {
+    public Optional<ReviewImageInfoDto> findByIdDto(Long id) {
         Optional<ReviewImage> reviewImageOptional = reviewImageRepository.findById(id);
-        return reviewImageOptional.map(reviewImageMapper::toDto);
+        return reviewImageOptional.map(reviewImageMapper::toInfoDto);
     }
 
 
     public Page<ReviewImage> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var reviewImages = findAll();
-            if (reviewImages.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(reviewImages);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return reviewImageRepository.findAll(pageRequest);
     }
 
-    public Page<ReviewImageDto> getPageDto(Integer page, Integer size) {
+    public Page<ReviewImageInfoDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var reviewImages = findAllDto();
-            if (reviewImages.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(reviewImages);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<ReviewImage> reviewImagePage = reviewImageRepository.findAll(pageRequest);
-        return reviewImagePage.map(reviewImageMapper::toDto);
+        return reviewImagePage.map(reviewImageMapper::toInfoDto);
     }
 
     @Transactional
     public ReviewImage save(ReviewImage reviewImage) {
-        return reviewImageRepository.save(reviewImage);
+        return reviewImageRepository.save(storeData(reviewImage));
     }
 
     @Transactional
-    public ReviewImageDto saveDto(ReviewImageDto reviewImageDto) {
+    public ReviewImageInfoDto saveDto(ReviewImageDto reviewImageDto) {
         reviewImageDto.setId(null);
         ReviewImage reviewImage = reviewImageMapper.toEntity(reviewImageDto);
-        ReviewImage savedReviewImage = reviewImageRepository.save(reviewImage);
-        return reviewImageMapper.toDto(savedReviewImage);
+        ReviewImage savedReviewImage = reviewImageRepository.save(storeData(reviewImage));
+        return reviewImageMapper.toInfoDto(savedReviewImage);
     }
 
     @Transactional
@@ -102,12 +97,13 @@ public class ReviewImageService {
         }
         if (reviewImage.getData() != null) {
             currentReviewImage.setData(reviewImage.getData());
+            storeData(currentReviewImage);
         }
         return Optional.of(reviewImageRepository.save(currentReviewImage));
     }
 
     @Transactional
-    public Optional<ReviewImageDto> updateDto(Long id, ReviewImageUpdateDto reviewImageUpdateDto) {
+    public Optional<ReviewImageInfoDto> updateDto(Long id, ReviewImageUpdateDto reviewImageUpdateDto) {
         Optional<ReviewImage> imageOptional = findById(id);
         if (imageOptional.isEmpty()) {
             return Optional.empty();
@@ -120,11 +116,12 @@ public class ReviewImageService {
         }
         if (reviewImageUpdateDto.getData() != null) {
             currentReviewImage.setData(reviewImageUpdateDto.getData());
+            storeData(currentReviewImage);
         }
 
         ReviewImage updatedReviewImage = reviewImageRepository.save(currentReviewImage);
 
-        return Optional.of(reviewImageMapper.toDto(updatedReviewImage));
+        return Optional.of(reviewImageMapper.toInfoDto(updatedReviewImage));
     }
 
     @Transactional
@@ -137,23 +134,68 @@ public class ReviewImageService {
     }
 
     @Transactional
-    public Optional<ReviewImageDto> deleteDto(Long id) {
+    public Optional<ReviewImageInfoDto> deleteDto(Long id) {
         Optional<ReviewImage> imageOptional = findById(id);
         if (imageOptional.isPresent()) {
             reviewImageRepository.deleteById(id);
-            return Optional.of(reviewImageMapper.toDto(imageOptional.get()));
+            return Optional.of(reviewImageMapper.toInfoDto(imageOptional.get()));
         }
         return Optional.empty();
     }
 
     @Transactional
     public List<ReviewImage> saveAll(List<ReviewImage> imageList) {
+        imageList.forEach(this::storeData);
+        return reviewImageRepository.saveAll(imageList);
+    }
+
+    /**
+     * Сохраняет загруженные файлы потоково, см. {@link ProductImageService#uploadAll}.
+     */
+    @Transactional
+    public List<ReviewImage> uploadAll(Review review, MultipartFile[] files) throws IOException {
+        List<ReviewImage> imageList = new ArrayList<>(files.length);
+        for (MultipartFile file : files) {
+            StoredImage storedImage;
+            try (InputStream inputStream = file.getInputStream()) {
+                storedImage = imageStore.put(inputStream);
+            }
+            var image = new ReviewImage();
+            image.setReview(review);
+            image.setName(file.getOriginalFilename());
+            image.setContentHash(storedImage.getHash());
+            image.setContentType(storedImage.getContentType());
+            image.setSize(storedImage.getSize());
+            imageList.add(image);
+        }
         return reviewImageRepository.saveAll(imageList);
     }
 
     @Transactional
     public List<ReviewImage> saveAllDto(List<ReviewImageDto> imageDtoList) {
         List<ReviewImage> imageList = reviewImageMapper.toEntityList(imageDtoList);
+        imageList.forEach(this::storeData);
         return reviewImageRepository.saveAll(imageList);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return содержимое изображения для потоковой отдачи, пусто если файла нет в хранилище.
+     */
+    public Optional<ImageContent> getContent(ReviewImage reviewImage) {
+        if (reviewImage.getContentHash() == null) {
+            return Optional.empty();
+        }
+        return imageStore.get(reviewImage.getContentHash()).map(resource ->
+                new ImageContent(reviewImage.getContentHash(), reviewImage.getContentType(), resource, false));
+    }
+
+    private ReviewImage storeData(ReviewImage reviewImage) {
+        byte[] data = reviewImage.getData();
+        if (data != null) {
+            reviewImage.setContentHash(imageStore.put(data));
+            reviewImage.setContentType(ImageUtils.detectContentType(data));
+            reviewImage.setSize((long) data.length);
+        }
+        return reviewImage;
+    }
+}
@@ -1,22 +1,33 @@
 package com.gitlab.service;
 
+import com.gitlab.dto.ExportRowDto;
 import com.gitlab.dto.ReviewDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
 import com.gitlab.mapper.ReviewMapper;
+import com.gitlab.model.Product;
 import com.gitlab.model.Review;
+import com.gitlab.repository.ProductRepository;
 import com.gitlab.repository.ReviewRepository;
 import com.gitlab.repository.UserRepository;
+import com.gitlab.util.KeysetPagination;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -25,8 +36,11 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ProductService productService;
+    private final ProductRepository productRepository;
     private final ReviewMapper reviewMapper;
     private final UserRepository userRepository;
+    private final ProductOutboxService productOutboxService;
+    private final ExportService exportService;
 
     public List<Review> findAll() {
         return reviewRepository.findAll();
@@ -66,41 +80,56 @@ public class ReviewService {
     }
 
     public Page<Review> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var reviews = findAll();
-            if (reviews.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(reviews);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return reviewRepository.findAll(pageRequest);
     }
 
     public Page<ReviewDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var reviews = findAllDto();
-            if (reviews.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(reviews);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Review> reviewPage = reviewRepository.findAll(pageRequest);
         return reviewPage.map(reviewMapper::toDto);
     }
 
+    /**
+     * Keyset-страница активных отзывов по возрастанию id. Общее число считается только при {@code count}.
+     */
+    public SliceDto<ReviewDto> getSliceDto(String after, Integer size, boolean count) {
+        Pageable pageable = KeysetPagination.pageable(size);
+        return KeysetPagination.toDto(reviewRepository.findAllAfter(KeysetPagination.decodeCursor(after), pageable),
+                Review::getId, reviewMapper::toDto, count ? reviewRepository.countActive() : null);
+    }
+
+    /**
+     * Потоковая выгрузка отзывов в NDJSON по возрастанию id, каждая строка со статусом записи.
+     * Полная выгрузка содержит только активные отзывы, инкрементальная - и удаленные.
+     *
+     * @param afterId продолжить после этого id (возобновление прерванной выгрузки), null - с начала.
+     * @param since   только измененные начиная с этого момента (водяной знак прошлой выгрузки), null - все.
+     */
+    public long exportDto(Long afterId, LocalDateTime since, OutputStream outputStream) throws IOException {
+        long after = afterId == null ? 0L : afterId;
+        try (Stream<Review> reviews = since == null
+                ? reviewRepository.streamAllAfter(after)
+                : reviewRepository.streamUpdatedSince(since, after)) {
+            return exportService.writeNdjson(reviews,
+                    review -> new ExportRowDto<>(reviewMapper.toDto(review), review.getEntityStatus()), outputStream);
+        }
+    }
+
     @Transactional
     public Review save(Review review) {
         review.setEntityStatus(EntityStatus.ACTIVE);
-        return reviewRepository.save(review);
+        Review savedReview = reviewRepository.save(review);
+        updateProductRating(savedReview.getProduct(), 0, ratingOf(savedReview));
+        publishProductRatingChange(savedReview);
+        return savedReview;
     }
 
     @Transactional
@@ -108,6 +137,8 @@ public class ReviewService {
         Review review = reviewMapper.toEntity(reviewDto);
         review.setEntityStatus(EntityStatus.ACTIVE);
         Review savedReview = reviewRepository.save(review);
+        updateProductRating(savedReview.getProduct(), 0, ratingOf(savedReview));
+        publishProductRatingChange(savedReview);
         return reviewMapper.toDto(savedReview);
     }
 
@@ -115,10 +146,12 @@ public class ReviewService {
     public Optional<Review> update(Long id, Review review) {
         Optional<Review> reviewOptional = reviewRepository.findById(id);
         Review currentReview;
+        int previousRating;
         if (reviewOptional.isEmpty()) {
             return reviewOptional;
         } else {
             currentReview = reviewOptional.get();
+            previousRating = ratingOf(currentReview);
             currentReview.setEntityStatus(EntityStatus.ACTIVE);
         }
         if (review.getPros() != null) {
@@ -142,7 +175,10 @@ public class ReviewService {
         if (review.getUser() != null) {
             currentReview.setUser(review.getUser());
         }
-        return Optional.of(reviewRepository.save(currentReview));
+        Review updatedReview = reviewRepository.save(currentReview);
+        updateProductRating(updatedReview.getProduct(), previousRating, ratingOf(updatedReview));
+        publishProductRatingChange(updatedReview);
+        return Optional.of(updatedReview);
     }
 
     @Transactional
@@ -153,6 +189,7 @@ public class ReviewService {
         }
 
         Review currentReview = reviewOptional.get();
+        int previousRating = ratingOf(currentReview);
         if (reviewDto.getPros() != null) {
             currentReview.setPros(reviewDto.getPros());
         }
@@ -176,6 +213,8 @@ public class ReviewService {
         }
 
         Review updatedReview = reviewRepository.save(currentReview);
+        updateProductRating(updatedReview.getProduct(), previousRating, ratingOf(updatedReview));
+        publishProductRatingChange(updatedReview);
         return Optional.of(reviewMapper.toDto(updatedReview));
     }
 
@@ -186,8 +225,10 @@ public class ReviewService {
             return Optional.empty();
         }
         Review deletedReview = optionalDeletedReview.get();
+        updateProductRating(deletedReview.getProduct(), ratingOf(deletedReview), 0);
         deletedReview.setEntityStatus(EntityStatus.DELETED);
         reviewRepository.save(deletedReview);
+        publishProductRatingChange(deletedReview);
         return optionalDeletedReview;
     }
 
@@ -198,4 +239,33 @@ public class ReviewService {
 
         return reviewRepository.countReviewByProduct_IdAndEntityStatus(id, EntityStatus.ACTIVE);
     }
-}
\ No newline at end of file
+
+    /**
+     * Оценка, которую отзыв вносит в агрегаты рейтинга продукта: 0, если отзыв не активен или без оценки.
+     */
+    private static int ratingOf(Review review) {
+        return review.getEntityStatus() == EntityStatus.ACTIVE && review.getRating() != null ? review.getRating() : 0;
+    }
+
+    /**
+     * Переносит в агрегаты продукта замену вклада отзыва {@code previousRating} на {@code newRating}
+     * одним атомарным UPDATE. Оценки начинаются с 1, поэтому 0 означает отсутствие вклада.
+     */
+    private void updateProductRating(Product product, int previousRating, int newRating) {
+        int countDelta = (newRating > 0 ? 1 : 0) - (previousRating > 0 ? 1 : 0);
+        if (product == null || product.getId() == null || (newRating == previousRating && countDelta == 0)) {
+            return;
+        }
+        productRepository.addRating(product.getId(), (long) newRating - previousRating, countDelta);
+    }
+
+    /**
+     * Средний рейтинг продукта индексируется в search-service, поэтому изменение отзыва
+     * публикуется как изменение продукта.
+     */
+    private void publishProductRatingChange(Review review) {
+        if (review != null && review.getProduct() != null) {
+            productOutboxService.publish(review.getProduct(), ProductChangeType.UPDATED);
+        }
+    }
+}
@@ -5,11 +5,11 @@ import com.gitlab.enums.EntityStatus;
 import com.gitlab.mapper.RoleMapper;
 import com.gitlab.model.Role;
 import com.gitlab.repository.RoleRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -54,33 +54,19 @@ public class RoleService {
     }
 
     public Page<Role> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var roles = findAll();
-            if (roles.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(roles);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return roleRepository.findAll(pageRequest);
     }
 
     public Page<RoleDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var roles = findAllActiveDto();
-            if (roles.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(roles);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Role> rolePage = roleRepository.findAll(pageRequest);
         return rolePage.map(roleMapper::toDto);
     }
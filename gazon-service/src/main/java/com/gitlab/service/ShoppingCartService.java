@@ -4,10 +4,10 @@ import com.gitlab.dto.ShoppingCartDto;
 import com.gitlab.mapper.ShoppingCartMapper;
 import com.gitlab.model.ShoppingCart;
 import com.gitlab.repository.ShoppingCartRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,33 +40,19 @@ public class ShoppingCartService {
     }
 
     public Page<ShoppingCart> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var shoppingCarts = findAll();
-            if (shoppingCarts.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(shoppingCarts);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return shoppingCartRepository.findAll(pageRequest);
     }
 
     public Page<ShoppingCartDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var shoppingCarts = findAllDto();
-            if (shoppingCarts.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(shoppingCarts);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<ShoppingCart> shoppingCartPage = shoppingCartRepository.findAll(pageRequest);
         return shoppingCartPage.map(shoppingCartMapper::toDto);
     }
@@ -1,14 +1,17 @@
 package com.gitlab.service;
 
+import com.gitlab.config.cache.CacheNames;
 import com.gitlab.dto.StoreDto;
 import com.gitlab.enums.EntityStatus;
 import com.gitlab.mapper.StoreMapper;
 import com.gitlab.model.Store;
 import com.gitlab.repository.StoreRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +32,7 @@ public class StoreService {
         return storeMapper.toDtoList(storeRepository.findAll());
     }
 
+    @Cacheable(cacheNames = CacheNames.STORES, key = "#id", unless = "#result == null")
     public Optional<StoreDto> findById(Long id) {
         Optional<Store> optionalStore = storeRepository.findById(id);
         if (optionalStore.isPresent() && optionalStore.get().getEntityStatus().equals(EntityStatus.DELETED)) {
@@ -39,17 +43,10 @@ public class StoreService {
 
     public Page<StoreDto> getPage(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var stores = findAll();
-            if (stores.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(stores);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<Store> storePage = storeRepository.findAll(pageRequest);
         return storePage.map(storeMapper::toDto);
     }
@@ -77,6 +74,7 @@ public class StoreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.STORES, key = "#id")
     public Optional<StoreDto> update(Long id, StoreDto storeDto) {
         Optional<Store> optionalSavedStore = storeRepository.findById(id);
         if (optionalSavedStore.isEmpty()) {
@@ -84,11 +82,8 @@ public class StoreService {
         }
         Store savedStore = optionalSavedStore.get();
         savedStore.setEntityStatus(EntityStatus.ACTIVE);
-        if (storeDto.getOwnerId() != null) {
-            savedStore.setOwner(storeMapper.mapOwnerIdToUser(storeDto.getOwnerId()));
-        }
-        if (storeDto.getManagersId() != null) {
-            savedStore.setManagers(storeMapper.mapUserToLong(storeDto.getManagersId()));
+        if (storeDto.getOwnerId() != null || storeDto.getManagersId() != null) {
+            storeMapper.updateUsers(storeDto, savedStore);
         }
 
         Store updatedStore = storeRepository.save(savedStore);
@@ -97,6 +92,7 @@ public class StoreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.STORES, key = "#id")
     public Optional<StoreDto> delete(Long id) {
         Optional<Store> optionalDeletedStore = storeRepository.findById(id);
         if (optionalDeletedStore.isEmpty() || optionalDeletedStore.get().getEntityStatus().equals(EntityStatus.DELETED)) {
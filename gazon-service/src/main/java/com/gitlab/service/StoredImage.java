@@ -0,0 +1,13 @@
+package com.gitlab.service;
+
+import lombok.Value;
+
+/**
+ * Результат потоковой записи в {@link ImageStore}: хэш, тип и размер исходного содержимого.
+ */
+@Value
+public class StoredImage {
+    String hash;
+    String contentType;
+    long size;
+}
@@ -1,6 +1,7 @@
 package com.gitlab.service;
 
 import com.gitlab.dto.ShoppingCartDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.dto.UserDto;
 import com.gitlab.enums.EntityStatus;
 import com.gitlab.exception.handler.UserNotAuthenticatedException;
@@ -9,13 +10,16 @@ import com.gitlab.mapper.PassportMapper;
 import com.gitlab.mapper.UserMapper;
 import com.gitlab.model.*;
 import com.gitlab.repository.UserRepository;
+import com.gitlab.util.KeysetPagination;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -37,6 +41,7 @@ import static com.gitlab.util.ServiceUtils.updateFieldIfNotNull;
 public class UserService implements Cloneable {
 
     private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     private final UserMapper userMapper;
     private final BankCardMapper bankCardMapper;
@@ -48,11 +53,14 @@ public class UserService implements Cloneable {
         this.shoppingCartService = shoppingCartService;
     }
 
+    /**
+     * Повторные вызовы в одном запросе не обращаются к базе, см. {@link AuthenticatedUserCache}.
+     */
     public User getAuthenticatedUser() {
         log.info("getAuthenticatedUser");
         var authenticationToken = SecurityContextHolder.getContext().getAuthentication();
         log.info("getAuthenticatedUser: Returning user with username: {}", authenticationToken.getName());
-        return userRepository.findByUsername(authenticationToken.getName())
+        return authenticatedUserCache.get(authenticationToken.getName())
                 .orElseThrow(() -> new UserNotAuthenticatedException(HttpStatus.UNAUTHORIZED, "Пользователь не аутентифицирован"));
     }
 
@@ -89,40 +97,34 @@ public class UserService implements Cloneable {
 
     public Page<User> getPage(Integer page, Integer size) {
         log.info("getPage: Page: {} Size: {}", page, size);
-        if (page == null || size == null) {
-            var users = findAll();
-            if (users.isEmpty()) {
-                log.warn("getPage: Page is empty");
-                return Page.empty();
-            }
-            log.warn("getPage: Returning {} users for page number: {}, page size: {}", users.size(), page, size);
-            return new PageImpl<>(users);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("getPage: Page or size is not valid");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         log.info("getPage: Returning {} users for page number: {}, page size: {}", userRepository.count(), page, size);
         return userRepository.findAll(pageRequest);
     }
 
+    /**
+     * Keyset-страница активных пользователей по возрастанию id. Общее число считается только при {@code count}.
+     */
+    @Transactional(readOnly = true)
+    public SliceDto<UserDto> getSliceDto(String after, Integer size, boolean count) {
+        long afterId = KeysetPagination.decodeCursor(after);
+        Pageable pageable = KeysetPagination.pageable(size);
+        log.info("getSliceDto: After id: {} Size: {}", afterId, pageable.getPageSize());
+        Slice<User> users = userRepository.findAllAfter(afterId, pageable);
+        return KeysetPagination.toDto(users, User::getId, userMapper::toDto, count ? userRepository.countActive() : null);
+    }
+
     public Page<UserDto> getPageDto(Integer page, Integer size) {
         log.info("getPageDto: Page: {} Size: {}", page, size);
-        if (page == null || size == null) {
-            var users = findAllDto();
-            if (users.isEmpty()) {
-                log.warn("getPageDto: Page is empty");
-                return Page.empty();
-            }
-            log.warn("getPageDto: Returning {} users for page number: {}, page size: {}", users.size(), page, size);
-            return new PageImpl<>(users);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             log.warn("getPageDto: page or size is not valid");
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<User> userPage = userRepository.findAll(pageRequest);
         log.info("getPageDto: Returning {} users for page number: {}, page size: {}", userPage.getContent().size(), page, size);
         return userPage.map(userMapper::toDto);
@@ -184,6 +186,7 @@ public class UserService implements Cloneable {
 
         savedUser.setEntityStatus(EntityStatus.ACTIVE);
         savedUser.getPassport().setEntityStatus(EntityStatus.ACTIVE);
+        authenticatedUserCache.evict(savedUser.getUsername());
         log.info("update: Returning user with id: {}", savedUser.getId());
         return Optional.of(userRepository.save(savedUser));
     }
@@ -200,6 +203,7 @@ public class UserService implements Cloneable {
         User deletedUser = optionalDeletedUser.get();
         deletedUser.setEntityStatus(EntityStatus.DELETED);
         userRepository.save(deletedUser);
+        authenticatedUserCache.evict(deletedUser.getUsername());
         log.info("delete: User with id: {} is deleted", id);
         return optionalDeletedUser;
     }
@@ -216,6 +220,7 @@ public class UserService implements Cloneable {
 
         updateUserFields(savedUser, userDto, bankCardMapper);
         User updatedUser = userRepository.save(savedUser);
+        authenticatedUserCache.evict(savedUser.getUsername());
         log.info("updateDto: Returning user with id: {}", id);
         return Optional.of(userMapper.toDto(updatedUser));
     }
@@ -232,6 +237,7 @@ public class UserService implements Cloneable {
         User deletedUser = optionalUser.get();
         deletedUser.setEntityStatus(EntityStatus.DELETED);
         userRepository.save(deletedUser);
+        authenticatedUserCache.evict(deletedUser.getUsername());
         log.info("deleteDto: User with id: {} is deleted", id);
         return userMapper.toDto(optionalUser.get());
     }
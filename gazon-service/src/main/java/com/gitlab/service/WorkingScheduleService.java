@@ -4,9 +4,9 @@ import com.gitlab.dto.WorkingScheduleDto;
 import com.gitlab.mapper.WorkingScheduleMapper;
 import com.gitlab.model.WorkingSchedule;
 import com.gitlab.repository.WorkingScheduleRepository;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -43,33 +43,19 @@ public class WorkingScheduleService {
     }
 
     public Page<WorkingSchedule> getPage(Integer page, Integer size) {
-        if (page == null || size == null) {
-            var workingSchedules = findAll();
-            if (workingSchedules.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(workingSchedules);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         return workingScheduleRepository.findAll(pageRequest);
     }
 
     public Page<WorkingScheduleDto> getPageDto(Integer page, Integer size) {
 
-        if (page == null || size == null) {
-            var workingSchedules = findAllDto();
-            if (workingSchedules.isEmpty()) {
-                return Page.empty();
-            }
-            return new PageImpl<>(workingSchedules);
-        }
-        if (page < 0 || size < 1) {
+        if (!PagePolicy.isValid(page, size)) {
             return Page.empty();
         }
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PagePolicy.of(page, size);
         Page<WorkingSchedule> workingSchedulePage = workingScheduleRepository.findAll(pageRequest);
         return workingSchedulePage.map(workingScheduleMapper::toDto);
     }
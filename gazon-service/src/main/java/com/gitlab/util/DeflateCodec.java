@@ -0,0 +1,137 @@
+package com.gitlab.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Сжатие Deflate (формат zlib) с переиспользованием {@link Deflater} и {@link Inflater}.
+ * Каждый экземпляр держит нативный буфер zlib, поэтому они берутся из ограниченного пула и возвращаются
+ * после {@code reset()}; если пул полон, лишний экземпляр сразу освобождается через {@code end()}.
+ * Рабочий буфер один на поток.
+ */
+@UtilityClass
+public class DeflateCodec {
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    public static byte[] deflate(byte[] data) {
+        Deflater deflater = borrow(DEFLATERS, Deflater::new);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            var outputStream = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = BUFFERS.get();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.reset();
+            release(DEFLATERS, deflater, Deflater::end);
+        }
+    }
+
+    /**
+     * @throws DataFormatException если данные не в формате zlib, обрезаны или после потока есть лишние байты.
+     */
+    public static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = borrow(INFLATERS, Inflater::new);
+        try {
+            inflater.setInput(data);
+            var outputStream = new ByteArrayOutputStream(data.length * 2);
+            byte[] buffer = BUFFERS.get();
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflate stream");
+                }
+                outputStream.write(buffer, 0, count);
+            }
+            if (inflater.getRemaining() != 0) {
+                throw new DataFormatException("Unexpected data after deflate stream");
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inflater.reset();
+            release(INFLATERS, inflater, Inflater::end);
+        }
+    }
+
+    /**
+     * Сжимает поток на лету. {@link Deflater} возвращается в пул при закрытии потока.
+     */
+    public static OutputStream deflatingStream(OutputStream outputStream) {
+        Deflater deflater = borrow(DEFLATERS, Deflater::new);
+        return new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    deflater.reset();
+                    release(DEFLATERS, deflater, Deflater::end);
+                }
+            }
+        };
+    }
+
+    /**
+     * Распаковывает поток на лету. {@link Inflater} возвращается в пул при закрытии потока.
+     */
+    public static InputStream inflatingStream(InputStream inputStream) {
+        Inflater inflater = borrow(INFLATERS, Inflater::new);
+        return new InflaterInputStream(inputStream, inflater, BUFFER_SIZE) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    inflater.reset();
+                    release(INFLATERS, inflater, Inflater::end);
+                }
+            }
+        };
+    }
+
+    private static <T> T borrow(BlockingQueue<T> pool, Supplier<T> factory) {
+        T instance = pool.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    private static <T> void release(BlockingQueue<T> pool, T instance, Consumer<T> end) {
+        if (!pool.offer(instance)) {
+            end.accept(instance);
+        }
+    }
+}
@@ -1,58 +1,132 @@
 package com.gitlab.util;
 
-import com.gitlab.dto.ProductImageDto;
-import com.gitlab.dto.ReviewImageDto;
 import lombok.experimental.UtilityClass;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 
-import java.io.ByteArrayOutputStream;
-import java.util.zip.Deflater;
-import java.util.zip.Inflater;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
 
 @UtilityClass
 public class ImageUtils {
 
-    public static byte[] compressImage(byte[] data) {
-        var deflater = new Deflater();
-        deflater.setLevel(Deflater.BEST_COMPRESSION);
-        deflater.setInput(data);
-        deflater.finish();
+    /**
+     * Определяет тип изображения по сигнатуре файла.
+     */
+    public static String detectContentType(byte[] data) {
+        if (startsWith(data, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(data, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(data, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (startsWith(data, 'R', 'I', 'F', 'F') && data.length >= 12
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return "image/webp";
+        }
+        if (startsWith(data, 'B', 'M')) {
+            return "image/bmp";
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
 
-        var outputStream = new ByteArrayOutputStream(data.length);
-        byte[] tmp = new byte[4 * 1024];
-        while (!deflater.finished()) {
-            int size = deflater.deflate(tmp);
-            outputStream.write(tmp, 0, size);
+    /**
+     * Определяет тип изображения по первым байтам файла, не читая его целиком.
+     */
+    public static String detectContentType(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return detectContentType(inputStream.readNBytes(12));
+        } catch (IOException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
         }
-        try {
-            outputStream.close();
-        } catch (Exception ignored) {
+    }
+
+    /**
+     * Читает размеры изображения из заголовка файла, не декодируя пиксели.
+     *
+     * @return пусто, если формат не поддерживается ImageIO.
+     */
+    public static Optional<Dimension> readDimensions(byte[] data) {
+        return readDimensions(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Читает размеры изображения из заголовка файла в хранилище, не загружая файл целиком.
+     */
+    public static Optional<Dimension> readDimensions(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return readDimensions(inputStream);
+        } catch (IOException e) {
+            return Optional.empty();
         }
-        return outputStream.toByteArray();
     }
 
-    public static byte[] decompressImage(byte[] data) {
-        var inflater = new Inflater();
-        inflater.setInput(data);
-        var outputStream = new ByteArrayOutputStream(data.length);
-        byte[] tmp = new byte[4 * 1024];
-        try {
-            while (!inflater.finished()) {
-                int count = inflater.inflate(tmp);
-                outputStream.write(tmp, 0, count);
+    private static Optional<Dimension> readDimensions(InputStream source) {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(source)) {
+            if (inputStream == null) {
+                return Optional.empty();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(inputStream, true, true);
+                return Optional.of(new Dimension(reader.getWidth(0), reader.getHeight(0)));
+            } finally {
+                reader.dispose();
             }
-            outputStream.close();
-        } catch (Exception ignored) {
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
         }
-        return outputStream.toByteArray();
     }
 
-    public static ProductImageDto decompressAndReturnDto(ProductImageDto productImageDto) {
-        productImageDto.setData(decompressImage(productImageDto.getData()));
-        return productImageDto;
+    /**
+     * Раньше изображения, загруженные файлами, хранились в БД сжатыми Deflate, а созданные через DTO - как есть.
+     * Возвращает исходное содержимое для обоих вариантов.
+     */
+    public static byte[] decodeLegacyImage(byte[] data) {
+        if (data.length < 2 || (data[0] & 0x0F) != 8 || ((data[0] & 0xFF) << 8 | (data[1] & 0xFF)) % 31 != 0) {
+            return data;
+        }
+        try {
+            return DeflateCodec.inflate(data);
+        } catch (DataFormatException e) {
+            return data;
+        }
     }
 
-    public static ReviewImageDto reviewImageDtoDecompressed(ReviewImageDto reviewImageDto) {
-        reviewImageDto.setData(decompressImage(reviewImageDto.getData()));
-        return reviewImageDto;
+    /**
+     * Форматы, которые уже сжаты внутри файла: повторное сжатие Deflate почти ничего не дает.
+     */
+    public static boolean isCompressedFormat(String contentType) {
+        return MediaType.IMAGE_JPEG_VALUE.equals(contentType)
+                || MediaType.IMAGE_PNG_VALUE.equals(contentType)
+                || MediaType.IMAGE_GIF_VALUE.equals(contentType)
+                || "image/webp".equals(contentType);
+    }
+
+    private static boolean startsWith(byte[] data, int... signature) {
+        if (data == null || data.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.gitlab.util;
+
+import com.gitlab.dto.SliceDto;
+import com.gitlab.exception.handler.InvalidPageCursorException;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset-пагинация по возрастанию id: страница выбирается условием {@code id > after} с LIMIT size + 1,
+ * поэтому время ответа не зависит от глубины страницы, а лишняя строка показывает, есть ли следующая.
+ * Курсор непрозрачен для клиента, чтобы позже можно было сменить ключ сортировки без смены API.
+ */
+@UtilityClass
+public class KeysetPagination {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    /**
+     * @return id, после которого начинается страница; 0 для первой страницы.
+     * @throws InvalidPageCursorException если курсор поврежден.
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!position.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidPageCursorException();
+            }
+            long id = Long.parseLong(position.substring(CURSOR_PREFIX.length()));
+            if (id < 0) {
+                throw new InvalidPageCursorException();
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageCursorException();
+        }
+    }
+
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Размер страницы по правилам {@link PagePolicy}, порядок задается в самом запросе.
+     */
+    public static Pageable pageable(Integer size) {
+        return PageRequest.of(0, PagePolicy.size(size));
+    }
+
+    /**
+     * @param totalElements общее число записей или null, если подсчет не запрашивался.
+     */
+    public static <T, D> SliceDto<D> toDto(Slice<T> slice, Function<T, Long> idExtractor,
+                                           Function<T, D> mapper, Long totalElements) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? encodeCursor(idExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return new SliceDto<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor, totalElements);
+    }
+}
@@ -0,0 +1,8 @@
+CREATE TABLE product_outbox (
+                                id BIGSERIAL PRIMARY KEY,
+                                product_id BIGINT NOT NULL,
+                                change_type VARCHAR(255) NOT NULL,
+                                create_date_time TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_product_outbox_create_date_time ON product_outbox (create_date_time);
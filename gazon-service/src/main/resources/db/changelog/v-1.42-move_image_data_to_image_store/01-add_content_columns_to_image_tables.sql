@@ -0,0 +1,14 @@
+ALTER TABLE product_image
+    ADD COLUMN content_hash VARCHAR(64),
+    ADD COLUMN content_type VARCHAR(255),
+    ADD COLUMN size         BIGINT,
+    ALTER COLUMN data DROP NOT NULL;
+
+ALTER TABLE review_image
+    ADD COLUMN content_hash VARCHAR(64),
+    ADD COLUMN content_type VARCHAR(255),
+    ADD COLUMN size         BIGINT,
+    ALTER COLUMN data DROP NOT NULL;
+
+CREATE INDEX idx_product_image_content_hash ON product_image (content_hash);
+CREATE INDEX idx_review_image_content_hash ON review_image (content_hash);
@@ -0,0 +1,3 @@
+ALTER TABLE product_image
+    ADD COLUMN thumb_hash   VARCHAR(64),
+    ADD COLUMN preview_hash VARCHAR(64);
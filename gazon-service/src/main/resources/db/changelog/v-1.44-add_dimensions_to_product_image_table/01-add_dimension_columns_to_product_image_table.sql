@@ -0,0 +1,3 @@
+ALTER TABLE product_image
+    ADD COLUMN width  INT,
+    ADD COLUMN height INT;
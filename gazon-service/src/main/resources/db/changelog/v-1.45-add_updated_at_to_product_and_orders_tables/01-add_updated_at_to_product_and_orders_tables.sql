@@ -0,0 +1,8 @@
+ALTER TABLE product
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+ALTER TABLE orders
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX product_updated_at_id_idx ON product (updated_at, id);
+CREATE INDEX orders_updated_at_id_idx ON orders (updated_at, id);
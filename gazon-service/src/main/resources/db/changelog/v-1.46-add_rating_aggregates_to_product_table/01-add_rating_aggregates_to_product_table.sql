@@ -0,0 +1,15 @@
+ALTER TABLE product
+    ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE product p
+SET rating_sum   = r.rating_sum,
+    rating_count = r.rating_count
+FROM (SELECT product_id, SUM(rating) AS rating_sum, COUNT(rating) AS rating_count
+      FROM review
+      WHERE entity_status = 'ACTIVE'
+      GROUP BY product_id) r
+WHERE p.id = r.product_id;
+
+CREATE INDEX product_rating_average_id_idx
+    ON product ((COALESCE(rating_sum * 1.0 / NULLIF(rating_count, 0), 0)) DESC, id);
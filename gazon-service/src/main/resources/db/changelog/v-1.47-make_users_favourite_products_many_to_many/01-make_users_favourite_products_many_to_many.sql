@@ -0,0 +1,7 @@
+-- товар может быть в избранном у многих пользователей: уникальность product_id осталась от @OneToMany
+ALTER TABLE users_favourite_products
+    DROP CONSTRAINT IF EXISTS uk_qej44lljvi9weo4rqlqt07nk6;
+
+-- поиск ссылок на товар по product_id без уникального индекса
+CREATE INDEX IF NOT EXISTS users_favourite_products_product_id_idx
+    ON users_favourite_products (product_id);
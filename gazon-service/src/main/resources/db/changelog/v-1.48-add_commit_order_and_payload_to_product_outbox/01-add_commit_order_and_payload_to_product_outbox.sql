@@ -0,0 +1,17 @@
+-- номер транзакции, записавшей событие: лента отдается по (txid, id) только для завершенных транзакций,
+-- поэтому событие незакоммиченной транзакции не может оказаться позади смещения потребителя
+ALTER TABLE product_outbox
+    ADD COLUMN txid BIGINT NOT NULL DEFAULT txid_current();
+
+-- индексируемые поля продукта на момент изменения: search-service строит документ без чтения базы
+ALTER TABLE product_outbox
+    ADD COLUMN name                  VARCHAR(255),
+    ADD COLUMN price                 NUMERIC,
+    ADD COLUMN is_adult              BOOLEAN,
+    ADD COLUMN entity_status         VARCHAR(255),
+    ADD COLUMN store_id              BIGINT,
+    ADD COLUMN product_category_name VARCHAR(255),
+    ADD COLUMN rating_sum            BIGINT,
+    ADD COLUMN rating_count          INTEGER;
+
+CREATE INDEX idx_product_outbox_txid_id ON product_outbox (txid, id);
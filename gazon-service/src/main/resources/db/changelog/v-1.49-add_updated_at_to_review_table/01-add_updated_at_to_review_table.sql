@@ -0,0 +1,4 @@
+ALTER TABLE review
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX review_updated_at_id_idx ON review (updated_at, id);
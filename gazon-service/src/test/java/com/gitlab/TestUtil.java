@@ -385,8 +385,7 @@ public class TestUtil {
                 personalAddresses,
                 roleSet,
                 EntityStatus.ACTIVE,
-                10L,
-                new HashSet<>());
+                10L);
     }
 
     public static User generateUserBefore() {
@@ -446,8 +445,7 @@ public class TestUtil {
                 personalAddresses,
                 roleSet,
                 EntityStatus.ACTIVE,
-                10L,
-                new HashSet<>());
+                10L);
     }
 
 //    public UserDto generateUserDto() {
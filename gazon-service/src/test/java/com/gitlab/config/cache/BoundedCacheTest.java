@@ -0,0 +1,116 @@
+package com.gitlab.config.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedCacheTest {
+
+    @Test
+    void should_evict_least_recently_read_entry_when_full() {
+        BoundedCache cache = new BoundedCache("test", 2, Duration.ofMinutes(1));
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.get(1L);
+
+        cache.put(3L, "three");
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void should_expire_entry_after_ttl() {
+        AtomicLong clock = new AtomicLong();
+        BoundedCache cache = new BoundedCache("test", 10, Duration.ofNanos(100), clock::get);
+        cache.put(1L, "one");
+
+        clock.set(99);
+        assertNotNull(cache.get(1L));
+        clock.set(100);
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void should_count_hits_and_misses() {
+        BoundedCache cache = new BoundedCache("test", 10, Duration.ofMinutes(1));
+        cache.put(1L, null);
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals("loaded", cache.get(2L, () -> "loaded"));
+        assertEquals("loaded", cache.get(2L, () -> "other"));
+
+        BoundedCache.Statistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    void should_load_value_once_when_concurrent_miss() throws Exception {
+        BoundedCache cache = new BoundedCache("test", 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(50);
+                        return "loaded";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void should_create_caches_by_spec_and_disable_by_name() {
+        CacheSpecProperties properties = new CacheSpecProperties();
+        CacheSpecProperties.Spec disabled = new CacheSpecProperties.Spec();
+        disabled.setEnabled(false);
+        properties.setSpecs(Map.of(CacheNames.PRODUCTS, new CacheSpecProperties.Spec(), CacheNames.STORES, disabled));
+        BoundedCacheManager cacheManager = new BoundedCacheManager(properties);
+        cacheManager.afterPropertiesSet();
+
+        Cache products = cacheManager.getCache(CacheNames.PRODUCTS);
+        assertInstanceOf(TransactionAwareCacheDecorator.class, products);
+        assertInstanceOf(BoundedCache.class, ((TransactionAwareCacheDecorator) products).getTargetCache());
+        assertInstanceOf(NoOpCache.class,
+                ((TransactionAwareCacheDecorator) cacheManager.getCache(CacheNames.STORES)).getTargetCache());
+        assertNotNull(cacheManager.getCache("roles"));
+        assertEquals(2, cacheManager.getBoundedCaches().size());
+    }
+}
@@ -2,18 +2,18 @@ package com.gitlab.controller;
 
 import com.gitlab.TestUtil;
 import com.gitlab.dto.ProductImageDto;
-import com.gitlab.mapper.ProductImageMapper;
+import com.gitlab.dto.ProductImageInfoDto;
 import com.gitlab.service.ProductImageService;
 import com.gitlab.service.ProductService;
-import com.gitlab.util.ImageUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -22,6 +22,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.testcontainers.shaded.org.hamcrest.CoreMatchers.equalTo;
 import static org.testcontainers.shaded.org.hamcrest.MatcherAssert.assertThat;
@@ -33,16 +35,14 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
     @Autowired
     private ProductImageService productImageService;
     @Autowired
-    private ProductImageMapper productImageMapper;
-    @Autowired
     private ProductService productService;
 
     @Test
     @Transactional(readOnly = true)
     void should_get_all_productImages() throws Exception {
 
-        var response = productImageService.getPage(null, null);
-        var expected = objectMapper.writeValueAsString(productImageMapper.toDtoList(response.getContent()));
+        var response = productImageService.getInfoPage(null, null);
+        var expected = objectMapper.writeValueAsString(response.getContent());
 
         mockMvc.perform(get(PRODUCT_IMAGE_URI))
                 .andDo(print())
@@ -57,10 +57,10 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
         int size = 2;
         String parameters = "?page=" + page + "&size=" + size;
 
-        var response = productImageService.getPage(page, size);
+        var response = productImageService.getInfoPage(page, size);
         assertFalse(response.getContent().isEmpty());
 
-        var expected = objectMapper.writeValueAsString(productImageMapper.toDtoList(response.getContent()));
+        var expected = objectMapper.writeValueAsString(response.getContent());
 
         mockMvc.perform(get(PRODUCT_IMAGE_URI + parameters))
                 .andDo(print())
@@ -92,11 +92,11 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_get_productImage_by_id() throws Exception {
-        ProductImageDto saveDto = productImageService.saveDto(
-                TestUtil.generateProductImageDto(
-                        productService.save(TestUtil.generateProductDto()).get().getId()));
+        ProductImageDto productImageDto = TestUtil.generateProductImageDto(
+                productService.save(TestUtil.generateProductDto()).get().getId());
+        ProductImageInfoDto saveDto = productImageService.saveDto(productImageDto);
 
-        byte[] expected = ImageUtils.decompressImage(saveDto.getData());
+        byte[] expected = productImageDto.getData();
 
         mockMvc.perform(get(PRODUCT_IMAGE_URI + "/{id}", saveDto.getId()))
                 .andDo(print())
@@ -104,24 +104,59 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
                 .andExpect(content().bytes(expected));
     }
 
+    @Test
+    void should_return_not_modified_when_etag_matches() throws Exception {
+        ProductImageInfoDto saveDto = productImageService.saveDto(
+                TestUtil.generateProductImageDto(
+                        productService.save(TestUtil.generateProductDto()).get().getId()));
+
+        String eTag = mockMvc.perform(get(PRODUCT_IMAGE_URI + "/{id}", saveDto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(PRODUCT_IMAGE_URI + "/{id}", saveDto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void should_get_range_of_productImage() throws Exception {
+        ProductImageDto productImageDto = TestUtil.generateProductImageDto(
+                productService.save(TestUtil.generateProductDto()).get().getId());
+        ProductImageInfoDto saveDto = productImageService.saveDto(productImageDto);
+
+        byte[] expected = Arrays.copyOfRange(productImageDto.getData(), 0, 1);
+
+        mockMvc.perform(get(PRODUCT_IMAGE_URI + "/{id}", saveDto.getId())
+                        .header(HttpHeaders.RANGE, "bytes=0-0"))
+                .andDo(print())
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(expected));
+    }
+
+    @Test
+    void should_return_bad_request_when_get_productImage_with_unknown_size() throws Exception {
+        mockMvc.perform(get(PRODUCT_IMAGE_URI + "/{id}", 1L).param("size", "huge"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void should_get_productImages_by_productId() throws Exception {
         long id = productService.save(TestUtil.generateProductDto()).get().getId();
 
         productImageService.saveDto(TestUtil.generateProductImageDto(id));
 
-        String expected = objectMapper.writeValueAsString(
-                productImageService
-                        .findAllByProductId(id)
-                        .stream()
-                        .map(productImageMapper::toDto)
-                        .collect(Collectors.toList())
-        );
+        String expected = objectMapper.writeValueAsString(productImageService.findAllInfoByProductId(id));
 
         mockMvc.perform(get(PRODUCT_IMAGE_URI + "/product_id/{id}", id))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().json(expected));
+                .andExpect(content().json(expected))
+                .andExpect(jsonPath("$[0].data").doesNotExist());
     }
 
     @Test
@@ -150,15 +185,16 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_update_productImage_by_id() throws Exception {
-        ProductImageDto saveDto = productImageService.saveDto(
-                TestUtil.generateProductImageDto(
-                        productService.save(TestUtil.generateProductDto()).get().getId()));
+        ProductImageDto productImageDto = TestUtil.generateProductImageDto(
+                productService.save(TestUtil.generateProductDto()).get().getId());
+        ProductImageInfoDto saveDto = productImageService.saveDto(productImageDto);
 
         int numberOfEntitiesExpected = productImageService.findAll().size();
 
+        productImageDto.setName("updatedName");
         saveDto.setName("updatedName");
 
-        String jsonProductImageDto = objectMapper.writeValueAsString(saveDto);
+        String jsonProductImageDto = objectMapper.writeValueAsString(productImageDto);
         String expected = objectMapper.writeValueAsString(saveDto);
 
         mockMvc.perform(patch(PRODUCT_IMAGE_URI + "/{id}", saveDto.getId())
@@ -176,9 +212,9 @@ class ProductImageRestControllerIT extends AbstractIntegrationTest {
     void should_return_not_found_when_update_productImage_by_non_existent_id() throws Exception {
         long id = 9999L;
 
-        ProductImageDto saveDto = productImageService.saveDto(
-                TestUtil.generateProductImageDto(
-                        productService.save(TestUtil.generateProductDto()).get().getId()));
+        ProductImageDto saveDto = TestUtil.generateProductImageDto(
+                productService.save(TestUtil.generateProductDto()).get().getId());
+        productImageService.saveDto(saveDto);
 
         saveDto.setName("updatedName");
 
@@ -0,0 +1,47 @@
+package com.gitlab.controller;
+
+import com.gitlab.TestUtil;
+import com.gitlab.dto.ProductDto;
+import com.gitlab.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductOutboxRestControllerIT extends AbstractIntegrationTest {
+
+    private static final String PRODUCT_OUTBOX_URN = "/api/product-outbox";
+    private static final String PRODUCT_OUTBOX_URI = URL + PRODUCT_OUTBOX_URN;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void should_publish_event_when_product_created() throws Exception {
+        ProductDto productDto = productService.create(TestUtil.generateProductDto()).get();
+
+        mockMvc.perform(get(PRODUCT_OUTBOX_URI + "?size=1000"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.productId == " + productDto.getId() + " && @.changeType == 'CREATED')]").exists())
+                .andExpect(jsonPath("$[?(@.productId == " + productDto.getId() + ")].name").value(productDto.getName()));
+    }
+
+    @Test
+    void should_return_position() throws Exception {
+        mockMvc.perform(get(PRODUCT_OUTBOX_URI + "/position"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.txid").isNumber());
+    }
+
+    @Test
+    void should_no_content_when_no_new_events() throws Exception {
+        mockMvc.perform(get(PRODUCT_OUTBOX_URI + "?afterTxid=" + Long.MAX_VALUE))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gitlab.controller;
+
+import com.gitlab.TestUtil;
+import com.gitlab.config.cache.CacheNames;
+import com.gitlab.model.Product;
+import com.gitlab.model.ProductCategory;
+import com.gitlab.repository.ProductCategoryRepository;
+import com.gitlab.repository.ProductRepository;
+import com.gitlab.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Замер числа SQL-запросов на открытие карточки товара с холодным и прогретым кэшем второго уровня.
+ * Кэш карточек Spring перед каждым запросом сбрасывается, чтобы запрос доходил до Hibernate.
+ */
+@Slf4j
+class ProductPageSqlCountIT extends AbstractIntegrationTest {
+
+    private static final String PRODUCT_URI = URL + "/api/product";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Test
+    void second_level_cache_should_reduce_sql_statements_per_product_page() throws Exception {
+        Long productId = productService.save(TestUtil.generateProductDto()).orElseThrow().getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.setProductCategory(productCategoryRepository.save(new ProductCategory(null, "sql-count")));
+        });
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        long cold = countStatements(sessionFactory, productId);
+        long warm = countStatements(sessionFactory, productId);
+
+        log.info("Product page SQL statements: cold second-level cache {}, warm {}", cold, warm);
+        assertTrue(warm < cold, "warm: " + warm + ", cold: " + cold);
+    }
+
+    private long countStatements(SessionFactory sessionFactory, Long productId) throws Exception {
+        Objects.requireNonNull(cacheManager.getCache(CacheNames.PRODUCTS)).clear();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get(PRODUCT_URI + "/{id}", productId))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -2,6 +2,7 @@ package com.gitlab.controller;
 
 import com.gitlab.TestUtil;
 import com.gitlab.dto.ProductDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.service.ProductImageService;
 import com.gitlab.service.ProductService;
 import org.junit.jupiter.api.Test;
@@ -105,6 +106,29 @@ class ProductRestControllerIT extends AbstractIntegrationTest {
                 .andExpect(content().json(expected));
     }
 
+    @Test
+    void should_get_slices_by_cursor() throws Exception {
+        var firstResponse = mockMvc.perform(get(PRODUCT_URI + "/slice?size=1&count=true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        SliceDto<?> first = objectMapper.readValue(firstResponse, SliceDto.class);
+        assertEquals(1, first.getContent().size());
+        assertNotNull(first.getTotalElements());
+        assertNotNull(first.getNextCursor());
+
+        var secondResponse = mockMvc.perform(get(PRODUCT_URI + "/slice")
+                        .param("after", first.getNextCursor())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        SliceDto<?> second = objectMapper.readValue(secondResponse, SliceDto.class);
+        assertNull(second.getTotalElements());
+        assertNotEquals(first.getContent(), second.getContent());
+
+        mockMvc.perform(get(PRODUCT_URI + "/slice").param("after", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void should_return_not_found_when_get_product_by_non_existent_id() throws Exception {
         long id = 9999L;
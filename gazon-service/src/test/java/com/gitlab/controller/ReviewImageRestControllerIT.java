@@ -3,6 +3,7 @@ package com.gitlab.controller;
 import com.gitlab.TestUtil;
 import com.gitlab.dto.ReviewDto;
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.mapper.ReviewImageMapper;
 import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
@@ -17,12 +18,14 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.testcontainers.shaded.org.hamcrest.CoreMatchers.equalTo;
 import static org.testcontainers.shaded.org.hamcrest.MatcherAssert.assertThat;
@@ -46,7 +49,8 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
     @Transactional(readOnly = true)
     void should_get_all_reviewImages() throws Exception {
         var response = reviewImageService.getPage(null, null);
-        var expected = objectMapper.writeValueAsString(reviewImageMapper.toDtoList(response.getContent()));
+        var expected = objectMapper.writeValueAsString(
+                response.getContent().stream().map(reviewImageMapper::toInfoDto).toList());
 
         mockMvc.perform(get(REVIEW_IMAGE_URI))
                 .andDo(print())
@@ -64,12 +68,14 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
         var response = reviewImageService.getPage(page, size);
         assertFalse(response.getContent().isEmpty());
 
-        var expected = objectMapper.writeValueAsString(reviewImageMapper.toDtoList(response.getContent()));
+        var expected = objectMapper.writeValueAsString(
+                response.getContent().stream().map(reviewImageMapper::toInfoDto).toList());
 
         mockMvc.perform(get(REVIEW_IMAGE_URI + parameters))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().json(expected));
+                .andExpect(content().json(expected))
+                .andExpect(jsonPath("$[0].data").doesNotExist());
     }
 
     @Test
@@ -96,27 +102,28 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_get_reviewImage_by_id() throws Exception {
-        long id;
+        ReviewImageInfoDto reviewImageInfoDto = reviewImageService.saveDto(generateReviewImageDto());
+        long id = reviewImageInfoDto.getId();
 
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
+        String expected = objectMapper.writeValueAsString(reviewImageInfoDto);
 
-        id = reviewImageDto.getId();
+        mockMvc.perform(get(REVIEW_IMAGE_URI + "/{id}", id))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json(expected))
+                .andExpect(jsonPath("$.url").value(REVIEW_IMAGE_URN + "/" + id + "/content"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
 
-        String expected = objectMapper.writeValueAsString(
-                reviewImageMapper.toDto(
-                        reviewImageService
-                                .findById(reviewImageDto.getId())
-                                .orElse(null))
-        );
+    @Test
+    void should_get_reviewImage_content_by_url() throws Exception {
+        ReviewImageDto reviewImageDto = generateReviewImageDto();
+        ReviewImageInfoDto reviewImageInfoDto = reviewImageService.saveDto(reviewImageDto);
 
-        mockMvc.perform(get(REVIEW_IMAGE_URI + "/{id}", id))
+        mockMvc.perform(get(URL + reviewImageInfoDto.getUrl()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().json(expected));
+                .andExpect(content().bytes(reviewImageDto.getData()));
     }
 
     @Test
@@ -130,29 +137,21 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_create_reviewImage() throws Exception {
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
-
-        String jsonReviewImageDto = objectMapper.writeValueAsString(reviewImageDto);
+        String jsonReviewImageDto = objectMapper.writeValueAsString(generateReviewImageDto());
 
         mockMvc.perform(post(REVIEW_IMAGE_URI)
                         .content(jsonReviewImageDto)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data").doesNotExist());
     }
 
     @Test
     void should_created_reviewImage_ignored_id_in_the_request_body() throws Exception {
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
+        ReviewImageDto reviewImageDto = generateReviewImageDto();
+        reviewImageDto.setId(9999L);
 
         String jsonReviewImageDto = objectMapper.writeValueAsString(reviewImageDto);
 
@@ -165,28 +164,22 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
                 .andReturn()
                 .getResponse();
 
-        ReviewImageDto createdReviewImageDto = objectMapper.readValue(response.getContentAsString(), ReviewImageDto.class);
+        ReviewImageInfoDto createdReviewImageDto = objectMapper.readValue(response.getContentAsString(), ReviewImageInfoDto.class);
         Assertions.assertNotEquals(reviewImageDto.getId(), createdReviewImageDto.getId());
     }
 
     @Test
     void should_update_reviewImage_by_id() throws Exception {
-        long id;
-        int numberOfEntitiesExpected;
-
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
+        ReviewImageDto reviewImageDto = generateReviewImageDto();
+        ReviewImageInfoDto reviewImageInfoDto = reviewImageService.saveDto(reviewImageDto);
+        long id = reviewImageInfoDto.getId();
 
-        id = reviewImageDto.getId();
-
-        numberOfEntitiesExpected = reviewImageService.findAll().size();
+        int numberOfEntitiesExpected = reviewImageService.findAll().size();
         reviewImageDto.setName("updatedTest");
+        reviewImageInfoDto.setName("updatedTest");
 
         String jsonReviewImageDto = objectMapper.writeValueAsString(reviewImageDto);
-        String expected = objectMapper.writeValueAsString(reviewImageDto);
+        String expected = objectMapper.writeValueAsString(reviewImageInfoDto);
 
         mockMvc.perform(patch(REVIEW_IMAGE_URI + "/{id}", id)
                         .content(jsonReviewImageDto)
@@ -201,17 +194,12 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_update_reviewImage_ignored_id_in_the_request_body() throws Exception {
-        long id;
+        ReviewImageDto reviewImageDto = generateReviewImageDto();
+        ReviewImageInfoDto reviewImageInfoDto = reviewImageService.saveDto(reviewImageDto);
+        long id = reviewImageInfoDto.getId();
 
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
+        String expected = objectMapper.writeValueAsString(reviewImageInfoDto);
 
-        String expected = objectMapper.writeValueAsString(reviewImageDto);
-
-        id = reviewImageDto.getId();
         reviewImageDto.setId(9999L);
 
         String jsonReviewImageDto = objectMapper.writeValueAsString(reviewImageDto);
@@ -227,16 +215,11 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_update_reviewImage_by_id_do_not_overwrite_fields_with_null() throws Exception {
-        long id;
+        ReviewImageDto reviewImageDto = generateReviewImageDto();
+        ReviewImageInfoDto reviewImageInfoDto = reviewImageService.saveDto(reviewImageDto);
+        long id = reviewImageInfoDto.getId();
 
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
-
-        id = reviewImageDto.getId();
-        String expected = objectMapper.writeValueAsString(reviewImageDto);
+        String expected = objectMapper.writeValueAsString(reviewImageInfoDto);
 
         reviewImageDto.setName(null);
         reviewImageDto.setData(null);
@@ -256,13 +239,7 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
     void should_return_not_found_when_update_reviewImage_by_non_existent_id() throws Exception {
         long id = 9999L;
 
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
-
-        String jsonReviewImageDto = objectMapper.writeValueAsString(reviewImageDto);
+        String jsonReviewImageDto = objectMapper.writeValueAsString(generateReviewImageDto());
 
         mockMvc.perform(patch(REVIEW_IMAGE_URI + "/{id}", id)
                         .content(jsonReviewImageDto)
@@ -274,15 +251,7 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
 
     @Test
     void should_delete_reviewImage_by_id() throws Exception {
-        long id;
-
-        ReviewImageDto reviewImageDto = reviewImageService.saveDto(
-                TestUtil.generateReviewImageDto(reviewService.saveDto(
-                                TestUtil.generateReviewDto(productService.save(
-                                        TestUtil.generateProductDto()).get().getId()))
-                        .getId()));
-
-        id = reviewImageDto.getId();
+        long id = reviewImageService.saveDto(generateReviewImageDto()).getId();
 
         mockMvc.perform(delete(REVIEW_IMAGE_URI + "/{id}", id))
                 .andDo(print())
@@ -438,4 +407,11 @@ class ReviewImageRestControllerIT extends AbstractIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    private ReviewImageDto generateReviewImageDto() throws IOException {
+        return TestUtil.generateReviewImageDto(reviewService.saveDto(
+                        TestUtil.generateReviewDto(productService.save(
+                                TestUtil.generateProductDto()).get().getId()))
+                .getId());
+    }
+}
@@ -108,6 +108,24 @@ class ProductMapperTest {
         assertEquals(expectedRating, "3.00");
     }
 
+    @Test
+    void should_map_rating_aggregates_to_average_rating() {
+        Product product = getProduct(1L);
+        product.setRatingSum(10L);
+        product.setRatingCount(4);
+
+        ProductDto dtoTwin = mapper.toDto(product);
+
+        assertEquals(String.format("%.2f", 2.5), dtoTwin.getRating());
+    }
+
+    @Test
+    void should_map_product_without_ratings() {
+        ProductDto dtoTwin = mapper.toDto(getProduct(1L));
+
+        assertEquals("Нет оценок", dtoTwin.getRating());
+    }
+
     @NotNull
     private Product getProduct(Long id) {
         Product product = new Product();
@@ -0,0 +1,60 @@
+package com.gitlab.mapper;
+
+import com.gitlab.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReferenceResolverTest {
+
+    private final List<Collection<Long>> queries = new ArrayList<>();
+    private final ReferenceResolver<User> resolver = new ReferenceResolver<>(this::load, User::getId);
+
+    @Test
+    void should_load_prefetched_ids_with_single_query() {
+        resolver.prefetch(List.of(1L, 2L, 2L, 3L));
+
+        Set<User> users = resolver.resolveAll(List.of(1L, 2L));
+
+        assertEquals(1, queries.size());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(queries.get(0)));
+        assertEquals(Set.of(1L, 2L), users.stream().map(User::getId).collect(Collectors.toSet()));
+        assertEquals(3L, resolver.resolve(3L).getId());
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void should_not_query_missing_id_twice() {
+        assertNull(resolver.resolve(404L));
+        assertNull(resolver.resolve(404L));
+        assertEquals(0, resolver.resolveAll(List.of(404L)).size());
+
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void should_not_query_for_null_id() {
+        assertNull(resolver.resolve(null));
+
+        assertEquals(0, queries.size());
+    }
+
+    private List<User> load(Collection<Long> ids) {
+        queries.add(ids);
+        return ids.stream()
+                .filter(id -> id < 100)
+                .map(id -> {
+                    User user = new User();
+                    user.setId(id);
+                    return user;
+                })
+                .collect(Collectors.toList());
+    }
+}
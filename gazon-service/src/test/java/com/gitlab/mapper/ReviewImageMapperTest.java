@@ -2,6 +2,7 @@ package com.gitlab.mapper;
 
 import com.gitlab.controller.AbstractIntegrationTest;
 import com.gitlab.dto.ReviewImageDto;
+import com.gitlab.dto.ReviewImageInfoDto;
 import com.gitlab.model.Review;
 import com.gitlab.model.ReviewImage;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,19 @@ public class ReviewImageMapperTest extends AbstractIntegrationTest {
         assertEquals(Arrays.toString(reviewImage.getData()), Arrays.toString(dtoTwin.getData()));
     }
 
+    @Test
+    void should_map_reviewImage_to_InfoDto() {
+        ReviewImage reviewImage = getReviewImage(1L);
+
+        ReviewImageInfoDto infoDto = mapper.toInfoDto(reviewImage);
+
+        assertNotNull(infoDto);
+        assertEquals(reviewImage.getId(), infoDto.getId());
+        assertEquals(reviewImage.getReview().getId(), infoDto.getReviewId());
+        assertEquals(reviewImage.getName(), infoDto.getName());
+        assertEquals("/api/review-images/1/content", infoDto.getUrl());
+    }
+
     @Test
     void should_map_reviewImageDto_to_Entity() {
         ReviewImageDto reviewImageDto = getReviewImageDto(2L);
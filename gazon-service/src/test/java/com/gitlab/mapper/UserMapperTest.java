@@ -130,8 +130,7 @@ class UserMapperTest extends AbstractIntegrationTest {
                 personalAddresses,
                 roleSet,
                 EntityStatus.ACTIVE,
-                10L,
-                new HashSet<>());
+                10L);
     }
 
     @NotNull
@@ -0,0 +1,104 @@
+package com.gitlab.service;
+
+import com.gitlab.config.cache.BoundedCacheManager;
+import com.gitlab.config.cache.CacheSpecProperties;
+import com.gitlab.model.User;
+import com.gitlab.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedUserCacheTest {
+
+    private static final String USERNAME = "user";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticatedUserCache authenticatedUserCache;
+    private User user;
+
+    @BeforeEach
+    void init() {
+        authenticatedUserCache = new AuthenticatedUserCache(userRepository, new BoundedCacheManager(new CacheSpecProperties()));
+        user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void should_load_user_once_per_request() {
+        startRequest();
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+        assertSame(user, authenticatedUserCache.get(USERNAME).orElseThrow());
+        assertSame(user, authenticatedUserCache.get(USERNAME).orElseThrow());
+        assertSame(user, authenticatedUserCache.get(USERNAME).orElseThrow());
+
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+        AuthenticatedUserCache.Statistics statistics = authenticatedUserCache.getStatistics();
+        assertEquals(1, statistics.getRequests());
+        assertEquals(1, statistics.getQueries());
+        assertEquals(2.0, statistics.getSavedQueriesPerRequest());
+    }
+
+    @Test
+    void should_use_cached_id_in_next_request() {
+        User reference = new User();
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        when(userRepository.getById(1L)).thenReturn(reference);
+        startRequest();
+        authenticatedUserCache.get(USERNAME);
+
+        startRequest();
+
+        assertSame(reference, authenticatedUserCache.get(USERNAME).orElseThrow());
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void should_reload_user_after_evict() {
+        startRequest();
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        authenticatedUserCache.get(USERNAME);
+
+        authenticatedUserCache.evict(USERNAME);
+        authenticatedUserCache.get(USERNAME);
+
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+        verify(userRepository, never()).getById(any());
+    }
+
+    @Test
+    void should_not_cache_unknown_user() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+        assertTrue(authenticatedUserCache.get(USERNAME).isEmpty());
+        assertTrue(authenticatedUserCache.get(USERNAME).isEmpty());
+
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.gitlab.service;
+
+import com.gitlab.exception.handler.UserNotAuthenticatedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationServiceTest {
+
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @InjectMocks
+    private AuthorizationService authorizationService;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void should_grant_admin_access_without_user_lookup() {
+        authenticate("admin", "ROLE_ADMIN");
+
+        assertTrue(authorizationService.isAdmin());
+        assertTrue(authorizationService.isAdminOrOwner(42L));
+        verify(authenticatedUserCache, never()).getId(anyString());
+    }
+
+    @Test
+    void should_grant_access_only_to_owner() {
+        authenticate("user", "ROLE_USER");
+        when(authenticatedUserCache.getId("user")).thenReturn(Optional.of(1L));
+
+        assertFalse(authorizationService.isAdmin());
+        assertTrue(authorizationService.isAdminOrOwner(1L));
+        assertFalse(authorizationService.isAdminOrOwner(2L));
+        assertEquals(1L, authorizationService.getUserId());
+    }
+
+    @Test
+    void should_not_match_role_by_substring() {
+        authenticate("user", "ROLE_ADMIN_ASSISTANT");
+
+        assertFalse(authorizationService.isAdmin());
+    }
+
+    @Test
+    void should_fail_if_not_authenticated() {
+        assertThrows(UserNotAuthenticatedException.class, () -> authorizationService.getUsername());
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertThrows(UserNotAuthenticatedException.class, () -> authorizationService.isAdmin());
+    }
+
+    private static void authenticate(String username, String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList(roles)));
+    }
+}
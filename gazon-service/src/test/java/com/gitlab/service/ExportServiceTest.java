@@ -0,0 +1,99 @@
+package com.gitlab.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitlab.dto.ExportRowDto;
+import com.gitlab.dto.StoreDto;
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.util.PagePolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExportService exportService;
+
+    @BeforeEach
+    void init() {
+        exportService = new ExportService(objectMapper, entityManager);
+    }
+
+    @Test
+    void should_write_one_json_object_per_line() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = exportService.writeNdjson(Stream.of(1L, 2L), this::toStoreDto, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], StoreDto.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], StoreDto.class).getId());
+        assertEquals("", lines[2]);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void should_write_entity_status_next_to_row_fields() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.writeNdjson(Stream.of(1L),
+                id -> new ExportRowDto<>(toStoreDto(id), EntityStatus.DELETED), outputStream);
+
+        JsonNode line = objectMapper.readTree(outputStream.toString(StandardCharsets.UTF_8).trim());
+        assertEquals(1L, line.get("id").asLong());
+        assertEquals(EntityStatus.DELETED.name(), line.get("entityStatus").asText());
+        assertFalse(line.has("row"));
+    }
+
+    @Test
+    void should_clear_persistence_context_after_each_fetched_batch() throws IOException {
+        long rows = PagePolicy.EXPORT_FETCH_SIZE * 2L + 1;
+
+        long count = exportService.writeNdjson(LongStream.rangeClosed(1, rows).boxed(), this::toStoreDto,
+                new ByteArrayOutputStream());
+
+        assertEquals(rows, count);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void should_move_watermark_back_by_overlap() {
+        ReflectionTestUtils.setField(exportService, "watermarkOverlap", Duration.ofMinutes(5));
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime watermark = exportService.nextWatermark();
+
+        assertFalse(watermark.isBefore(before.minusMinutes(5)));
+        assertTrue(watermark.isBefore(before.minusMinutes(4)));
+    }
+
+    private StoreDto toStoreDto(Long id) {
+        StoreDto storeDto = new StoreDto();
+        storeDto.setId(id);
+        return storeDto;
+    }
+}
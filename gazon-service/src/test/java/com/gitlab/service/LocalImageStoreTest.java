@@ -0,0 +1,136 @@
+package com.gitlab.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    private final LocalImageStore imageStore = new LocalImageStore();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(imageStore, "root", root);
+        imageStore.init();
+    }
+
+    @Test
+    void should_store_content_under_its_sha256() throws IOException {
+        byte[] data = "image".getBytes();
+
+        String hash = imageStore.put(data);
+
+        assertEquals("6105d6cc76af400325e94d588ce511be5bfdbb73b437dc51eca43917d7a43e3d", hash);
+        assertTrue(Files.isRegularFile(root.resolve("61").resolve("05").resolve(hash)));
+        assertArrayEquals(data, imageStore.read(hash).orElseThrow());
+        Resource resource = imageStore.get(hash).orElseThrow();
+        assertEquals(data.length, resource.contentLength());
+    }
+
+    @Test
+    void should_store_same_content_once() throws IOException {
+        String first = imageStore.put(new byte[]{1, 2, 3});
+        String second = imageStore.put(new byte[]{1, 2, 3});
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void should_deflate_uncompressed_content() throws IOException {
+        byte[] data = new byte[10_000];
+        data[0] = 'B';
+        data[1] = 'M';
+
+        String hash = imageStore.put(data);
+
+        Path deflated = root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".z");
+        assertTrue(Files.size(deflated) < data.length);
+        assertArrayEquals(data, imageStore.read(hash).orElseThrow());
+        try (InputStream inputStream = imageStore.get(hash).orElseThrow().getInputStream()) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void should_store_compressed_formats_as_is() throws IOException {
+        byte[] data = new byte[10_000];
+        data[0] = (byte) 0xFF;
+        data[1] = (byte) 0xD8;
+        data[2] = (byte) 0xFF;
+
+        String hash = imageStore.put(data);
+
+        Path path = root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertEquals(data.length, Files.size(path));
+        assertEquals(data.length, imageStore.get(hash).orElseThrow().contentLength());
+    }
+
+    @Test
+    void should_store_stream_with_same_hash_as_bytes() throws IOException {
+        byte[] data = new byte[100_000];
+        data[0] = (byte) 0x89;
+        data[1] = 'P';
+        data[2] = 'N';
+        data[3] = 'G';
+
+        StoredImage storedImage = imageStore.put(new ByteArrayInputStream(data));
+
+        assertEquals(LocalImageStore.sha256(data), storedImage.getHash());
+        assertEquals("image/png", storedImage.getContentType());
+        assertEquals(data.length, storedImage.getSize());
+        assertArrayEquals(data, imageStore.read(storedImage.getHash()).orElseThrow());
+        assertEquals(storedImage.getHash(), imageStore.put(data));
+    }
+
+    @Test
+    void should_deflate_uncompressed_stream_only_when_it_pays_off() throws IOException {
+        byte[] compressible = new byte[100_000];
+        byte[] random = new byte[100_000];
+        new Random(1).nextBytes(random);
+
+        StoredImage deflated = imageStore.put(new ByteArrayInputStream(compressible));
+        StoredImage raw = imageStore.put(new ByteArrayInputStream(random));
+
+        assertTrue(Files.exists(root.resolve(deflated.getHash().substring(0, 2))
+                .resolve(deflated.getHash().substring(2, 4)).resolve(deflated.getHash() + ".z")));
+        assertTrue(Files.exists(root.resolve(raw.getHash().substring(0, 2))
+                .resolve(raw.getHash().substring(2, 4)).resolve(raw.getHash())));
+        assertArrayEquals(compressible, imageStore.read(deflated.getHash()).orElseThrow());
+        assertArrayEquals(random, imageStore.read(raw.getHash()).orElseThrow());
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void should_return_empty_for_missing_content() {
+        String hash = "0".repeat(64);
+
+        assertEquals(Optional.empty(), imageStore.get(hash));
+        assertEquals(Optional.empty(), imageStore.read(hash));
+    }
+
+    @Test
+    void should_reject_invalid_hash() {
+        assertThrows(IllegalArgumentException.class, () -> imageStore.get("../../etc/passwd"));
+    }
+}
@@ -51,12 +51,18 @@ public class OrderServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AuthorizationService authorizationService;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ShoppingCartRepository shoppingCartRepository;
 
+    @Mock
+    private ProductOutboxService productOutboxService;
+
     private List<Order> generateOrders() {
         return List.of(
                 Order.builder().user(User.builder().id(1L).username("user1").build()).id(1L).build(),
@@ -91,7 +97,8 @@ public class OrderServiceTest {
                 .build();
 
         when(orderRepository.findAll(user.getUsername())).thenReturn(generateOrders(user.getUsername()));
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUsername()).thenReturn(user.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(false);
 
         List<Order> expectedOrders = generateOrders(user.getUsername());
         List<Order> actualOrders = orderService.findAll();
@@ -107,7 +114,8 @@ public class OrderServiceTest {
                 .build();
 
         when(orderRepository.findAll()).thenReturn(generateOrders());
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUsername()).thenReturn(user.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(true);
 
         List<Order> expectedOrders = generateOrders();
         List<Order> actualOrders = orderService.findAll();
@@ -125,7 +133,8 @@ public class OrderServiceTest {
         Long id = 1L;
 
         when(orderRepository.findById(id, user.getUsername())).thenReturn(Optional.of(generateOrder()));
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUsername()).thenReturn(user.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(false);
 
         Order expectedOrder = generateOrder();
         Optional<Order> actualOrder = orderService.findById(id);
@@ -143,7 +152,8 @@ public class OrderServiceTest {
         Long id = 1L;
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(generateOrder()));
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUsername()).thenReturn(user.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(true);
 
         Order expectedOrder = generateOrder();
         Optional<Order> actualOrder = orderService.findById(id);
@@ -156,7 +166,7 @@ public class OrderServiceTest {
     void should_save_order() {
         User mockUser = new User();
         mockUser.setId(1L);
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.isAdminOrOwner(1L)).thenReturn(true);
 
         OrderDto mockOrderDto = new OrderDto();
         mockOrderDto.setUserId(1L);
@@ -199,7 +209,8 @@ public class OrderServiceTest {
         Set<SelectedProduct> selectedProducts = Set.of(selectedProduct);
         mockOrder.setSelectedProducts(selectedProducts);
 
-        when(userService.getAuthenticatedUser()).thenReturn(userCreatingOrder);
+        when(authorizationService.isAdminOrOwner(userInsideOrder.getId())).thenReturn(false);
+        when(authorizationService.getUserId()).thenReturn(userCreatingOrder.getId());
         when(orderMapper.toEntity(any(OrderDto.class))).thenReturn(mockOrder);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(userInsideOrder));
 
@@ -236,7 +247,7 @@ public class OrderServiceTest {
         when(orderMapper.toDto(any(Order.class))).thenReturn(orderDto);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(userInsideOrder));
         when(shoppingCartRepository.findByUser_Id(anyLong())).thenReturn(Optional.of(mockCart));
-        when(userService.getAuthenticatedUser()).thenReturn(userCreatingOrder);
+        when(authorizationService.isAdminOrOwner(userInsideOrder.getId())).thenReturn(true);
 
         Optional<OrderDto> optionalOrderDto = orderService.saveDto(orderDto);
 
@@ -261,7 +272,7 @@ public class OrderServiceTest {
 
         ShoppingCart shoppingCart = mock(ShoppingCart.class);
 
-        when(userService.getAuthenticatedUser()).thenReturn(userCreatingOrder);
+        when(authorizationService.isAdminOrOwner(userCreatingOrder.getId())).thenReturn(true);
         when(orderMapper.toEntity(any(OrderDto.class))).thenReturn(mockOrder);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(userCreatingOrder));
         when(shoppingCartRepository.findByUser_Id(anyLong())).thenReturn(Optional.of(shoppingCart));
@@ -273,11 +284,7 @@ public class OrderServiceTest {
 
     @Test
     void should_fail_if_order_is_updated_by_wrong_user() {
-        User mockUser = User.builder()
-                .id(1L).username("user1")
-                .rolesSet(Set.of(Role.builder().name("ROLE_USER_LEAD").build()))
-                .build();
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.isAdminOrOwner(2L)).thenReturn(false);
 
         User mockUser2 = new User();
         mockUser2.setId(2L);
@@ -299,11 +306,7 @@ public class OrderServiceTest {
 
     @Test
     void should_not_fail_if_order_is_updated_by_wrong_user_admin() {
-        User mockUser = User.builder()
-                .id(1L).username("user1")
-                .rolesSet(Set.of(Role.builder().name("ROLE_ADMIN").build()))
-                .build();
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.isAdminOrOwner(2L)).thenReturn(true);
 
         User mockUser2 = new User();
         mockUser2.setId(2L);
@@ -335,7 +338,7 @@ public class OrderServiceTest {
     void should_update_order() {
         User mockUser = new User();
         mockUser.setId(1L);
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.isAdminOrOwner(mockUser.getId())).thenReturn(true);
 
         long id = 1L;
         OrderDto orderDtoToUpdate = generateOrderDto();
@@ -377,7 +380,7 @@ public class OrderServiceTest {
     void should_not_updated_orderCode_field_if_null() {
         User mockUser = new User();
         mockUser.setId(1L);
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.isAdminOrOwner(mockUser.getId())).thenReturn(true);
 
         long id = 1L;
         OrderDto orderDtoToUpdate = new OrderDto();
@@ -408,7 +411,8 @@ public class OrderServiceTest {
         mockUser.setId(1L);
         mockUser.setRolesSet(Set.of(Role.builder().name("ROLE_USER_LEAD").id(8L).build()));
         mockUser.setUsername("user");
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.getUsername()).thenReturn(mockUser.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(false);
 
         Order order = generateOrder();
         when(orderRepository.findById(order.getId(), mockUser.getUsername())).thenReturn(Optional.of(order));
@@ -422,7 +426,8 @@ public class OrderServiceTest {
         mockUser.setId(1L);
         mockUser.setRolesSet(Set.of(Role.builder().name("ROLE_USER_LEAD").id(8L).build()));
         mockUser.setUsername("user");
-        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(authorizationService.getUsername()).thenReturn(mockUser.getUsername());
+        when(authorizationService.isAdmin()).thenReturn(false);
 
         long id = 1L;
         when(orderRepository.findById(id, mockUser.getUsername())).thenReturn(Optional.empty());
@@ -32,6 +32,14 @@ class PersonalAddressServiceTest {
     @InjectMocks
     private PersonalAddressMapperImpl mapper;
 
+    @Test
+    void should_return_empty_page_when_page_parameters_are_invalid() {
+        assertTrue(personalAddressService.getPageDto(0, -2).isEmpty());
+        assertTrue(personalAddressService.getPage(-1, 10).isEmpty());
+
+        verifyNoInteractions(personalAddressRepository);
+    }
+
     @Test
     void should_find_all_personalAddresses() {
         List<PersonalAddress> expectedResult = generatePersonalAddresses();
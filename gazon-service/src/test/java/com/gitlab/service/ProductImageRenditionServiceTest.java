@@ -0,0 +1,138 @@
+package com.gitlab.service;
+
+import com.gitlab.repository.ProductImageRepository;
+import com.gitlab.repository.projection.ProductImageInfo;
+import com.gitlab.util.ImageUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImageRenditionServiceTest {
+
+    @Mock
+    private ProductImageRepository productImageRepository;
+    @Mock
+    private ImageStore imageStore;
+    @InjectMocks
+    private ProductImageRenditionService productImageRenditionService;
+
+    @Test
+    void should_resize_keeping_aspect_ratio() throws IOException {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+
+        byte[] resized = ProductImageRenditionService.resize(image, 100);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(resized));
+        assertEquals(100, result.getWidth());
+        assertEquals(50, result.getHeight());
+        assertEquals(MediaType.IMAGE_JPEG_VALUE, ImageUtils.detectContentType(resized));
+    }
+
+    @Test
+    void should_not_upscale_and_keep_transparency() throws IOException {
+        BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] resized = ProductImageRenditionService.resize(image, 100);
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(resized));
+        assertEquals(40, result.getWidth());
+        assertEquals(20, result.getHeight());
+        assertEquals(MediaType.IMAGE_PNG_VALUE, ImageUtils.detectContentType(resized));
+    }
+
+    @Test
+    void should_store_renditions_for_original() throws IOException {
+        ReflectionTestUtils.setField(productImageRenditionService, "thumbSize", 10);
+        ReflectionTestUtils.setField(productImageRenditionService, "previewSize", 30);
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(60, 60, BufferedImage.TYPE_INT_RGB), "png", original);
+        when(imageStore.read("hash")).thenReturn(Optional.of(original.toByteArray()));
+        when(imageStore.put(any(byte[].class))).thenReturn("thumb", "preview");
+
+        productImageRenditionService.createRenditions(1L, "hash");
+
+        verify(productImageRepository).updateRenditions(1L, "hash", "thumb", "preview", 60, 60);
+    }
+
+    @Test
+    void should_skip_unsupported_image() throws IOException {
+        when(imageStore.read("hash")).thenReturn(Optional.of(new byte[]{1, 2, 3}));
+
+        productImageRenditionService.createRenditions(1L, "hash");
+
+        verify(imageStore, never()).put(any(byte[].class));
+        verify(productImageRepository, never()).updateRenditions(anyLong(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void should_backfill_images_without_renditions_page_by_page() {
+        ReflectionTestUtils.setField(productImageRenditionService, "backfillBatchSize", 2);
+        ProductImageInfo first = info(1L, "first");
+        ProductImageInfo second = info(2L, "second");
+        ProductImageInfo third = info(3L, "third");
+        when(productImageRepository.findWithoutRenditions(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(productImageRepository.findWithoutRenditions(2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+        when(imageStore.read(any())).thenReturn(Optional.empty());
+
+        assertEquals(0, productImageRenditionService.backfill());
+
+        verify(imageStore).read("first");
+        verify(imageStore).read("second");
+        verify(imageStore).read("third");
+    }
+
+    @Test
+    void should_reject_task_when_queue_is_full() throws InterruptedException {
+        ReflectionTestUtils.setField(productImageRenditionService, "threads", 1);
+        ReflectionTestUtils.setField(productImageRenditionService, "queueCapacity", 1);
+        productImageRenditionService.init();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageStore.read(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        try {
+            assertTrue(productImageRenditionService.schedule(1L, "first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(productImageRenditionService.schedule(2L, "second"));
+
+            assertFalse(productImageRenditionService.schedule(3L, "third"));
+        } finally {
+            release.countDown();
+            productImageRenditionService.shutdown();
+        }
+    }
+
+    private static ProductImageInfo info(Long id, String contentHash) {
+        ProductImageInfo info = mock(ProductImageInfo.class);
+        when(info.getId()).thenReturn(id);
+        when(info.getContentHash()).thenReturn(contentHash);
+        return info;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gitlab.service;
 
+import com.gitlab.model.Product;
 import com.gitlab.model.ProductImage;
 import com.gitlab.repository.ProductImageRepository;
 import org.junit.jupiter.api.Test;
@@ -7,13 +8,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -22,6 +29,12 @@ class ProductImageServiceTest {
 
     @Mock
     private ProductImageRepository productImageRepository;
+    @Mock
+    private ImageStore imageStore;
+    @Mock
+    private ProductImageRenditionService productImageRenditionService;
+    @Mock
+    private CacheManager cacheManager;
     @InjectMocks
     private ProductImageService productImageService;
 
@@ -56,15 +69,33 @@ class ProductImageServiceTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    void should_upload_files_through_image_store() throws IOException {
+        Product product = new Product();
+        MockMultipartFile file = new MockMultipartFile("files", "photo.png", "image/png", new byte[]{1, 2, 3});
+        when(imageStore.put(any(InputStream.class))).thenReturn(new StoredImage("hash", "image/png", 3L));
+        when(imageStore.get("hash")).thenReturn(Optional.empty());
+        when(productImageRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ProductImage> actualResult = productImageService.uploadAll(product, new MultipartFile[]{file});
+
+        ProductImage expectedResult = new ProductImage(null, product, "photo.png", null,
+                "hash", "image/png", 3L, null, null, null, null);
+        assertEquals(List.of(expectedResult), actualResult);
+        verify(imageStore, never()).put(any(byte[].class));
+    }
+
     @Test
     void should_update_productImage() {
         long id = 4L;
-        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1]);
+        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1], null, null, null, null, null, null, null);
 
-        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1]);
-        ProductImage imageFromFuture = new ProductImage(id, null, "name1", new byte[1]);
+        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1], null, null, null, null, null, null, null);
+        ProductImage imageFromFuture = new ProductImage(id, null, "name1", new byte[1],
+                "hash", "application/octet-stream", 1L, null, null, null, null);
 
         when(productImageRepository.findById(id)).thenReturn(Optional.of(imageBeforeUpdate));
+        when(imageStore.put(imageToUpdateWith.getData())).thenReturn("hash");
         when(productImageRepository.save(imageFromFuture)).thenReturn(imageFromFuture);
 
         Optional<ProductImage> actualResult = productImageService.update(id, imageToUpdateWith);
@@ -75,7 +106,7 @@ class ProductImageServiceTest {
     @Test
     void should_not_update_productImage_when_entity_not_found() {
         long id = 4L;
-        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1]);
+        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1], null, null, null, null, null, null, null);
 
         when(productImageRepository.findById(id)).thenReturn(Optional.empty());
 
@@ -107,23 +138,23 @@ class ProductImageServiceTest {
 
     private List<ProductImage> generateProductImages() {
         return List.of(
-                new ProductImage(1L, null, "name1", new byte[1]),
-                new ProductImage(1L, null, "name1", new byte[1]),
-                new ProductImage(1L, null, "name1", new byte[1]),
-                new ProductImage(1L, null, "name1", new byte[1]));
+                new ProductImage(1L, null, "name1", new byte[1], null, null, null, null, null, null, null),
+                new ProductImage(1L, null, "name1", new byte[1], null, null, null, null, null, null, null),
+                new ProductImage(1L, null, "name1", new byte[1], null, null, null, null, null, null, null),
+                new ProductImage(1L, null, "name1", new byte[1], null, null, null, null, null, null, null));
     }
 
     private ProductImage generateProductImage() {
-        return new ProductImage(1L, null, "name1", new byte[1]);
+        return new ProductImage(1L, null, "name1", new byte[1], null, null, null, null, null, null, null);
     }
 
     @Test
     void should_not_updated_productImage_name_field_if_null() {
         long id = 1L;
-        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1]);
+        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1], null, null, null, null, null, null, null);
         imageToUpdateWith.setName(null);
 
-        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1]);
+        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1], null, null, null, null, null, null, null);
 
         when(productImageRepository.findById(id)).thenReturn(Optional.of(imageBeforeUpdate));
         when(productImageRepository.save(imageBeforeUpdate)).thenReturn(imageBeforeUpdate);
@@ -137,10 +168,10 @@ class ProductImageServiceTest {
     @Test
     void should_not_updated_productImage_data_field_if_null() {
         long id = 1L;
-        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1]);
+        ProductImage imageToUpdateWith = new ProductImage(22L, null, "name1", new byte[1], null, null, null, null, null, null, null);
         imageToUpdateWith.setData(null);
 
-        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1]);
+        ProductImage imageBeforeUpdate = new ProductImage(id, null, "n9", new byte[1], null, null, null, null, null, null, null);
 
         when(productImageRepository.findById(id)).thenReturn(Optional.of(imageBeforeUpdate));
         when(productImageRepository.save(imageBeforeUpdate)).thenReturn(imageBeforeUpdate);
@@ -0,0 +1,99 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.enums.ProductChangeType;
+import com.gitlab.mapper.ProductOutboxMapper;
+import com.gitlab.model.Product;
+import com.gitlab.model.ProductOutboxEvent;
+import com.gitlab.repository.ProductOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxServiceTest {
+
+    @Mock
+    private ProductOutboxRepository productOutboxRepository;
+    @Mock
+    private ProductOutboxMapper productOutboxMapper;
+    @InjectMocks
+    private ProductOutboxService productOutboxService;
+
+    @Test
+    void should_publish_product_change_event_with_product_snapshot() {
+        Product product = new Product();
+        product.setId(5L);
+        when(productOutboxRepository.insertWithSnapshot(eq(5L), eq("UPDATED"), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        productOutboxService.publish(product, ProductChangeType.UPDATED);
+
+        verify(productOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void should_publish_bare_event_when_product_not_found() {
+        Product product = new Product();
+        product.setId(5L);
+        when(productOutboxRepository.insertWithSnapshot(eq(5L), eq("DELETED"), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        productOutboxService.publish(product, ProductChangeType.DELETED);
+
+        ArgumentCaptor<ProductOutboxEvent> captor = ArgumentCaptor.forClass(ProductOutboxEvent.class);
+        verify(productOutboxRepository).save(captor.capture());
+        assertEquals(5L, captor.getValue().getProductId());
+        assertEquals(ProductChangeType.DELETED, captor.getValue().getChangeType());
+    }
+
+    @Test
+    void should_get_batch_after_position() {
+        ProductOutboxEvent event = new ProductOutboxEvent();
+        event.setId(11L);
+        event.setTxid(700L);
+        event.setProductId(1L);
+        event.setChangeType(ProductChangeType.CREATED);
+        List<ProductOutboxEvent> events = List.of(event);
+        ProductChangeEventDto dto = new ProductChangeEventDto();
+        dto.setId(11L);
+        dto.setTxid(700L);
+        dto.setProductId(1L);
+        dto.setChangeType(ProductChangeType.CREATED);
+        List<ProductChangeEventDto> expectedResult = List.of(dto);
+        when(productOutboxRepository.findCommittedBatchAfter(700L, 10L, 50)).thenReturn(events);
+        when(productOutboxMapper.toDtoList(events)).thenReturn(expectedResult);
+
+        List<ProductChangeEventDto> actualResult = productOutboxService.getBatch(700L, 10L, 50);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    void should_limit_batch_size() {
+        when(productOutboxRepository.findCommittedBatchAfter(0L, 0L, 1000)).thenReturn(List.of());
+
+        productOutboxService.getBatch(null, null, 100_000);
+
+        verify(productOutboxRepository).findCommittedBatchAfter(0L, 0L, 1000);
+    }
+
+    @Test
+    void should_return_position_before_oldest_active_transaction() {
+        when(productOutboxRepository.findOldestActiveTxid()).thenReturn(900L);
+
+        ProductOutboxPositionDto position = productOutboxService.getPosition();
+
+        assertEquals(new ProductOutboxPositionDto(899L, Long.MAX_VALUE), position);
+    }
+}
@@ -1,10 +1,16 @@
 package com.gitlab.service;
 
 import com.gitlab.dto.ProductDto;
+import com.gitlab.dto.SliceDto;
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
+import com.gitlab.enums.ProductSort;
 import com.gitlab.mapper.ProductMapper;
 import com.gitlab.model.*;
+import com.gitlab.exception.handler.InvalidPageCursorException;
 import com.gitlab.repository.ProductRepository;
+import com.gitlab.util.KeysetPagination;
+import com.gitlab.util.PagePolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +19,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,26 +45,146 @@ class ProductServiceTest {
     private ProductMapper productMapper;
 
     @Mock
-    private UserService userService;
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private ProductOutboxService productOutboxService;
+
+    @Mock
+    private ExportService exportService;
 
     @InjectMocks
     private ProductService productService;
 
-    private User user;
     private Product product;
     private ProductDto productDto;
 
     @BeforeEach
     void setUp() {
-        user = new User();
-        user.setId(1L);
-        user.setFavouriteProducts(new HashSet<>());
         product = new Product();
         product.setId(1L);
         productDto = new ProductDto();
         productDto.setId(1L);
     }
 
+    @Test
+    void should_get_slice_after_cursor_without_count() {
+        Product second = new Product();
+        second.setId(2L);
+        ProductDto secondDto = new ProductDto();
+        secondDto.setId(2L);
+        when(productRepository.findIdsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(1L, 2L), Pageable.ofSize(2), true));
+        when(productRepository.findAllByIdInOrderById(List.of(1L, 2L))).thenReturn(List.of(product, second));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+        when(productMapper.toDto(second)).thenReturn(secondDto);
+
+        SliceDto<ProductDto> slice = productService.getSlice(null, 2, null, false);
+
+        assertEquals(List.of(productDto, secondDto), slice.getContent());
+        assertEquals(2L, KeysetPagination.decodeCursor(slice.getNextCursor()));
+        assertNull(slice.getTotalElements());
+        verify(productRepository, never()).countActive();
+    }
+
+    @Test
+    void should_get_last_slice_by_store_with_count() {
+        String cursor = KeysetPagination.encodeCursor(1L);
+        when(productRepository.findIdsByStoreAfter(eq(5L), eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(20), false));
+        when(productRepository.countActiveByStore(5L)).thenReturn(1L);
+
+        SliceDto<ProductDto> slice = productService.getSlice(cursor, null, 5L, true);
+
+        assertTrue(slice.getContent().isEmpty());
+        assertNull(slice.getNextCursor());
+        assertEquals(1L, slice.getTotalElements());
+        verify(productRepository, never()).findAllByIdInOrderById(any());
+    }
+
+    @Test
+    void should_reject_malformed_cursor() {
+        assertThrows(InvalidPageCursorException.class, () -> productService.getSlice("not-a-cursor", 10, null, false));
+        assertThrows(InvalidPageCursorException.class, () -> productService.getSlice(
+                Base64.getUrlEncoder().encodeToString("id:x".getBytes()), 10, null, false));
+    }
+
+    @Test
+    void should_get_page_by_rating_in_rating_order() {
+        Product second = new Product();
+        second.setId(2L);
+        ProductDto secondDto = new ProductDto();
+        secondDto.setId(2L);
+        PageRequest expectedRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, Product.RATING_AVERAGE_FIELD)
+                .and(Sort.by("id")));
+        when(productRepository.findIdsByRating(BigDecimal.valueOf(4), expectedRequest))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), expectedRequest, 5));
+        when(productRepository.findAllByIdInOrderById(List.of(2L, 1L))).thenReturn(List.of(product, second));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+        when(productMapper.toDto(second)).thenReturn(secondDto);
+
+        Page<ProductDto> page = productService.getPageByRating(0, 2, null, BigDecimal.valueOf(4), ProductSort.RATING);
+
+        assertEquals(List.of(secondDto, productDto), page.getContent());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    void should_filter_page_by_store_without_rating_filter() {
+        PageRequest expectedRequest = PageRequest.of(0, PagePolicy.DEFAULT_SIZE, Sort.by("id"));
+        when(productRepository.findIdsByStoreAndRating(5L, BigDecimal.ZERO, expectedRequest))
+                .thenReturn(Page.empty(expectedRequest));
+
+        Page<ProductDto> page = productService.getPageByRating(null, null, 5L, null, null);
+
+        assertTrue(page.isEmpty());
+        verify(productRepository, never()).findAllByIdInOrderById(any());
+    }
+
+    @Test
+    void should_recalculate_only_mismatched_product_ratings() {
+        when(productRepository.findRatingMismatchIds()).thenReturn(List.of(1L));
+        when(productRepository.recalculateRating(List.of(1L))).thenReturn(1);
+        when(productRepository.getById(1L)).thenReturn(product);
+
+        productService.reconcileRatings();
+
+        verify(productRepository).recalculateRating(List.of(1L));
+        verify(productOutboxService).publish(product, ProductChangeType.UPDATED);
+    }
+
+    @Test
+    void should_not_recalculate_consistent_ratings() {
+        when(productRepository.findRatingMismatchIds()).thenReturn(List.of());
+
+        productService.reconcileRatings();
+
+        verify(productRepository, never()).recalculateRating(any());
+        verifyNoInteractions(productOutboxService);
+    }
+
+    @Test
+    void should_export_only_products_updated_since_watermark() throws IOException {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Stream<Product> products = Stream.of(product);
+        OutputStream outputStream = new ByteArrayOutputStream();
+        when(productRepository.streamUpdatedSince(since, 10L)).thenReturn(products);
+        when(exportService.writeNdjson(same(products), any(), same(outputStream))).thenReturn(1L);
+
+        assertEquals(1L, productService.exportDto(10L, since, outputStream));
+        verify(productRepository, never()).streamAllAfter(anyLong());
+    }
+
+    @Test
+    void should_export_all_products_from_the_beginning_without_watermark() throws IOException {
+        when(productRepository.streamAllAfter(0L)).thenReturn(Stream.empty());
+
+        productService.exportDto(null, null, new ByteArrayOutputStream());
+
+        verify(productRepository).streamAllAfter(0L);
+        verify(productRepository, never()).streamUpdatedSince(any(), anyLong());
+    }
+
     @Test
     void should_find_all_products() {
         List<ProductDto> expectedResult = generateProductDtos();
@@ -135,20 +269,23 @@ class ProductServiceTest {
     }
 
     @Test
-    void should_find_products_with_pagination_of_null_parameter_fields() {
-        Page<ProductDto> expectedResult = new PageImpl<>(generateProductDtos());
-        when(productService.findAll()).thenReturn(generateProductDtos());
+    void should_find_first_page_of_default_size_when_pagination_parameters_are_null() {
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
         Page<ProductDto> actualResult = productService.getPage(null, null);
 
-        assertEquals(expectedResult, actualResult);
+        assertEquals(Page.empty(), actualResult);
+        verify(productRepository).findAll(PageRequest.of(0, PagePolicy.DEFAULT_SIZE));
+        verify(productRepository, never()).findAll();
     }
 
     @Test
-    void should_find_products_with_pagination_of_null_fields_when_products_not_found() {
-        when(productService.findAll()).thenReturn(Collections.emptyList());
-        Page<ProductDto> actualResult = productService.getPage(null, null);
+    void should_limit_page_size_by_pagination_policy() {
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
 
-        assertEquals(Page.empty(), actualResult);
+        productService.getPage(1, 10_000);
+
+        verify(productRepository).findAll(PageRequest.of(1, PagePolicy.MAX_SIZE));
     }
 
     @Test
@@ -173,6 +310,7 @@ class ProductServiceTest {
         Optional<ProductDto> actualResult = productService.save(generateProductDto());
 
         assertEquals(expectedResult, actualResult);
+        verify(productOutboxService).publish(any(Product.class), eq(ProductChangeType.CREATED));
     }
 
     @Test
@@ -196,7 +334,7 @@ class ProductServiceTest {
         Optional<ProductDto> actualResult = productService.update(id, inputProductDto);
 
         assertEquals(inputProductDto, actualResult.orElse(null));
-
+        verify(productOutboxService).publish(productAfterUpdate, ProductChangeType.UPDATED);
     }
 
     @Test
@@ -229,6 +367,7 @@ class ProductServiceTest {
         productService.delete(id);
 
         verify(productRepository).save(activeProduct);
+        verify(productOutboxService).publish(activeProduct, ProductChangeType.DELETED);
     }
 
     @Test
@@ -297,42 +436,77 @@ class ProductServiceTest {
 
     @Test
     void shouldAddFavouriteProductWhenProductExistsAndNotAlreadyFavourite() {
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUserId()).thenReturn(1L);
         when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
+        when(productRepository.addFavourite(1L, product.getId())).thenReturn(1);
 
         Optional<Product> result = productService.addFavouriteProduct(1L);
 
         assertTrue(result.isPresent());
         assertEquals(product, result.get());
-        assertTrue(user.getFavouriteProducts().contains(product));
-        verify(userService).save(user);
+    }
+
+    @Test
+    void shouldNotAddFavouriteProductTwice() {
+        when(authorizationService.getUserId()).thenReturn(1L);
+        when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
+        when(productRepository.addFavourite(1L, product.getId())).thenReturn(0);
+
+        assertTrue(productService.addFavouriteProduct(product.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldNotResolveUserWhenFavouriteProductNotFound() {
+        when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertTrue(productService.addFavouriteProduct(404L).isEmpty());
+        verify(authorizationService, never()).getUserId();
     }
 
     @Test
     void shouldDeleteFavouriteProductWhenProductExists() {
-        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(authorizationService.getUserId()).thenReturn(1L);
         when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
-        user.getFavouriteProducts().add(product);
+        when(productRepository.removeFavourite(1L, product.getId())).thenReturn(1);
 
         Optional<Product> result = productService.removeFavouriteProduct(product.getId());
 
         assertTrue(result.isPresent());
-        assertFalse(user.getFavouriteProducts().contains(product));
-        verify(userService).save(user);
+        verify(productRepository).removeFavourite(1L, product.getId());
     }
 
     @Test
-    public void should_get_all_favourite_products() {
+    public void should_get_page_of_favourite_products() {
+        when(authorizationService.getUserId()).thenReturn(1L);
+        when(productRepository.findFavouriteIds(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L), PageRequest.of(0, PagePolicy.DEFAULT_SIZE), 1));
+        when(productRepository.findAllByIdInOrderById(List.of(1L))).thenReturn(List.of(product));
+        when(productMapper.toDto(product)).thenReturn(productDto);
 
-        when(userService.getAuthenticatedUser()).thenReturn(user);
-        when(productMapper.toDtoList(anyList())).thenReturn(Collections.singletonList(productDto));
+        Page<ProductDto> result = productService.getFavouriteProducts(null, null);
 
-        List<ProductDto> result = productService.getFavouriteProducts();
+        assertEquals(List.of(productDto), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
 
-        assertEquals(1, result.size());
-        assertEquals(productDto.getId(), result.get(0).getId());
+    @Test
+    void should_not_get_favourite_products_for_invalid_page() {
+        assertTrue(productService.getFavouriteProducts(-1, 10).isEmpty());
+        verifyNoInteractions(productRepository, authorizationService);
+    }
+
+    @Test
+    void should_get_favourite_ids_with_single_query() {
+        when(authorizationService.getUserId()).thenReturn(1L);
+        when(productRepository.findFavouriteIds(1L, List.of(1L, 2L))).thenReturn(List.of(2L));
 
-        verify(productMapper).toDtoList(anyList());
+        assertEquals(Set.of(2L), productService.getFavouriteIds(Arrays.asList(1L, 2L, 2L, null)));
+    }
+
+    @Test
+    void should_not_query_favourite_ids_for_empty_list() {
+        assertTrue(productService.getFavouriteIds(List.of()).isEmpty());
+        verifyNoInteractions(productRepository, authorizationService);
     }
 
     private Product generateProduct() {
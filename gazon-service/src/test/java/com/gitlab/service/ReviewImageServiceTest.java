@@ -23,6 +23,8 @@ public class ReviewImageServiceTest {
 
     @Mock
     private ReviewImageRepository reviewImageRepository;
+    @Mock
+    private ImageStore imageStore;
     @InjectMocks
     private ReviewImageService reviewImageService;
 
@@ -69,8 +71,12 @@ public class ReviewImageServiceTest {
 
         ReviewImage updatedReviewImage = generateReviewImage();
         updatedReviewImage.setId(id);
+        updatedReviewImage.setContentHash("hash");
+        updatedReviewImage.setContentType("application/octet-stream");
+        updatedReviewImage.setSize((long) updatedReviewImage.getData().length);
 
         when(reviewImageRepository.findById(id)).thenReturn(Optional.of(reviewImageBeforeUpdate));
+        when(imageStore.put(reviewImageToUpdate.getData())).thenReturn("hash");
         when(reviewImageRepository.save(updatedReviewImage)).thenReturn(updatedReviewImage);
 
         Optional<ReviewImage> actualResult = reviewImageService.update(id, reviewImageToUpdate);
@@ -1,7 +1,10 @@
 package com.gitlab.service;
 
 import com.gitlab.enums.EntityStatus;
+import com.gitlab.enums.ProductChangeType;
+import com.gitlab.model.Product;
 import com.gitlab.model.Review;
+import com.gitlab.repository.ProductRepository;
 import com.gitlab.repository.ReviewRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,14 +12,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,9 +36,37 @@ public class ReviewServiceTest {
 
     @Mock
     private ReviewRepository reviewRepository;
+    @Mock
+    private ProductOutboxService productOutboxService;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ExportService exportService;
     @InjectMocks
     private ReviewService reviewService;
 
+    @Test
+    void should_export_only_reviews_updated_since_watermark() throws IOException {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Stream<Review> reviews = Stream.of(new Review());
+        OutputStream outputStream = new ByteArrayOutputStream();
+        when(reviewRepository.streamUpdatedSince(since, 10L)).thenReturn(reviews);
+        when(exportService.writeNdjson(same(reviews), any(), same(outputStream))).thenReturn(1L);
+
+        assertEquals(1L, reviewService.exportDto(10L, since, outputStream));
+        verify(reviewRepository, never()).streamAllAfter(anyLong());
+    }
+
+    @Test
+    void should_export_all_reviews_from_the_beginning_without_watermark() throws IOException {
+        when(reviewRepository.streamAllAfter(0L)).thenReturn(Stream.empty());
+
+        reviewService.exportDto(null, null, new ByteArrayOutputStream());
+
+        verify(reviewRepository).streamAllAfter(0L);
+        verify(reviewRepository, never()).streamUpdatedSince(any(), anyLong());
+    }
+
     @Test
     void should_find_all_reviews() {
         List<Review> expectedResult = generateReviews();
@@ -60,6 +98,19 @@ public class ReviewServiceTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    void should_publish_product_change_when_review_saved() {
+        Product product = new Product();
+        product.setId(1L);
+        Review review = generateReview();
+        review.setProduct(product);
+        when(reviewRepository.save(review)).thenReturn(review);
+
+        reviewService.save(review);
+
+        verify(productOutboxService).publish(product, ProductChangeType.UPDATED);
+    }
+
     @Test
     void should_update_review() {
         long id = 2L;
@@ -223,6 +274,65 @@ public class ReviewServiceTest {
         verify(reviewRepository, never()).deleteById(anyLong());
     }
 
+    @Test
+    void should_add_rating_to_product_when_review_saved() {
+        Review review = generateReview();
+        review.setProduct(generateProduct());
+        when(reviewRepository.save(review)).thenReturn(review);
+
+        reviewService.save(review);
+
+        verify(productRepository).addRating(1L, 6L, 1);
+    }
+
+    @Test
+    void should_apply_rating_difference_to_product_when_review_updated() {
+        long id = 1L;
+        Review reviewBeforeUpdate = generateReview();
+        reviewBeforeUpdate.setProduct(generateProduct());
+        Review reviewToUpdate = new Review();
+        reviewToUpdate.setRating((byte) 9);
+        when(reviewRepository.findById(id)).thenReturn(Optional.of(reviewBeforeUpdate));
+        when(reviewRepository.save(reviewBeforeUpdate)).thenReturn(reviewBeforeUpdate);
+
+        reviewService.update(id, reviewToUpdate);
+
+        verify(productRepository).addRating(1L, 3L, 0);
+    }
+
+    @Test
+    void should_not_touch_product_rating_when_rating_unchanged() {
+        long id = 1L;
+        Review reviewBeforeUpdate = generateReview();
+        reviewBeforeUpdate.setProduct(generateProduct());
+        Review reviewToUpdate = new Review();
+        reviewToUpdate.setComment("new comment");
+        when(reviewRepository.findById(id)).thenReturn(Optional.of(reviewBeforeUpdate));
+        when(reviewRepository.save(reviewBeforeUpdate)).thenReturn(reviewBeforeUpdate);
+
+        reviewService.update(id, reviewToUpdate);
+
+        verify(productRepository, never()).addRating(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void should_subtract_rating_from_product_when_review_deleted() {
+        long id = 1L;
+        Review deletedReview = generateReview(id);
+        deletedReview.setProduct(generateProduct());
+        when(reviewRepository.findById(id)).thenReturn(Optional.of(deletedReview));
+
+        reviewService.delete(id);
+
+        verify(productRepository).addRating(1L, -6L, -1);
+    }
+
+    private Product generateProduct() {
+        Product product = new Product();
+        product.setId(1L);
+        return product;
+    }
+
     private List<Review> generateReviews() {
         return List.of(
                 generateReview(1L),
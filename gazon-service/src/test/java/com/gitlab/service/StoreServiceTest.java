@@ -6,6 +6,7 @@ import com.gitlab.mapper.StoreMapper;
 import com.gitlab.model.Store;
 import com.gitlab.model.User;
 import com.gitlab.repository.StoreRepository;
+import com.gitlab.util.PagePolicy;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.*;
@@ -104,20 +106,14 @@ public class StoreServiceTest {
     }
 
     @Test
-    void should_find_stores_with_pagination_of_null_parameter_fields() {
-        Page<StoreDto> expectedResult = new PageImpl<>(generateStoreDtos());
+    void should_find_first_page_of_default_size_when_pagination_parameters_are_null() {
+        when(storeRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
 
-        when(storeService.findAll()).thenReturn(generateStoreDtos());
-        Page<StoreDto> actualResult = storeService.getPage(null, null);
-
-        assertEquals(expectedResult, actualResult);
-    }
-    @Test
-    void should_find_stores_with_pagination_of_null_fields_when_products_not_found() {
-        when(storeService.findAll()).thenReturn(Collections.emptyList());
         Page<StoreDto> actualResult = storeService.getPage(null, null);
 
         assertEquals(Page.empty(), actualResult);
+        verify(storeRepository).findAll(PageRequest.of(0, PagePolicy.DEFAULT_SIZE));
+        verify(storeRepository, never()).findAll();
     }
 
     @Test
@@ -212,8 +208,7 @@ public class StoreServiceTest {
 
         Optional<StoreDto> actualResult = storeService.update(id, storeDtoWithNullFields);
 
-        verify(storeMapper, times(0)).mapUserToLong(any());
-        verify(storeMapper, times(0)).mapOwnerIdToUser(any());
+        verify(storeMapper, times(0)).updateUsers(any(), any());
         assertEquals(Optional.of(expectedStoreDto), actualResult);
 
     }
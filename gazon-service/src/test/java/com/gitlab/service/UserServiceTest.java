@@ -28,6 +28,8 @@ class UserServiceTest {
     private UserMapper userMapper;
     @Mock
     private ShoppingCartService shoppingCartService;
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
     @InjectMocks
     private UserService userService;
 
@@ -330,6 +332,7 @@ class UserServiceTest {
         userService.delete(id);
         
         verify(userRepository).save(deletedUser);
+        verify(authenticatedUserCache).evict(deletedUser.getUsername());
     }
 
     @Test
@@ -0,0 +1,56 @@
+package com.gitlab.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collection;
+
+/**
+ * Пускает только администратора. Spring Security в payment-service не подключен, поэтому JWT проверяется
+ * здесь тем же общим секретом, что и в api-gateway, а роль берется из claim {@value #ROLES_CLAIM}.
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    private final JwtParser parser;
+
+    public AdminTokenInterceptor(@Value("${jwt_secret}") String secret) {
+        this.parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret))).build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(authorization.substring(BEARER_PREFIX.length())).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        if (!(claims.get(ROLES_CLAIM) instanceof Collection<?> roles) || !roles.contains(ADMIN_ROLE)) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package com.gitlab.controller;
 import com.gitlab.service.PaymentService;
 import com.gitlab.dto.PaymentDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +48,12 @@ public class PaymentRestController {
         }
         return ResponseEntity.ok(paymentPage);
     }
+    @GetMapping(value = "/api/payment/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(paymentService::exportDto);
+    }
     @PutMapping("/api/payment/{id}")
     ResponseEntity<PaymentDto> updatePayment(@PathVariable Long id, @RequestBody PaymentDto paymentDto) throws InterruptedException {
         PaymentDto updatedPaymentDto = paymentService.updatePayment(id, paymentDto);
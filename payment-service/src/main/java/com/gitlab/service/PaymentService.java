@@ -1,22 +1,28 @@
 package com.gitlab.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gitlab.dto.PaymentDto;
 import com.gitlab.enums.PaymentStatus;
 import com.gitlab.mapper.PaymentMapper;
 import com.gitlab.model.Payment;
 import com.gitlab.repository.PaymentRepository;
+import com.gitlab.util.NdjsonWriter;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +32,8 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
 
     public PaymentDto savePayment(PaymentDto paymentDto) {
@@ -58,17 +66,27 @@ public class PaymentService {
     }
 
     public List<PaymentDto> getPageDto(Integer page, Integer size) {
-        if (page == null || size == null) {
-            return paymentRepository.findAll()
-                    .stream()
-                    .map(paymentMapper::toDto)
-                    .toList();
+        if (!PagePolicy.isValid(page, size)) {
+            return List.of();
         }
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PagePolicy.of(page, size);
         Page<Payment> paymentPage = paymentRepository.findAll(pageable);
         return paymentPage.getContent()
                 .stream()
                 .map(paymentMapper::toDto)
                 .toList();
     }
+
+    /**
+     * Выгрузка всех платежей в NDJSON через серверный курсор, см. {@link NdjsonWriter}.
+     */
+    @Transactional(readOnly = true)
+    public long exportDto(OutputStream outputStream) throws IOException {
+        long count;
+        try (Stream<Payment> payments = paymentRepository.streamAll()) {
+            count = NdjsonWriter.write(payments, paymentMapper::toDto, objectMapper, entityManager::clear, outputStream);
+        }
+        log.info("exportDto: exported {} payments", count);
+        return count;
+    }
 }
@@ -0,0 +1,8 @@
+package com.gitlab.client;
+
+import com.gitlab.controllers.api.rest.ProductOutboxRestApi;
+import org.springframework.cloud.openfeign.FeignClient;
+
+@FeignClient(name = "gazonProductOutbox", url = "${client_GazonService.url}")
+public interface ProductOutboxClient extends ProductOutboxRestApi {
+}
@@ -0,0 +1,40 @@
+package com.gitlab.controller;
+
+import com.gitlab.controllers.api.rest.ProductFacetSearchRestApi;
+import com.gitlab.dto.ProductSearchFilterDto;
+import com.gitlab.dto.ProductSearchResultDto;
+import com.gitlab.service.ProductService;
+import com.gitlab.util.PagePolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductFacetSearchController implements ProductFacetSearchRestApi {
+
+    private final ProductService productService;
+
+    @Override
+    public ResponseEntity<ProductSearchResultDto> searchWithFacets(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                                   List<String> categories, List<Long> storeIds,
+                                                                   Boolean isAdult, Double minRating,
+                                                                   Integer page, Integer size) {
+        if (!PagePolicy.isValid(page, size)) {
+            return ResponseEntity.noContent().build();
+        }
+        ProductSearchFilterDto filter = ProductSearchFilterDto.builder()
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .categories(categories)
+                .storeIds(storeIds)
+                .isAdult(isAdult)
+                .minRating(minRating)
+                .build();
+        ProductSearchResultDto result = productService.searchWithFacets(name, filter, PagePolicy.of(page, size));
+        return result.getTotalElements() == 0 ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
+    }
+}
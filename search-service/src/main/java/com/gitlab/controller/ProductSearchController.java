@@ -3,9 +3,8 @@ package com.gitlab.controller;
 import com.gitlab.controllers.api.rest.ProductSearchRestApi;
 import com.gitlab.dto.ProductDto;
 import com.gitlab.service.ProductService;
+import com.gitlab.util.PagePolicy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,13 +18,12 @@ public class ProductSearchController implements ProductSearchRestApi {
     private final ProductService productService;
 
     @Override
-    public ResponseEntity<List<ProductDto>> searchOptionalPaginate(String name, Integer page, Integer size) throws InterruptedException {
-        if (page != null && size != null) {
-            Pageable pageable = PageRequest.of(page, size);
-            List<ProductDto> products = productService.findByNameIgnoreCaseContaining(name, pageable).getContent();
-            return products.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDto>> searchOptionalPaginate(String name, Integer page, Integer size) {
+        if (!PagePolicy.isValid(page, size)) {
+            return ResponseEntity.noContent().build();
         }
-        List<ProductDto> products = productService.findByNameIgnoreCaseContaining(name);
+        List<ProductDto> products = productService
+                .findByNameIgnoreCaseContaining(name, PagePolicy.of(page, size)).getContent();
         return products.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(products);
     }
 
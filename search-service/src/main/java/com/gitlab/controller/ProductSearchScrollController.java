@@ -0,0 +1,22 @@
+package com.gitlab.controller;
+
+import com.gitlab.controllers.api.rest.ProductSearchScrollRestApi;
+import com.gitlab.dto.ProductSearchPageDto;
+import com.gitlab.service.ProductSearchScrollService;
+import com.gitlab.util.PagePolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductSearchScrollController implements ProductSearchScrollRestApi {
+
+    private final ProductSearchScrollService productSearchScrollService;
+
+    @Override
+    public ResponseEntity<ProductSearchPageDto> scroll(String name, String after, Integer size) {
+        ProductSearchPageDto page = productSearchScrollService.scroll(name, after, PagePolicy.size(size));
+        return page.getProducts().isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(page);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gitlab.controller;
+
+import com.gitlab.controllers.api.rest.ProductSuggestRestApi;
+import com.gitlab.service.ProductSuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductSuggestController implements ProductSuggestRestApi {
+
+    private final ProductSuggestService productSuggestService;
+
+    @Override
+    public ResponseEntity<List<String>> suggest(String prefix, Integer size) {
+        List<String> suggestions = productSuggestService.suggest(prefix, size);
+        return suggestions.isEmpty()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(suggestions);
+    }
+}
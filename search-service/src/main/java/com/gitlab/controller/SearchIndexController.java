@@ -0,0 +1,43 @@
+package com.gitlab.controller;
+
+import com.gitlab.controllers.api.rest.SearchCacheRestApi;
+import com.gitlab.controllers.api.rest.SearchIndexRestApi;
+import com.gitlab.dto.SearchCacheStatsDto;
+import com.gitlab.service.ProductIndexService;
+import com.gitlab.service.ProductSearchCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class SearchIndexController implements SearchIndexRestApi, SearchCacheRestApi {
+
+    private final ProductIndexService productIndexService;
+    private final ProductSearchCache productSearchCache;
+
+    @Override
+    public ResponseEntity<Void> getStatus() {
+        return productIndexService.isIndexReady()
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @Override
+    public ResponseEntity<Void> rebuild() {
+        log.info("rebuild: Received request to rebuild product search index");
+        if (!productIndexService.rebuildAsync()) {
+            log.warn("rebuild: Product search index rebuild is already in progress");
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @Override
+    public ResponseEntity<SearchCacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(productSearchCache.getStats());
+    }
+}
@@ -23,7 +23,7 @@ public abstract class ProductMapper {
     private ProductImageService productImageService;
 
     @Mapping(source = "productImages", target = "imagesId")
-    @Mapping(source = "review", target = "rating")
+    @Mapping(target = "rating", expression = "java(mapRating(product.getRatingSum(), product.getRatingCount()))")
     @Mapping(source = "store", target = "storeId")
     public abstract ProductDto toDto(Product product);
 
@@ -61,13 +61,11 @@ public abstract class ProductMapper {
                 .toArray(Long[]::new);
     }
 
-    public String mapProductReviewsToRating(Set<Review> productReviews) {
-        if (productReviews == null || productReviews.isEmpty()) {
+    public String mapRating(Long ratingSum, Integer ratingCount) {
+        if (ratingSum == null || ratingCount == null || ratingCount == 0) {
             return "Нет оценок";
         }
-
-        return String.format("%.2f", productReviews.stream()
-                .map(Review::getRating).mapToInt(a -> a).average().orElse(0));
+        return String.format("%.2f", (double) ratingSum / ratingCount);
     }
 
     @Mapping(source = "imagesId", target = "productImages")
@@ -5,10 +5,25 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.Analyzer;
+import org.hibernate.search.annotations.AnalyzerDef;
+import org.hibernate.search.annotations.AnalyzerDefs;
+import org.hibernate.search.annotations.Facet;
+import org.hibernate.search.annotations.FacetEncodingType;
 import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Fields;
 import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.Parameter;
+import org.hibernate.search.annotations.SortableField;
 import org.hibernate.search.annotations.Store;
 import org.hibernate.search.annotations.TermVector;
+import org.hibernate.search.annotations.TokenFilterDef;
+import org.hibernate.search.annotations.TokenizerDef;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -20,15 +35,54 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "product")
-@Indexed
+@Indexed(interceptor = ProductIndexingInterceptor.class)
+@AnalyzerDefs({
+        @AnalyzerDef(name = Product.SUGGEST_ANALYZER,
+                tokenizer = @TokenizerDef(factory = KeywordTokenizerFactory.class),
+                filters = @TokenFilterDef(factory = LowerCaseFilterFactory.class)),
+        @AnalyzerDef(name = Product.NGRAM_ANALYZER,
+                tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+                filters = {
+                        @TokenFilterDef(factory = LowerCaseFilterFactory.class),
+                        @TokenFilterDef(factory = NGramFilterFactory.class, params = {
+                                @Parameter(name = "minGramSize", value = "" + Product.NGRAM_MIN_SIZE),
+                                @Parameter(name = "maxGramSize", value = "" + Product.NGRAM_MAX_SIZE)})
+                }),
+        @AnalyzerDef(name = Product.NGRAM_QUERY_ANALYZER,
+                tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+                filters = @TokenFilterDef(factory = LowerCaseFilterFactory.class))
+})
 public class Product {
 
+    public static final String SUGGEST_ANALYZER = "productNameSuggest";
+    public static final String NGRAM_ANALYZER = "productNameNgram";
+    public static final String NGRAM_QUERY_ANALYZER = "productNameNgramQuery";
+    public static final int NGRAM_MIN_SIZE = 3;
+    public static final int NGRAM_MAX_SIZE = 20;
+    public static final String ID_FIELD = "id";
+    public static final String ID_SORT_FIELD = "idSort";
+    public static final String NAME_FIELD = "name";
+    public static final String NAME_SUGGEST_FIELD = "nameSuggest";
+    public static final String NAME_NGRAM_FIELD = "nameNgram";
+    public static final String PRICE_FIELD = "price";
+    public static final String CATEGORY_FIELD = "productCategory.name";
+    public static final String STORE_FIELD = "store.id";
+    public static final String ADULT_FIELD = "isAdult";
+    public static final String STATUS_FIELD = "entityStatus";
+    public static final String RATING_FIELD = "averageRating";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Field(name = ID_SORT_FIELD, analyze = Analyze.NO)
+    @SortableField(forField = ID_SORT_FIELD)
     private Long id;
 
     @Column(name = "name")
-    @Field(termVector = TermVector.YES, store = Store.YES)
+    @Fields({
+            @Field(termVector = TermVector.YES, store = Store.YES),
+            @Field(name = NAME_SUGGEST_FIELD, analyzer = @Analyzer(definition = SUGGEST_ANALYZER)),
+            @Field(name = NAME_NGRAM_FIELD, analyzer = @Analyzer(definition = NGRAM_ANALYZER))
+    })
     private String name;
 
     @Column(name = "stock_count")
@@ -57,6 +111,7 @@ public class Product {
 
     @Column(name = "entity_status")
     @Enumerated(EnumType.STRING)
+    @Field(name = STATUS_FIELD, analyze = Analyze.NO)
     private EntityStatus entityStatus;
 
     @ManyToOne
@@ -66,4 +121,57 @@ public class Product {
     @ManyToOne
     @JoinColumn(name = "product_category_id")
     private ProductCategory productCategory;
-}
\ No newline at end of file
+
+    /**
+     * Сумма и число оценок активных отзывов, ведутся в gazon-service. Средний рейтинг считается из них
+     * при индексации, без подзапроса к отзывам.
+     */
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private Integer ratingCount = 0;
+
+    /*
+     * Ниже — денормализованные значения для фильтров и фасетов поиска. Они вычисляются при индексации,
+     * чтобы фильтрация и подсчет фасетов выполнялись целиком в Lucene.
+     */
+
+    /**
+     * Средний рейтинг, null без оценок: такие продукты не попадают ни в фильтр, ни в диапазоны фасета.
+     */
+    @Field(name = RATING_FIELD, analyze = Analyze.NO)
+    @Facet(forField = RATING_FIELD, encoding = FacetEncodingType.DOUBLE)
+    public Double getAverageRating() {
+        return ratingSum == null || ratingCount == null || ratingCount == 0
+                ? null
+                : (double) ratingSum / ratingCount;
+    }
+
+    @Field(name = PRICE_FIELD, analyze = Analyze.NO)
+    @Facet(forField = PRICE_FIELD, encoding = FacetEncodingType.DOUBLE)
+    public Double getIndexedPrice() {
+        return price == null ? null : price.doubleValue();
+    }
+
+    @Field(name = CATEGORY_FIELD, analyze = Analyze.NO)
+    @Facet(forField = CATEGORY_FIELD)
+    public String getIndexedCategoryName() {
+        return productCategory == null ? null : productCategory.getName();
+    }
+
+    @Field(name = STORE_FIELD, analyze = Analyze.NO)
+    @Facet(forField = STORE_FIELD)
+    public String getIndexedStoreId() {
+        return store == null || store.getId() == null ? null : store.getId().toString();
+    }
+
+    /**
+     * Hibernate Search не поддерживает фасеты по Boolean, поэтому признак индексируется строкой "true"/"false".
+     */
+    @Field(name = ADULT_FIELD, analyze = Analyze.NO)
+    @Facet(forField = ADULT_FIELD)
+    public String getIndexedAdult() {
+        return isAdult == null ? null : isAdult.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.gitlab.model;
+
+import com.gitlab.enums.EntityStatus;
+import org.hibernate.search.indexes.interceptor.EntityIndexingInterceptor;
+import org.hibernate.search.indexes.interceptor.IndexingOverride;
+
+/**
+ * Оставляет в поисковом индексе только активные продукты, в том числе при массовой индексации.
+ */
+public class ProductIndexingInterceptor implements EntityIndexingInterceptor<Product> {
+
+    @Override
+    public IndexingOverride onAdd(Product product) {
+        return isActive(product) ? IndexingOverride.APPLY_DEFAULT : IndexingOverride.SKIP;
+    }
+
+    @Override
+    public IndexingOverride onUpdate(Product product) {
+        return isActive(product) ? IndexingOverride.UPDATE : IndexingOverride.REMOVE;
+    }
+
+    @Override
+    public IndexingOverride onDelete(Product product) {
+        return IndexingOverride.APPLY_DEFAULT;
+    }
+
+    @Override
+    public IndexingOverride onCollectionUpdate(Product product) {
+        return onUpdate(product);
+    }
+
+    private boolean isActive(Product product) {
+        return product.getEntityStatus() == EntityStatus.ACTIVE;
+    }
+}
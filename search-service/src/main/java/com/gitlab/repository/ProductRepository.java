@@ -1,10 +0,0 @@
-package com.gitlab.repository;
-
-import com.gitlab.model.Product;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface ProductRepository extends ReadOnlyRepository<Product, Long> {
-
-    Iterable<Product> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
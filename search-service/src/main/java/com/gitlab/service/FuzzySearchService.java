@@ -1,5 +1,8 @@
 package com.gitlab.service;
 
+import com.gitlab.dto.ProductSearchFilterDto;
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.exception.handler.SearchIndexNotReadyException;
 import com.gitlab.model.Product;
 import lombok.RequiredArgsConstructor;
 import org.apache.lucene.search.Query;
@@ -11,8 +14,10 @@ import org.hibernate.search.query.dsl.QueryBuilder;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Сервис для выполнения нечеткого (fuzzy) поиска продуктов в базе данных с использованием Hibernate Search.
@@ -22,48 +27,148 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FuzzySearchService {
 
+    private static final float EXACT_MATCH_BOOST = 2f;
+
     private final EntityManager entityManager;
+    private final ProductIndexService productIndexService;
 
     /**
-     * Создает FullTextQuery для выполнения нечеткого поиска продуктов по названию.
+     * Создает FullTextQuery для выполнения нечеткого поиска продуктов по названию среди активных продуктов.
+     * Запрос выполняется по уже построенному индексу, см. {@link ProductIndexService}.
+     * Результаты упорядочены по релевантности.
      *
      * @param name Введенное название продукта в поиске, по которому будет выполняться нечеткий поиск.
      * @return FullTextQuery, представляющий запрос на нечеткий поиск.
      */
-    public FullTextQuery getFullTextQuery(String name) throws InterruptedException {
+    public FullTextQuery getFullTextQuery(String name) {
+        return getFullTextQuery(name, null);
+    }
 
-        // Получаем FullTextEntityManager для выполнения поиска.
+    /**
+     * Создает FullTextQuery для нечеткого поиска по названию с фильтрами по цене, категории, магазину,
+     * признаку "для взрослых" и рейтингу. Фильтры добавляются в запрос Lucene как условия без влияния на релевантность,
+     * поэтому отбор выполняется в индексе, а не над результатом запроса.
+     *
+     * @param name   Введенное название продукта, пустая строка означает поиск по всем продуктам.
+     * @param filter Фильтры поиска, незаполненные поля не ограничивают выборку.
+     * @return FullTextQuery с учетом фильтров.
+     */
+    public FullTextQuery getFullTextQuery(String name, ProductSearchFilterDto filter) {
         FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
-        fullTextEntityManager.createIndexer().startAndWait();
+        return fullTextEntityManager.createFullTextQuery(getLuceneQuery(name, filter), Product.class);
+    }
 
-        // Создаем QueryBuilder для создания запросов.
-        QueryBuilder queryBuilder = fullTextEntityManager.getSearchFactory()
+    /**
+     * Создает запрос Lucene для поиска по названию с фильтрами, см. {@link #getFullTextQuery(String, ProductSearchFilterDto)}.
+     * Используется там, где запрос выполняется напрямую по индексу, например при постраничном обходе курсором.
+     */
+    public Query getLuceneQuery(String name, ProductSearchFilterDto filter) {
+        if (!productIndexService.isIndexReady()) throw new SearchIndexNotReadyException();
+
+        QueryBuilder queryBuilder = getQueryBuilder(Search.getFullTextEntityManager(entityManager));
+
+        BooleanJunction<BooleanJunction> query = queryBuilder.bool();
+        query.must(name == null || name.isBlank()
+                ? queryBuilder.all().createQuery()
+                : createNameQuery(queryBuilder, name));
+        for (Query filterQuery : createFilterQueries(queryBuilder, filter)) {
+            query.must(filterQuery).disableScoring();
+        }
+        return query.createQuery();
+    }
+
+    private QueryBuilder getQueryBuilder(FullTextEntityManager fullTextEntityManager) {
+        // Запрос по n-граммам не режется на n-граммы сам: ключевое слово ищется как одна n-грамма названия.
+        return fullTextEntityManager.getSearchFactory()
                 .buildQueryBuilder()
                 .forEntity(Product.class)
+                .overridesForField(Product.NAME_NGRAM_FIELD, Product.NGRAM_QUERY_ANALYZER)
                 .get();
+    }
 
+    private Query createNameQuery(QueryBuilder queryBuilder, String name) {
         // Разбиваем входное название продукта на ключевые слова.
-        String[] keywords = name.split("\\s+");
+        String[] keywords = name.trim().split("\\s+");
 
-        // Создаем список запросов для каждого ключевого слова.
-        List<Query> queryList = new ArrayList<>();
+        // Каждое ключевое слово должно совпасть с названием нечетко (до 2 опечаток) или как подстрока.
+        // Подстроки ищутся по n-граммам названия, поэтому отдельный LIKE-запрос к БД не нужен.
+        BooleanJunction<BooleanJunction> finalQuery = queryBuilder.bool();
         for (String keyword : keywords) {
-            Query query = queryBuilder.keyword()
+            BooleanJunction<BooleanJunction> keywordQuery = queryBuilder.bool();
+            keywordQuery.should(queryBuilder.keyword()
                     .fuzzy() // Используем нечеткий поиск
                     .withEditDistanceUpTo(2) // Разрешаем до 2 опечаток
-                    .onField("name") // Производим поиск по полю "name" продукта
+                    .onField(Product.NAME_FIELD) // Производим поиск по полю "name" продукта
                     .matching(keyword) // Устанавливаем ключевое слово для поиска
-                    .createQuery();
-            queryList.add(query);
+                    .createQuery());
+            // Точное совпадение слова поднимаем выше совпадений с опечатками и подстрок.
+            keywordQuery.should(queryBuilder.keyword()
+                    .onField(Product.NAME_FIELD)
+                    .boostedTo(EXACT_MATCH_BOOST)
+                    .matching(keyword)
+                    .createQuery());
+            if (keyword.length() < Product.NGRAM_MIN_SIZE) {
+                // Короткие слова короче n-граммы ищем как начало слова названия.
+                keywordQuery.should(queryBuilder.keyword()
+                        .wildcard()
+                        .onField(Product.NAME_FIELD)
+                        .matching(keyword.toLowerCase(Locale.ROOT) + "*")
+                        .createQuery());
+            } else if (keyword.length() <= Product.NGRAM_MAX_SIZE) {
+                keywordQuery.should(queryBuilder.keyword()
+                        .onField(Product.NAME_NGRAM_FIELD)
+                        .matching(keyword)
+                        .createQuery());
+            }
+            finalQuery.must(keywordQuery.createQuery());
         }
 
-        // Создаем логическое соединение запросов.
-        BooleanJunction<BooleanJunction> finalQuery = queryBuilder.bool();
-        for (Query query : queryList) {
-            finalQuery.must(query);
+        return finalQuery.createQuery();
+    }
+
+    private List<Query> createFilterQueries(QueryBuilder queryBuilder, ProductSearchFilterDto filter) {
+        List<Query> filters = new ArrayList<>();
+        filters.add(queryBuilder.keyword().onField(Product.STATUS_FIELD).matching(EntityStatus.ACTIVE).createQuery());
+        if (filter == null) {
+            return filters;
+        }
+
+        Double minPrice = toDouble(filter.getMinPrice());
+        Double maxPrice = toDouble(filter.getMaxPrice());
+        if (minPrice != null && maxPrice != null) {
+            filters.add(queryBuilder.range().onField(Product.PRICE_FIELD).from(minPrice).to(maxPrice).createQuery());
+        } else if (minPrice != null) {
+            filters.add(queryBuilder.range().onField(Product.PRICE_FIELD).above(minPrice).createQuery());
+        } else if (maxPrice != null) {
+            filters.add(queryBuilder.range().onField(Product.PRICE_FIELD).below(maxPrice).createQuery());
+        }
+
+        if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+            filters.add(createAnyOfQuery(queryBuilder, Product.CATEGORY_FIELD, filter.getCategories()));
         }
+        if (filter.getStoreIds() != null && !filter.getStoreIds().isEmpty()) {
+            filters.add(createAnyOfQuery(queryBuilder, Product.STORE_FIELD,
+                    filter.getStoreIds().stream().map(String::valueOf).toList()));
+        }
+        if (filter.getIsAdult() != null) {
+            filters.add(queryBuilder.keyword().onField(Product.ADULT_FIELD)
+                    .matching(filter.getIsAdult().toString()).createQuery());
+        }
+        if (filter.getMinRating() != null) {
+            filters.add(queryBuilder.range().onField(Product.RATING_FIELD).above(filter.getMinRating()).createQuery());
+        }
+        return filters;
+    }
+
+    private Query createAnyOfQuery(QueryBuilder queryBuilder, String field, List<String> values) {
+        BooleanJunction<BooleanJunction> anyOf = queryBuilder.bool();
+        for (String value : values) {
+            anyOf.should(queryBuilder.keyword().onField(field).matching(value).createQuery());
+        }
+        return anyOf.createQuery();
+    }
 
-        // Возвращаем FullTextQuery, который объединяет несколько запросов по ключевым словам.
-        return fullTextEntityManager.createFullTextQuery(finalQuery.createQuery(), Product.class);
+    private Double toDouble(BigDecimal value) {
+        return value == null ? null : value.doubleValue();
     }
 }
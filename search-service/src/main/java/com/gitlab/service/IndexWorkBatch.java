@@ -0,0 +1,38 @@
+package com.gitlab.service;
+
+import org.hibernate.search.backend.TransactionContext;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Пачка изменений индекса вне транзакции базы данных. Работы накапливаются так же, как в транзакции,
+ * и применяются к индексу одним коммитом Lucene при вызове {@link #commit()}.
+ */
+class IndexWorkBatch implements TransactionContext {
+
+    private final List<Synchronization> synchronizations = new ArrayList<>();
+
+    @Override
+    public boolean isTransactionInProgress() {
+        return true;
+    }
+
+    @Override
+    public Object getTransactionIdentifier() {
+        return this;
+    }
+
+    @Override
+    public void registerSynchronization(Synchronization synchronization) {
+        synchronizations.add(synchronization);
+    }
+
+    void commit() {
+        synchronizations.forEach(Synchronization::beforeCompletion);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(Status.STATUS_COMMITTED));
+        synchronizations.clear();
+    }
+}
@@ -0,0 +1,107 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.FacetValueDto;
+import com.gitlab.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.FacetRangeBelowContinuationContext;
+import org.hibernate.search.query.dsl.FacetRangeEndContext;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.facet.FacetSortOrder;
+import org.hibernate.search.query.facet.FacetingRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис подсчета фасетов поиска продуктов. Количество значений считается Lucene по документам,
+ * прошедшим запрос вместе с фильтрами, без загрузки самих продуктов.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFacetService {
+
+    public static final String PRICE_FACET = "price";
+    public static final String CATEGORY_FACET = "category";
+    public static final String STORE_FACET = "store";
+    public static final String ADULT_FACET = "isAdult";
+    public static final String RATING_FACET = "rating";
+
+    private static final List<String> FACETS = List.of(PRICE_FACET, CATEGORY_FACET, STORE_FACET, ADULT_FACET, RATING_FACET);
+
+    private final EntityManager entityManager;
+
+    @Value("${search.facets.price-ranges:1000,5000,20000,50000}")
+    private List<Double> priceRanges;
+
+    @Value("${search.facets.rating-ranges:2,3,4}")
+    private List<Double> ratingRanges;
+
+    @Value("${search.facets.max-count:20}")
+    private int maxFacetCount;
+
+    /**
+     * Включает подсчет всех фасетов для запроса. Должен вызываться до выполнения запроса.
+     */
+    public void enableFacets(FullTextQuery query) {
+        QueryBuilder queryBuilder = Search.getFullTextEntityManager(entityManager).getSearchFactory()
+                .buildQueryBuilder()
+                .forEntity(Product.class)
+                .get();
+        query.getFacetManager()
+                .enableFaceting(createRangeFacet(queryBuilder, PRICE_FACET, Product.PRICE_FIELD, priceRanges))
+                .enableFaceting(createDiscreteFacet(queryBuilder, CATEGORY_FACET, Product.CATEGORY_FIELD))
+                .enableFaceting(createDiscreteFacet(queryBuilder, STORE_FACET, Product.STORE_FIELD))
+                .enableFaceting(createDiscreteFacet(queryBuilder, ADULT_FACET, Product.ADULT_FIELD))
+                .enableFaceting(createRangeFacet(queryBuilder, RATING_FACET, Product.RATING_FIELD, ratingRanges));
+    }
+
+    /**
+     * @return значения фасетов с количеством продуктов, ключ — имя фасета.
+     */
+    public Map<String, List<FacetValueDto>> getFacets(FullTextQuery query) {
+        Map<String, List<FacetValueDto>> facets = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            facets.put(facet, query.getFacetManager().getFacets(facet).stream()
+                    .map(value -> new FacetValueDto(value.getValue(), value.getCount()))
+                    .toList());
+        }
+        return facets;
+    }
+
+    private FacetingRequest createDiscreteFacet(QueryBuilder queryBuilder, String facetName, String field) {
+        return queryBuilder.facet()
+                .name(facetName)
+                .onField(field)
+                .discrete()
+                .orderedBy(FacetSortOrder.COUNT_DESC)
+                .includeZeroCounts(false)
+                .maxFacetCount(maxFacetCount)
+                .createFacetingRequest();
+    }
+
+    /**
+     * Создает фасет из непересекающихся диапазонов: (-∞, l0), [l0, l1), ..., [ln, +∞).
+     */
+    private FacetingRequest createRangeFacet(QueryBuilder queryBuilder, String facetName, String field, List<Double> limits) {
+        FacetRangeBelowContinuationContext<Double> ranges = queryBuilder.facet()
+                .name(facetName)
+                .onField(field)
+                .<Double>range()
+                .below(limits.get(0))
+                .excludeLimit();
+        if (limits.size() == 1) {
+            return ranges.above(limits.get(0)).includeZeroCounts(false).createFacetingRequest();
+        }
+        FacetRangeEndContext<Double> lastRange = ranges.from(limits.get(0)).to(limits.get(1)).excludeLimit();
+        for (int i = 2; i < limits.size(); i++) {
+            lastRange = lastRange.from(limits.get(i - 1)).to(limits.get(i)).excludeLimit();
+        }
+        return lastRange.above(limits.get(limits.size() - 1)).includeZeroCounts(false).createFacetingRequest();
+    }
+}
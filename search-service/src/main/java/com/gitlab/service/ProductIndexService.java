@@ -0,0 +1,323 @@
+package com.gitlab.service;
+
+import com.gitlab.client.ProductOutboxClient;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.search.SearchFactory;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.orm.spi.SearchIntegratorHelper;
+import org.hibernate.search.spi.impl.PojoIndexedTypeIdentifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис управления жизненным циклом полнотекстового индекса продуктов.
+ * При старте индекс продолжает ленту изменений с сохраненной позиции, а если ее нет или она устарела,
+ * строится с нуля. Дальше индекс поддерживается инкрементально по событиям изменения продуктов
+ * из gazon-service, см. {@link ProductOutboxConsumer}: по событиям перечитываются текущие строки измененных продуктов.
+ * Полная перестройка выполняется асинхронно по расписанию или по запросу администратора, на время
+ * перестройки чтение ленты приостанавливается, а после нее продолжается с позиции, полученной до начала
+ * чтения базы. Перестройка исправляет и возможные расхождения индекса с базой.
+ * В индекс попадают только активные продукты, см. {@link com.gitlab.model.ProductIndexingInterceptor}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexService {
+
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductOutboxClient productOutboxClient;
+    private final ProductOutboxOffsetStore offsetStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean indexReady = new AtomicBoolean(false);
+    private final AtomicBoolean buildFailed = new AtomicBoolean(false);
+    private final AtomicBoolean rebuildInProgress = new AtomicBoolean(false);
+    private final AtomicLong generation = new AtomicLong(0);
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${search.index.batch-size:100}")
+    private int batchSize;
+
+    @Value("${search.index.threads:4}")
+    private int threads;
+
+    @Value("${search.index.wait-on-startup:false}")
+    private boolean waitOnStartup;
+
+    /**
+     * При старте приложения продолжает ленту изменений с сохраненной позиции, если она есть и индекс не пуст.
+     * Иначе строит индекс с нуля: индекс очищается, затем заполняется массовой индексацией.
+     * До завершения построения поиск недоступен.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        if (offsetStore.load() && hasIndexedProducts()) {
+            indexReady.set(true);
+            generation.incrementAndGet();
+            log.info("buildIndexOnStartup: Resuming product index from outbox position {}", offsetStore.getPosition());
+            return;
+        }
+        log.info("buildIndexOnStartup: Starting initial product index build");
+        CompletableFuture<Void> build = submit("buildIndex", this::massIndex);
+        if (waitOnStartup && build != null) {
+            build.join();
+        }
+    }
+
+    /**
+     * Повторяет построение индекса, если оно не удалось, например, лента изменений была недоступна.
+     */
+    @Scheduled(fixedDelayString = "${search.index.retry-delay:60000}")
+    public void retryFailedBuild() {
+        if (buildFailed.get() && !indexReady.get()) {
+            log.info("retryFailedBuild: Retrying product index build");
+            submit("buildIndex", this::massIndex);
+        }
+    }
+
+    @Scheduled(cron = "${search.index.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        log.info("scheduledRebuild: Scheduled product index rebuild triggered");
+        rebuildAsync();
+    }
+
+    /**
+     * Запускает полную перестройку индекса в фоне. Индекс не очищается и остается доступным для поиска:
+     * все продукты базы по порядку id переиндексируются пачками, каждый документ заменяется по id,
+     * неактивные продукты удаляются из индекса. Так исправляются и расхождения индекса с базой,
+     * и дубли документов.
+     *
+     * @return false, если перестройка уже выполняется.
+     */
+    public boolean rebuildAsync() {
+        return submit("rebuildIndex", this::reindexInPlace) != null;
+    }
+
+    public boolean isIndexReady() {
+        return indexReady.get();
+    }
+
+    public boolean isRebuildInProgress() {
+        return rebuildInProgress.get();
+    }
+
+    /**
+     * Номер поколения индекса, увеличивается после каждого применения изменений к индексу.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Приводит индекс измененных продуктов к текущему состоянию базы: строки продуктов перечитываются одним
+     * запросом, активные переиндексируются, удаленные и неактивные удаляются из индекса. Поэтому порядок
+     * и повторы событий не важны: устаревшее событие не может вернуть в индекс прежнее состояние продукта.
+     * Изменения фиксируются в индексе одним коммитом, после чего публикуется {@link ProductNamesChangedEvent}
+     * с прежними и новыми названиями.
+     *
+     * @param productIds id измененных продуктов без повторов.
+     */
+    public void applyChanges(Collection<Long> productIds) {
+        List<String> removedNames = findIndexedNames(productIds);
+        List<String> addedNames = new ArrayList<>();
+        EntityManager indexerEntityManager = entityManagerFactory.createEntityManager();
+        try {
+            Map<Long, Product> products = indexerEntityManager.createQuery("select p from Product p "
+                            + "left join fetch p.store left join fetch p.productCategory "
+                            + "where p.id in :ids", Product.class)
+                    .setParameter("ids", productIds)
+                    .setHint(QueryHints.HINT_READONLY, true)
+                    .getResultStream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            Worker worker = getWorker();
+            IndexWorkBatch batch = new IndexWorkBatch();
+            for (Long productId : productIds) {
+                Product product = products.get(productId);
+                if (product != null && product.getEntityStatus() == EntityStatus.ACTIVE) {
+                    if (product.getName() != null) {
+                        addedNames.add(product.getName());
+                    }
+                    worker.performWork(new Work(product, productId, WorkType.UPDATE), batch);
+                } else {
+                    worker.performWork(new Work(PojoIndexedTypeIdentifier.convertFromLegacy(Product.class), productId,
+                            WorkType.DELETE), batch);
+                }
+            }
+            batch.commit();
+        } finally {
+            indexerEntityManager.close();
+        }
+        long appliedGeneration = generation.incrementAndGet();
+        eventPublisher.publishEvent(new ProductNamesChangedEvent(appliedGeneration, removedNames, addedNames));
+        log.debug("applyChanges: Applied {} product changes to index", productIds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+
+    /**
+     * Позиция ленты берется до чтения базы: изменения до нее попадут в индекс из базы, изменения после нее
+     * будут применены из ленты после построения, повторное применение идемпотентно.
+     */
+    private CompletableFuture<Void> submit(String operation, IndexTask task) {
+        if (!rebuildInProgress.compareAndSet(false, true)) {
+            log.warn("{}: Product index rebuild is already in progress", operation);
+            return null;
+        }
+        return CompletableFuture.runAsync(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                ProductOutboxPositionDto position = productOutboxClient.getPosition().getBody();
+                if (position == null) {
+                    throw new IllegalStateException("Product outbox position is not available");
+                }
+                task.run();
+                offsetStore.reset(position);
+                buildFailed.set(false);
+                indexReady.set(true);
+                generation.incrementAndGet();
+                log.info("{}: Product index built in {} ms, outbox position {}",
+                        operation, System.currentTimeMillis() - start, position);
+            } catch (InterruptedException e) {
+                log.warn("{}: Product index build was interrupted", operation);
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                buildFailed.set(true);
+                log.error("{}: Product index build failed", operation, e);
+            } finally {
+                rebuildInProgress.set(false);
+            }
+        }, indexExecutor);
+    }
+
+    private void massIndex() throws InterruptedException {
+        EntityManager indexerEntityManager = entityManagerFactory.createEntityManager();
+        try {
+            Search.getFullTextEntityManager(indexerEntityManager).createIndexer(Product.class)
+                    .purgeAllOnStart(true)
+                    .batchSizeToLoadObjects(batchSize)
+                    .threadsToLoadObjects(threads)
+                    .startAndWait();
+        } finally {
+            indexerEntityManager.close();
+        }
+    }
+
+    private void reindexInPlace() throws InterruptedException {
+        EntityManager indexerEntityManager = entityManagerFactory.createEntityManager();
+        try {
+            Worker worker = getWorker();
+            long lastId = 0;
+            List<Product> products;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                products = indexerEntityManager.createQuery("select p from Product p "
+                                + "left join fetch p.store left join fetch p.productCategory "
+                                + "where p.id > :lastId order by p.id", Product.class)
+                        .setParameter("lastId", lastId)
+                        .setHint(QueryHints.HINT_READONLY, true)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+                IndexWorkBatch batch = new IndexWorkBatch();
+                products.forEach(product -> worker.performWork(
+                        new Work(product, product.getId(), WorkType.UPDATE), batch));
+                batch.commit();
+                indexerEntityManager.clear();
+                if (!products.isEmpty()) {
+                    lastId = products.get(products.size() - 1).getId();
+                }
+            } while (products.size() == batchSize);
+        } finally {
+            indexerEntityManager.close();
+        }
+    }
+
+    private boolean hasIndexedProducts() {
+        SearchFactory searchFactory = Search.getFullTextEntityManager(entityManager).getSearchFactory();
+        IndexReader reader = searchFactory.getIndexReaderAccessor().open(Product.class);
+        try {
+            return reader.numDocs() > 0;
+        } finally {
+            searchFactory.getIndexReaderAccessor().close(reader);
+        }
+    }
+
+    /**
+     * Названия, под которыми продукты событий сейчас находятся в индексе.
+     */
+    private List<String> findIndexedNames(Collection<Long> productIds) {
+        SearchFactory searchFactory = Search.getFullTextEntityManager(entityManager).getSearchFactory();
+        IndexReader reader = searchFactory.getIndexReaderAccessor().open(Product.class);
+        try {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            List<String> names = new ArrayList<>();
+            for (Long productId : productIds) {
+                TermQuery query = new TermQuery(new Term(Product.ID_FIELD, productId.toString()));
+                for (ScoreDoc hit : searcher.search(query, 1).scoreDocs) {
+                    String name = searcher.doc(hit.doc).get(Product.NAME_FIELD);
+                    if (name != null) {
+                        names.add(name);
+                    }
+                }
+            }
+            return names;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            searchFactory.getIndexReaderAccessor().close(reader);
+        }
+    }
+
+    private Worker getWorker() {
+        return SearchIntegratorHelper.extractFromEntityManagerFactory(entityManagerFactory).getWorker();
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,24 @@
+package com.gitlab.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Названия продуктов, удаленные из поискового индекса и добавленные в него одной пачкой изменений.
+ * Публикуется {@link ProductIndexService} после фиксации пачки в индексе.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductNamesChangedEvent {
+
+    /**
+     * Поколение индекса, в котором изменения уже видны, см. {@link ProductIndexService#getGeneration()}.
+     */
+    private final long generation;
+
+    private final List<String> removedNames;
+
+    private final List<String> addedNames;
+}
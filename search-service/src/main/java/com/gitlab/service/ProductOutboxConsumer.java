@@ -0,0 +1,89 @@
+package com.gitlab.service;
+
+import com.gitlab.client.ProductOutboxClient;
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Потребитель ленты изменений продуктов из transactional outbox gazon-service.
+ * Забирает события пачками в порядке (txid, id) и по ним обновляет локальный поисковый индекс.
+ * Позиция сохраняется в {@link ProductOutboxOffsetStore} после применения пачки,
+ * повторное применение событий после сбоя идемпотентно.
+ * <p>
+ * Порядок номеров транзакций не совпадает с порядком коммитов: событие более поздней транзакции может
+ * описывать более старое состояние продукта, в том числе в следующем опросе. Поэтому поля событий в индекс
+ * не переносятся: событие только сообщает, какой продукт изменился, а {@link ProductIndexService#applyChanges}
+ * перечитывает его текущую строку.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductOutboxConsumer {
+
+    private final ProductOutboxClient productOutboxClient;
+    private final ProductIndexService productIndexService;
+    private final ProductOutboxOffsetStore offsetStore;
+
+    @Value("${search.outbox.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Читает ленту до конца. Во время построения индекса чтение приостанавливается:
+     * после построения позиция будет установлена заново.
+     */
+    @Scheduled(fixedDelayString = "${search.outbox.poll-delay:5000}")
+    public void poll() {
+        if (!productIndexService.isIndexReady() || productIndexService.isRebuildInProgress()) {
+            return;
+        }
+        int received;
+        do {
+            received = consumeBatch();
+        } while (received == batchSize);
+    }
+
+    /**
+     * Забирает и применяет одну пачку событий.
+     *
+     * @return количество полученных событий, 0, если позиция была сброшена перестройкой индекса.
+     */
+    int consumeBatch() {
+        ProductOutboxPositionDto position = offsetStore.getPosition();
+        List<ProductChangeEventDto> events;
+        try {
+            ResponseEntity<List<ProductChangeEventDto>> response =
+                    productOutboxClient.getBatch(position.getTxid(), position.getId(), batchSize);
+            events = response.getBody();
+        } catch (RuntimeException e) {
+            log.warn("consumeBatch: Could not fetch product change events: {}", e.getMessage());
+            return 0;
+        }
+        if (events == null || events.isEmpty()) {
+            offsetStore.touch();
+            return 0;
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        events.forEach(event -> productIds.add(event.getProductId()));
+        productIndexService.applyChanges(productIds);
+
+        ProductChangeEventDto last = events.get(events.size() - 1);
+        ProductOutboxPositionDto next = new ProductOutboxPositionDto(last.getTxid(), last.getId());
+        if (!offsetStore.advance(position, next)) {
+            log.info("consumeBatch: Product outbox position was reset during batch, events will be reapplied");
+            return 0;
+        }
+        log.info("consumeBatch: Applied {} product change events, position: {}", events.size(), next);
+        return events.size();
+    }
+}
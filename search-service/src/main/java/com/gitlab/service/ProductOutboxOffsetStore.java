@@ -0,0 +1,137 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.ProductOutboxPositionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Позиция потребителя в ленте изменений продуктов. Хранится в файле рядом с индексом и переживает рестарт:
+ * если позиция моложе срока хранения ленты, индекс не строится заново, а догоняет ленту с сохраненной позиции.
+ * Файл перезаписывается атомарно, вместе с позицией сохраняется время последнего подтверждения.
+ */
+@Slf4j
+@Component
+public class ProductOutboxOffsetStore {
+
+    private static final ProductOutboxPositionDto START = new ProductOutboxPositionDto(0L, 0L);
+    private static final Duration TOUCH_INTERVAL = Duration.ofHours(1);
+
+    private final Path file;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private ProductOutboxPositionDto position = START;
+    private Instant savedAt = Instant.EPOCH;
+
+    @Autowired
+    public ProductOutboxOffsetStore(
+            @Value("${search.outbox.offset-file:fuzzy-search-indexes/product-outbox.offset}") String file,
+            @Value("${search.outbox.resume-max-age:6d}") Duration maxAge) {
+        this(Path.of(file), maxAge, Clock.systemUTC());
+    }
+
+    ProductOutboxOffsetStore(Path file, Duration maxAge, Clock clock) {
+        this.file = file;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Загружает сохраненную позицию.
+     *
+     * @return false, если позиции нет, она повреждена или старше срока хранения ленты:
+     * события после нее могли быть уже удалены, и индекс нужно строить заново.
+     */
+    public synchronized boolean load() {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+            ProductOutboxPositionDto loaded = new ProductOutboxPositionDto(
+                    Long.parseLong(properties.getProperty("txid")),
+                    Long.parseLong(properties.getProperty("id")));
+            Instant loadedSavedAt = Instant.parse(properties.getProperty("savedAt"));
+            if (loadedSavedAt.isBefore(clock.instant().minus(maxAge))) {
+                log.info("load: Product outbox position saved at {} is too old to resume", loadedSavedAt);
+                return false;
+            }
+            position = loaded;
+            savedAt = loadedSavedAt;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("load: Could not read product outbox position from {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized ProductOutboxPositionDto getPosition() {
+        return position;
+    }
+
+    /**
+     * Сдвигает позицию после применения пачки событий. Если позиция тем временем была сброшена
+     * перестройкой индекса, сдвиг не выполняется: события после позиции перестройки будут применены повторно.
+     *
+     * @return false, если позиция изменилась с момента чтения пачки.
+     */
+    public synchronized boolean advance(ProductOutboxPositionDto expected, ProductOutboxPositionDto next) {
+        if (!Objects.equals(position, expected)) {
+            return false;
+        }
+        save(next);
+        return true;
+    }
+
+    /**
+     * Устанавливает позицию, с которой лента читается после построения индекса.
+     */
+    public synchronized void reset(ProductOutboxPositionDto next) {
+        save(next);
+    }
+
+    /**
+     * Подтверждает, что после позиции новых событий нет, чтобы простой без изменений
+     * не делал позицию устаревшей. Файл перезаписывается не чаще раза в час.
+     */
+    public synchronized void touch() {
+        if (savedAt.isBefore(clock.instant().minus(TOUCH_INTERVAL))) {
+            save(position);
+        }
+    }
+
+    private void save(ProductOutboxPositionDto next) {
+        position = next;
+        savedAt = clock.instant();
+        Properties properties = new Properties();
+        properties.setProperty("txid", String.valueOf(next.getTxid()));
+        properties.setProperty("id", String.valueOf(next.getId()));
+        properties.setProperty("savedAt", savedAt.toString());
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "product outbox position");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("save: Could not persist product outbox position to {}: {}", file, e.getMessage());
+        }
+    }
+}
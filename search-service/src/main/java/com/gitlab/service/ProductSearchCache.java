@@ -0,0 +1,148 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.FacetValueDto;
+import com.gitlab.dto.ProductSearchFilterDto;
+import com.gitlab.dto.SearchCacheStatsDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов поиска продуктов: для нормализованного запроса, фильтров и страницы хранит id найденных
+ * продуктов в порядке релевантности, общее количество и фасеты. Размер ограничен, при переполнении
+ * вытесняется давно не запрашивавшийся результат (LRU).
+ * <p>
+ * Результаты привязаны к поколению поискового индекса {@link ProductIndexService#getGeneration()}:
+ * как только индекс изменился, весь кэш сбрасывается, поэтому устаревшая выдача не отдается.
+ * <p>
+ * Записи хранятся в {@link LinkedHashMap} с порядком доступа под общей блокировкой. Под ней выполняются только
+ * обращение к карте и счетчики, сам поиск идет вне блокировки, поэтому на фоне поиска по индексу
+ * блокировка не заметна.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchCache {
+
+    private final ProductIndexService productIndexService;
+
+    @Value("${search.cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<SearchKey, SearchHits> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SearchKey, SearchHits> eldest) {
+            if (size() > maxSize) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private long cachedGeneration = -1;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    /**
+     * Возвращает результат из кэша или выполняет поиск и кэширует его.
+     * Поколение индекса фиксируется до выполнения поиска: если индекс изменился во время поиска,
+     * результат не попадет в кэш.
+     */
+    public SearchHits getOrSearch(SearchKey key, Supplier<SearchHits> search) {
+        if (maxSize <= 0) {
+            return search.get();
+        }
+        long generation = productIndexService.getGeneration();
+        synchronized (this) {
+            invalidateIfStale(generation);
+            SearchHits cached = entries.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+        }
+        SearchHits hits = search.get();
+        synchronized (this) {
+            if (generation == cachedGeneration) {
+                entries.put(key, hits);
+            }
+        }
+        return hits;
+    }
+
+    public synchronized SearchCacheStatsDto getStats() {
+        long requests = hitCount + missCount;
+        return new SearchCacheStatsDto(entries.size(), maxSize, hitCount, missCount, evictionCount,
+                invalidationCount, requests == 0 ? 0 : (double) hitCount / requests);
+    }
+
+    private void invalidateIfStale(long generation) {
+        if (generation == cachedGeneration) {
+            return;
+        }
+        if (!entries.isEmpty()) {
+            log.debug("invalidateIfStale: Index generation changed to {}, dropping {} cached searches",
+                    generation, entries.size());
+            invalidationCount += entries.size();
+            entries.clear();
+        }
+        cachedGeneration = generation;
+    }
+
+    /**
+     * Ключ кэша. Запрос приводится к нижнему регистру с единичными пробелами, списки фильтров сортируются,
+     * поэтому "iPhone  13" и "iphone 13" попадают в одну запись.
+     */
+    @lombok.Value
+    public static class SearchKey {
+        String name;
+        BigDecimal minPrice;
+        BigDecimal maxPrice;
+        List<String> categories;
+        List<Long> storeIds;
+        Boolean isAdult;
+        Double minRating;
+        long offset;
+        int size;
+        boolean withFacets;
+
+        public static SearchKey of(String name, ProductSearchFilterDto filter, Pageable pageable, boolean withFacets) {
+            ProductSearchFilterDto keyFilter = filter == null ? new ProductSearchFilterDto() : filter;
+            return new SearchKey(
+                    normalize(name),
+                    keyFilter.getMinPrice() == null ? null : keyFilter.getMinPrice().stripTrailingZeros(),
+                    keyFilter.getMaxPrice() == null ? null : keyFilter.getMaxPrice().stripTrailingZeros(),
+                    keyFilter.getCategories() == null ? null : keyFilter.getCategories().stream().sorted().toList(),
+                    keyFilter.getStoreIds() == null ? null : keyFilter.getStoreIds().stream().sorted().toList(),
+                    keyFilter.getIsAdult(),
+                    keyFilter.getMinRating(),
+                    pageable.getOffset(),
+                    pageable.getPageSize(),
+                    withFacets);
+        }
+
+        static String normalize(String name) {
+            return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @lombok.Value
+    public static class SearchHits {
+        List<Long> ids;
+        long totalHits;
+        Map<String, List<FacetValueDto>> facets;
+    }
+}
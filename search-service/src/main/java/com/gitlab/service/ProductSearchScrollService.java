@@ -0,0 +1,105 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.ProductSearchPageDto;
+import com.gitlab.exception.handler.InvalidSearchCursorException;
+import com.gitlab.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.hibernate.search.SearchFactory;
+import org.hibernate.search.jpa.Search;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Сервис постраничного обхода результатов поиска курсором (search after).
+ * Результаты упорядочены по релевантности, при равной релевантности — по id продукта,
+ * поэтому курсор "релевантность + id" однозначно задает позицию. В отличие от смещения,
+ * стоимость получения страницы не растет с ее номером.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSearchScrollService {
+
+    private static final Sort RELEVANCE_SORT = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(Product.ID_SORT_FIELD, SortField.Type.LONG));
+
+    private final EntityManager entityManager;
+    private final FuzzySearchService fuzzySearchService;
+    private final ProductService productService;
+
+    /**
+     * @param name  Введенное название продукта, пустая строка означает поиск по всем продуктам.
+     * @param after Курсор из предыдущей страницы или null для первой страницы.
+     * @param size  Размер страницы.
+     */
+    @Transactional(readOnly = true)
+    public ProductSearchPageDto scroll(String name, String after, int size) {
+        Query query = fuzzySearchService.getLuceneQuery(name, null);
+
+        SearchFactory searchFactory = Search.getFullTextEntityManager(entityManager).getSearchFactory();
+        IndexReader reader = searchFactory.getIndexReaderAccessor().open(Product.class);
+        ScoreDoc[] hits;
+        try {
+            if (reader.maxDoc() == 0) {
+                return new ProductSearchPageDto(Collections.emptyList(), null);
+            }
+            FieldDoc afterDoc = decodeCursor(after, reader.maxDoc() - 1);
+            TopFieldDocs topDocs = new IndexSearcher(reader).searchAfter(afterDoc, query, size, RELEVANCE_SORT, true, false);
+            hits = topDocs.scoreDocs;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            searchFactory.getIndexReaderAccessor().close(reader);
+        }
+
+        List<Long> ids = new ArrayList<>(hits.length);
+        for (ScoreDoc hit : hits) {
+            ids.add((Long) ((FieldDoc) hit).fields[1]);
+        }
+        String nextCursor = hits.length == size ? encodeCursor((FieldDoc) hits[hits.length - 1]) : null;
+        return new ProductSearchPageDto(productService.findAllByIdInOrder(ids), nextCursor);
+    }
+
+    private static String encodeCursor(FieldDoc last) {
+        String position = Float.floatToIntBits((Float) last.fields[0]) + ":" + last.fields[1];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Позиция определяется только полями сортировки (id уникален), номер документа нужен Lucene
+     * лишь для разрешения полностью равных значений, поэтому берется последний документ читателя.
+     */
+    private static FieldDoc decodeCursor(String cursor, int lastDoc) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new InvalidSearchCursorException();
+            }
+            float score = Float.intBitsToFloat(Integer.parseInt(position[0]));
+            long id = Long.parseLong(position[1]);
+            return new FieldDoc(lastDoc, score, new Object[]{score, id});
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchCursorException();
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.gitlab.service;
 
 import com.gitlab.dto.ProductDto;
-import com.gitlab.enums.EntityStatus;
+import com.gitlab.dto.ProductSearchFilterDto;
+import com.gitlab.dto.ProductSearchResultDto;
 import com.gitlab.mapper.ProductMapper;
 import com.gitlab.model.Product;
-import com.gitlab.repository.ProductRepository;
+import com.gitlab.service.ProductSearchCache.SearchHits;
+import com.gitlab.service.ProductSearchCache.SearchKey;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,41 +17,105 @@ import org.hibernate.search.jpa.FullTextQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import javax.persistence.EntityManager;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class ProductService {
 
+    private final EntityManager entityManager;
     private final FuzzySearchService fuzzySearchService;
-    private final ProductRepository productRepository;
+    private final ProductFacetService productFacetService;
+    private final ProductSearchCache productSearchCache;
     private final ProductMapper productMapper;
 
-    public List<ProductDto> findByNameIgnoreCaseContaining(String name) throws InterruptedException {
+    /**
+     * По смещению доступны только первые {@code maxResults} результатов, дальше - только курсором,
+     * см. {@link ProductSearchScrollService}. Размер страницы ограничивает {@link com.gitlab.util.PagePolicy}.
+     */
+    @Value("${search.max-results:1000}")
+    private int maxResults;
 
-        FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(name);
-        List<Product> firstList = jpaQuery.getResultList();
-        List<Product> secondList = (List<Product>) productRepository.findByNameContainingIgnoreCase(name);
-
-        List<Product> mergedList = new ArrayList<>(firstList);
+    @Transactional(readOnly = true)
+    public Page<ProductDto> findByNameIgnoreCaseContaining(String name, Pageable pageable) {
 
-        mergedList.removeAll(secondList);
-        mergedList.addAll(secondList);
+        if (pageable.getOffset() >= maxResults) {
+            return Page.empty(pageable);
+        }
+        SearchKey key = SearchKey.of(name, null, pageable, false);
+        SearchHits hits = productSearchCache.getOrSearch(key, () -> {
+            FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(key.getName());
+            limitToPage(jpaQuery, pageable);
+            return new SearchHits(getIds(jpaQuery),
+                    Math.min(jpaQuery.getResultSize(), maxResults),
+                    Collections.emptyMap());
+        });
 
-        return mergedList.stream().filter(mergedList1 -> mergedList1.getEntityStatus().equals(EntityStatus.ACTIVE)).map(productMapper::toDto).toList();
+        return new PageImpl<>(findAllByIdInOrder(hits.getIds()), pageable, hits.getTotalHits());
     }
 
     @Transactional(readOnly = true)
-    public Page<ProductDto> findByNameIgnoreCaseContaining(String name, Pageable pageable) throws InterruptedException {
+    public ProductSearchResultDto searchWithFacets(String name, ProductSearchFilterDto filter, Pageable pageable) {
+
+        SearchKey key = SearchKey.of(name, filter, pageable, true);
+        SearchHits hits = productSearchCache.getOrSearch(key, () -> {
+            FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(key.getName(), filter);
+            productFacetService.enableFacets(jpaQuery);
+            List<Long> ids = Collections.emptyList();
+            if (pageable.getOffset() < maxResults) {
+                limitToPage(jpaQuery, pageable);
+                ids = getIds(jpaQuery);
+            }
+            return new SearchHits(ids, jpaQuery.getResultSize(), productFacetService.getFacets(jpaQuery));
+        });
+
+        return new ProductSearchResultDto(findAllByIdInOrder(hits.getIds()), hits.getTotalHits(), hits.getFacets());
+    }
 
-        FullTextQuery jpaQuery = fuzzySearchService.getFullTextQuery(name);
-        jpaQuery.setFirstResult(pageable.getPageSize() * pageable.getPageNumber())
-                .setMaxResults(pageable.getPageSize());
-        Page<Product> fuzzyPage = new PageImpl<>(jpaQuery.getResultList(), pageable, jpaQuery.getResultSize());
+    /**
+     * Загружает продукты одним запросом, сохраняя порядок переданных id (порядок релевантности).
+     * Продукты, удаленные из базы после поиска, пропускаются.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Product> products = entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.id IN :ids", Product.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toDto)
+                .toList();
+    }
 
-        return fuzzyPage.map(productMapper::toDto);
+    /**
+     * Ограничивает запрос страницей, не выходя за {@link #maxResults} результатов.
+     */
+    private void limitToPage(FullTextQuery jpaQuery, Pageable pageable) {
+        int offset = (int) pageable.getOffset();
+        jpaQuery.setFirstResult(offset)
+                .setMaxResults(Math.min(pageable.getPageSize(), maxResults - offset));
     }
 
+    /**
+     * Забирает из индекса только id найденных продуктов, не загружая сущности.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Long> getIds(FullTextQuery jpaQuery) {
+        jpaQuery.setProjection(ProjectionConstants.ID);
+        List<Object[]> rows = jpaQuery.getResultList();
+        return rows.stream().map(row -> (Long) row[0]).toList();
+    }
 }
@@ -0,0 +1,190 @@
+package com.gitlab.service;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.Builder;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.apache.lucene.util.fst.Util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Неизменяемый префиксный индекс подсказок на основе FST (finite state transducer).
+ * Каждому названию сопоставлен вес — количество продуктов с таким названием; поиск по префиксу
+ * проходит по дугам автомата и возвращает top-N продолжений по убыванию веса, не перебирая весь словарь.
+ * Изменения после построения автомата учитываются при поиске через небольшую поправку весов,
+ * см. {@link #lookup(String, int, NavigableMap)}.
+ */
+public final class ProductSuggestIndex {
+
+    public static final ProductSuggestIndex EMPTY = new ProductSuggestIndex(null, 0);
+
+    private final FST<Long> fst;
+    private final int size;
+
+    private ProductSuggestIndex(FST<Long> fst, int size) {
+        this.fst = fst;
+        this.size = size;
+    }
+
+    /**
+     * Создает построитель индекса. Названия должны добавляться в порядке возрастания байтов UTF-8,
+     * в котором их отдает словарь терминов Lucene.
+     */
+    public static IndexBuilder builder() {
+        return new IndexBuilder();
+    }
+
+    /**
+     * Приводит введенный текст к виду, в котором названия хранятся в индексе.
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.stripLeading().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Приводит название продукта к термину индекса подсказок, как это делает анализатор
+     * {@link com.gitlab.model.Product#SUGGEST_ANALYZER}.
+     */
+    public static String toTerm(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param prefix уже нормализованный префикс, см. {@link #normalize(String)}.
+     * @param limit  максимальное количество подсказок.
+     * @return названия, начинающиеся с префикса, по убыванию веса.
+     */
+    public List<String> lookup(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        complete(prefix, limit, (name, weight) -> suggestions.add(name));
+        return suggestions;
+    }
+
+    /**
+     * Поиск с поправкой весов на изменения, сделанные после построения автомата. Из автомата берется
+     * больше продолжений, чем нужно, на число уменьшенных весов с этим префиксом, затем веса поправляются,
+     * названия с нулевым весом отбрасываются, а новые названия добавляются.
+     *
+     * @param overlay изменение веса по термину названия, см. {@link #toTerm(String)}.
+     */
+    public List<String> lookup(String prefix, int limit, NavigableMap<String, Integer> overlay) {
+        SortedMap<String, Integer> deltas = overlay.isEmpty() || prefix.isEmpty()
+                ? Collections.emptySortedMap()
+                : overlay.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (deltas.isEmpty()) {
+            return lookup(prefix, limit);
+        }
+        int reduced = (int) deltas.values().stream().filter(delta -> delta < 0).count();
+        Map<String, Integer> weights = new HashMap<>();
+        complete(prefix, limit + reduced, weights::put);
+        deltas.forEach((name, delta) -> weights.put(name,
+                weights.getOrDefault(name, weight(name)) + delta));
+        return weights.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return вес названия в автомате, 0, если названия нет.
+     */
+    public int weight(String name) {
+        if (fst == null) {
+            return 0;
+        }
+        try {
+            Long cost = Util.get(fst, new BytesRef(name));
+            return cost == null ? 0 : (int) (Integer.MAX_VALUE - cost);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long ramBytesUsed() {
+        return fst == null ? 0 : fst.ramBytesUsed();
+    }
+
+    private void complete(String prefix, int limit, ObjIntConsumer<String> consumer) {
+        if (fst == null || prefix.isEmpty() || limit <= 0) {
+            return;
+        }
+        try {
+            BytesRef prefixBytes = new BytesRef(prefix);
+            FST.Arc<Long> arc = fst.getFirstArc(new FST.Arc<>());
+            FST.BytesReader reader = fst.getBytesReader();
+            Long prefixOutput = fst.outputs.getNoOutput();
+            for (int i = 0; i < prefixBytes.length; i++) {
+                int label = prefixBytes.bytes[prefixBytes.offset + i] & 0xFF;
+                if (fst.findTargetArc(label, arc, arc, reader) == null) {
+                    return;
+                }
+                prefixOutput = fst.outputs.add(prefixOutput, arc.output);
+            }
+
+            Util.TopResults<Long> completions =
+                    Util.shortestPaths(fst, arc, prefixOutput, Comparator.naturalOrder(), limit, true);
+            for (Util.Result<Long> completion : completions) {
+                byte[] bytes = new byte[prefixBytes.length + completion.input.length];
+                System.arraycopy(prefixBytes.bytes, prefixBytes.offset, bytes, 0, prefixBytes.length);
+                for (int i = 0; i < completion.input.length; i++) {
+                    bytes[prefixBytes.length + i] = (byte) completion.input.ints[completion.input.offset + i];
+                }
+                consumer.accept(new String(bytes, StandardCharsets.UTF_8), (int) (Integer.MAX_VALUE - completion.output));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static final class IndexBuilder {
+
+        private final Builder<Long> fstBuilder = new Builder<>(FST.INPUT_TYPE.BYTE1, PositiveIntOutputs.getSingleton());
+        private final IntsRefBuilder scratch = new IntsRefBuilder();
+        private int size;
+
+        private IndexBuilder() {
+        }
+
+        public IndexBuilder add(BytesRef name, int weight) {
+            try {
+                // FST выбирает кратчайшие пути, поэтому вес переводится в стоимость: чем больше вес, тем меньше стоимость.
+                fstBuilder.add(Util.toIntsRef(name, scratch), (long) Integer.MAX_VALUE - weight);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size++;
+            return this;
+        }
+
+        public ProductSuggestIndex build() {
+            try {
+                FST<Long> fst = fstBuilder.finish();
+                return fst == null ? EMPTY : new ProductSuggestIndex(fst, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.gitlab.service;
+
+import com.gitlab.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.hibernate.search.SearchFactory;
+import org.hibernate.search.jpa.Search;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Сервис подсказок при наборе поискового запроса.
+ * Подсказки отдаются из префиксного индекса в памяти, см. {@link ProductSuggestIndex}, без обращения к Lucene и БД.
+ * FST неизменяем и строится из словаря терминов поля {@link Product#NAME_SUGGEST_FIELD}, поэтому изменения
+ * названий из {@link ProductNamesChangedEvent} копятся в небольшой поправке весов поверх него.
+ * Редко, по расписанию слияния, FST пересобирается целиком, и поправка очищается от уже учтенных изменений.
+ * Поправка не видит перестройку поискового индекса, после нее подсказки обновляются при ближайшем слиянии.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestService {
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductIndexService productIndexService;
+
+    /**
+     * Изменения весов по поколениям индекса, еще не учтенные в FST.
+     */
+    private final NavigableMap<Long, Map<String, Integer>> pendingDeltas = new TreeMap<>();
+
+    private volatile SuggestState state = new SuggestState(ProductSuggestIndex.EMPTY, Collections.emptyNavigableMap());
+    private volatile long builtGeneration = -1;
+
+    /**
+     * @param prefix введенная пользователем часть названия.
+     * @param size   желаемое количество подсказок, не больше {@link #MAX_SUGGESTIONS}.
+     * @return названия продуктов, начинающиеся с префикса, самые частые первыми.
+     */
+    public List<String> suggest(String prefix, int size) {
+        SuggestState current = state;
+        return current.index.lookup(ProductSuggestIndex.normalize(prefix), Math.min(size, MAX_SUGGESTIONS),
+                current.overlay);
+    }
+
+    /**
+     * Первое построение FST, как только готов поисковый индекс.
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-delay:2000}")
+    public void refresh() {
+        if (builtGeneration < 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Слияние накопленных изменений: FST пересобирается, если индекс изменился с прошлого построения.
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.merge-delay:600000}")
+    public void merge() {
+        if (productIndexService.getGeneration() != builtGeneration) {
+            rebuild();
+        }
+    }
+
+    @EventListener
+    public void onProductNamesChanged(ProductNamesChangedEvent event) {
+        Map<String, Integer> deltas = new HashMap<>();
+        event.getRemovedNames().forEach(name -> deltas.merge(ProductSuggestIndex.toTerm(name), -1, Integer::sum));
+        event.getAddedNames().forEach(name -> deltas.merge(ProductSuggestIndex.toTerm(name), 1, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        synchronized (pendingDeltas) {
+            pendingDeltas.put(event.getGeneration(), deltas);
+            state = new SuggestState(state.index, aggregatePendingDeltas());
+        }
+    }
+
+    /**
+     * Поколение берется до чтения словаря: изменения до него уже есть в словаре и убираются из поправки,
+     * более поздние остаются в ней, даже если тоже попали в словарь, до следующего слияния.
+     */
+    private synchronized void rebuild() {
+        if (!productIndexService.isIndexReady()) {
+            return;
+        }
+        long generation = productIndexService.getGeneration();
+        long start = System.currentTimeMillis();
+        try {
+            ProductSuggestIndex index = buildFromSearchIndex();
+            synchronized (pendingDeltas) {
+                pendingDeltas.headMap(generation, true).clear();
+                state = new SuggestState(index, aggregatePendingDeltas());
+            }
+            builtGeneration = generation;
+            log.debug("rebuild: Suggest index with {} names ({} bytes) built in {} ms",
+                    index.size(), index.ramBytesUsed(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("rebuild: Could not build suggest index", e);
+        }
+    }
+
+    private NavigableMap<String, Integer> aggregatePendingDeltas() {
+        NavigableMap<String, Integer> overlay = new TreeMap<>();
+        pendingDeltas.values().forEach(deltas -> deltas.forEach((term, delta) -> overlay.merge(term, delta, Integer::sum)));
+        overlay.values().removeIf(delta -> delta == 0);
+        return Collections.unmodifiableNavigableMap(overlay);
+    }
+
+    private ProductSuggestIndex buildFromSearchIndex() throws IOException {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            SearchFactory searchFactory = Search.getFullTextEntityManager(entityManager).getSearchFactory();
+            IndexReader reader = searchFactory.getIndexReaderAccessor().open(Product.class);
+            try {
+                return readNames(reader);
+            } finally {
+                searchFactory.getIndexReaderAccessor().close(reader);
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private ProductSuggestIndex readNames(IndexReader reader) throws IOException {
+        ProductSuggestIndex.IndexBuilder builder = ProductSuggestIndex.builder();
+        Terms terms = MultiFields.getTerms(reader, Product.NAME_SUGGEST_FIELD);
+        if (terms == null) {
+            return builder.build();
+        }
+        Bits liveDocs = MultiFields.getLiveDocs(reader);
+        TermsEnum termsEnum = terms.iterator();
+        PostingsEnum postings = null;
+        BytesRef term;
+        while ((term = termsEnum.next()) != null) {
+            postings = termsEnum.postings(postings, PostingsEnum.NONE);
+            int count = 0;
+            for (int doc = postings.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+                if (liveDocs == null || liveDocs.get(doc)) {
+                    count++;
+                }
+            }
+            if (count > 0) {
+                builder.add(term, count);
+            }
+        }
+        return builder.build();
+    }
+
+    private static final class SuggestState {
+
+        private final ProductSuggestIndex index;
+        private final NavigableMap<String, Integer> overlay;
+
+        private SuggestState(ProductSuggestIndex index, NavigableMap<String, Integer> overlay) {
+            this.index = index;
+            this.overlay = overlay;
+        }
+    }
+}
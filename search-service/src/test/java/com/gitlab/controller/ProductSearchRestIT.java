@@ -0,0 +1,109 @@
+package com.gitlab.controller;
+
+import com.gitlab.client.ProductOutboxClient;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.enums.EntityStatus;
+import com.gitlab.model.Product;
+import com.gitlab.service.ProductIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Поиск через REST поверх индекса search-service. Схему создает Hibernate: в проде таблицы ведет gazon-service,
+ * лента изменений gazon-service подменяется моком, индекс строится полной перестройкой.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "search.outbox.poll-delay=3600000"
+})
+class ProductSearchRestIT extends AbstractIntegrationTest {
+
+    private static final String PRODUCT_URN = "/api/search";
+    private static final String PRODUCT_URI = URL + PRODUCT_URN;
+
+    @MockBean
+    private ProductOutboxClient productOutboxClient;
+
+    @Autowired
+    private ProductIndexService productIndexService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(productOutboxClient.getPosition()).thenReturn(ResponseEntity.ok(new ProductOutboxPositionDto(0L, 0L)));
+    }
+
+    @Test
+    void should_get_product_by_name() throws Exception {
+        saveProducts("searchable kettle", 1);
+
+        mockMvc.perform(get(PRODUCT_URI + "?name=kettle"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("searchable kettle 0"));
+    }
+
+    @Test
+    void should_no_content_when_search() throws Exception {
+        saveProducts("present", 1);
+
+        mockMvc.perform(get(PRODUCT_URI + "?name=UwUwU"))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void should_paginate_when_search() throws Exception {
+        saveProducts("paged lamp", 7);
+
+        mockMvc.perform(get(PRODUCT_URI + "?name=lamp&page=0&size=5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*]", hasSize(5)));
+    }
+
+    private void saveProducts(String name, int count) throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                Product product = new Product();
+                product.setName(name + " " + i);
+                product.setDescription("description");
+                product.setPrice(BigDecimal.TEN);
+                product.setIsAdult(false);
+                product.setEntityStatus(EntityStatus.ACTIVE);
+                entityManager.persist(product);
+            }
+        });
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() throws InterruptedException {
+        while (!productIndexService.rebuildAsync()) {
+            Thread.sleep(50);
+        }
+        for (int attempt = 0; attempt < 200 && productIndexService.isRebuildInProgress(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertTrue(productIndexService.isIndexReady(), "product index was not built");
+    }
+}
@@ -0,0 +1,144 @@
+package com.gitlab.service;
+
+import com.gitlab.client.ProductOutboxClient;
+import com.gitlab.dto.ProductChangeEventDto;
+import com.gitlab.dto.ProductOutboxPositionDto;
+import com.gitlab.enums.ProductChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxConsumerTest {
+
+    private static final ProductOutboxPositionDto START = new ProductOutboxPositionDto(0L, 0L);
+
+    @Mock
+    private ProductOutboxClient productOutboxClient;
+    @Mock
+    private ProductIndexService productIndexService;
+    @Mock
+    private ProductOutboxOffsetStore offsetStore;
+    @InjectMocks
+    private ProductOutboxConsumer productOutboxConsumer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productOutboxConsumer, "batchSize", 3);
+    }
+
+    @Test
+    void should_apply_each_changed_product_once_and_advance_position() {
+        ProductChangeEventDto created = event(1L, 100L, 10L, ProductChangeType.CREATED);
+        ProductChangeEventDto updated = event(2L, 100L, 11L, ProductChangeType.UPDATED);
+        ProductChangeEventDto deleted = event(3L, 101L, 10L, ProductChangeType.DELETED);
+        when(offsetStore.getPosition()).thenReturn(START);
+        when(productOutboxClient.getBatch(0L, 0L, 3)).thenReturn(ResponseEntity.ok(List.of(created, updated, deleted)));
+        when(offsetStore.advance(START, new ProductOutboxPositionDto(101L, 3L))).thenReturn(true);
+
+        int consumed = productOutboxConsumer.consumeBatch();
+
+        assertEquals(3, consumed);
+        assertEquals(List.of(10L, 11L), appliedChanges());
+    }
+
+    @Test
+    void should_reread_product_of_change_from_earlier_transaction() {
+        ProductOutboxPositionDto position = new ProductOutboxPositionDto(200L, 8L);
+        ProductChangeEventDto older = event(7L, 201L, 10L, ProductChangeType.UPDATED);
+        when(offsetStore.getPosition()).thenReturn(position);
+        when(productOutboxClient.getBatch(200L, 8L, 3)).thenReturn(ResponseEntity.ok(List.of(older)));
+        when(offsetStore.advance(position, new ProductOutboxPositionDto(201L, 7L))).thenReturn(true);
+
+        productOutboxConsumer.consumeBatch();
+
+        assertEquals(List.of(10L), appliedChanges());
+    }
+
+    @Test
+    void should_stop_when_position_was_reset_by_rebuild() {
+        when(offsetStore.getPosition()).thenReturn(START);
+        when(productOutboxClient.getBatch(0L, 0L, 3)).thenReturn(ResponseEntity.ok(List.of(
+                event(1L, 100L, 10L, ProductChangeType.CREATED),
+                event(2L, 100L, 11L, ProductChangeType.CREATED),
+                event(3L, 100L, 12L, ProductChangeType.CREATED))));
+        when(offsetStore.advance(START, new ProductOutboxPositionDto(100L, 3L))).thenReturn(false);
+
+        int consumed = productOutboxConsumer.consumeBatch();
+
+        assertEquals(0, consumed);
+    }
+
+    @Test
+    void should_keep_position_when_feed_is_unavailable() {
+        when(offsetStore.getPosition()).thenReturn(START);
+        when(productOutboxClient.getBatch(0L, 0L, 3)).thenThrow(new RuntimeException("connection refused"));
+
+        int consumed = productOutboxConsumer.consumeBatch();
+
+        assertEquals(0, consumed);
+        verify(productIndexService, never()).applyChanges(any());
+        verify(offsetStore, never()).advance(any(), any());
+        verify(offsetStore, never()).touch();
+    }
+
+    @Test
+    void should_confirm_position_when_no_new_events() {
+        when(offsetStore.getPosition()).thenReturn(START);
+        when(productOutboxClient.getBatch(0L, 0L, 3)).thenReturn(ResponseEntity.noContent().build());
+
+        int consumed = productOutboxConsumer.consumeBatch();
+
+        assertEquals(0, consumed);
+        verify(offsetStore).touch();
+    }
+
+    @Test
+    void should_not_poll_until_index_is_ready() {
+        when(productIndexService.isIndexReady()).thenReturn(false);
+
+        productOutboxConsumer.poll();
+
+        verifyNoInteractions(productOutboxClient);
+    }
+
+    @Test
+    void should_not_poll_during_rebuild() {
+        when(productIndexService.isIndexReady()).thenReturn(true);
+        when(productIndexService.isRebuildInProgress()).thenReturn(true);
+
+        productOutboxConsumer.poll();
+
+        verifyNoInteractions(productOutboxClient);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> appliedChanges() {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productIndexService).applyChanges(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private ProductChangeEventDto event(Long id, Long txid, Long productId, ProductChangeType changeType) {
+        ProductChangeEventDto event = new ProductChangeEventDto();
+        event.setId(id);
+        event.setTxid(txid);
+        event.setProductId(productId);
+        event.setChangeType(changeType);
+        return event;
+    }
+}
@@ -0,0 +1,75 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.ProductOutboxPositionDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductOutboxOffsetStoreTest {
+
+    private static final Duration MAX_AGE = Duration.ofDays(6);
+    private static final Instant NOW = Instant.parse("2024-01-10T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_resume_from_saved_position_after_restart() {
+        Path file = directory.resolve("product-outbox.offset");
+        ProductOutboxOffsetStore store = store(file, NOW);
+        store.reset(new ProductOutboxPositionDto(10L, 20L));
+
+        ProductOutboxOffsetStore restarted = store(file, NOW.plus(Duration.ofDays(1)));
+
+        assertTrue(restarted.load());
+        assertEquals(new ProductOutboxPositionDto(10L, 20L), restarted.getPosition());
+    }
+
+    @Test
+    void should_not_resume_from_position_older_than_feed_retention() {
+        Path file = directory.resolve("product-outbox.offset");
+        store(file, NOW).reset(new ProductOutboxPositionDto(10L, 20L));
+
+        ProductOutboxOffsetStore restarted = store(file, NOW.plus(Duration.ofDays(7)));
+
+        assertFalse(restarted.load());
+        assertEquals(new ProductOutboxPositionDto(0L, 0L), restarted.getPosition());
+    }
+
+    @Test
+    void should_not_resume_without_saved_position() {
+        assertFalse(store(directory.resolve("missing.offset"), NOW).load());
+    }
+
+    @Test
+    void should_not_resume_from_corrupted_file() throws Exception {
+        Path file = directory.resolve("product-outbox.offset");
+        Files.writeString(file, "txid=abc");
+
+        assertFalse(store(file, NOW).load());
+    }
+
+    @Test
+    void should_not_advance_position_reset_during_batch() {
+        ProductOutboxOffsetStore store = store(directory.resolve("product-outbox.offset"), NOW);
+        ProductOutboxPositionDto read = store.getPosition();
+        store.reset(new ProductOutboxPositionDto(5L, Long.MAX_VALUE));
+
+        assertFalse(store.advance(read, new ProductOutboxPositionDto(7L, 3L)));
+        assertEquals(new ProductOutboxPositionDto(5L, Long.MAX_VALUE), store.getPosition());
+    }
+
+    private ProductOutboxOffsetStore store(Path file, Instant now) {
+        return new ProductOutboxOffsetStore(file, MAX_AGE, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,95 @@
+package com.gitlab.service;
+
+import com.gitlab.dto.ProductSearchFilterDto;
+import com.gitlab.dto.SearchCacheStatsDto;
+import com.gitlab.service.ProductSearchCache.SearchHits;
+import com.gitlab.service.ProductSearchCache.SearchKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchCacheTest {
+
+    @Mock
+    private ProductIndexService productIndexService;
+    @InjectMocks
+    private ProductSearchCache productSearchCache;
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productSearchCache, "maxSize", 2);
+        lenient().when(productIndexService.getGeneration()).thenReturn(1L);
+    }
+
+    @Test
+    void should_serve_normalized_query_from_cache() {
+        productSearchCache.getOrSearch(key(" iPhone   13 "), this::search);
+        SearchHits hits = productSearchCache.getOrSearch(key("iphone 13"), this::search);
+
+        assertEquals(List.of(1L, 2L), hits.getIds());
+        assertEquals(1, searches.get());
+        SearchCacheStatsDto stats = productSearchCache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    void should_treat_filter_order_and_price_scale_as_same_key() {
+        ProductSearchFilterDto first = ProductSearchFilterDto.builder()
+                .categories(List.of("TV", "Phones")).minPrice(new BigDecimal("100.00")).build();
+        ProductSearchFilterDto second = ProductSearchFilterDto.builder()
+                .categories(List.of("Phones", "TV")).minPrice(new BigDecimal("100")).build();
+
+        assertEquals(SearchKey.of("tv", first, PageRequest.of(0, 20), true),
+                SearchKey.of("tv", second, PageRequest.of(0, 20), true));
+    }
+
+    @Test
+    void should_evict_least_recently_used_when_full() {
+        productSearchCache.getOrSearch(key("a"), this::search);
+        productSearchCache.getOrSearch(key("b"), this::search);
+        productSearchCache.getOrSearch(key("a"), this::search);
+        productSearchCache.getOrSearch(key("c"), this::search);
+        productSearchCache.getOrSearch(key("a"), this::search);
+        productSearchCache.getOrSearch(key("b"), this::search);
+
+        assertEquals(4, searches.get());
+        assertEquals(2, productSearchCache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void should_drop_cached_results_when_index_changes() {
+        productSearchCache.getOrSearch(key("iphone"), this::search);
+        when(productIndexService.getGeneration()).thenReturn(2L);
+        productSearchCache.getOrSearch(key("iphone"), this::search);
+
+        assertEquals(2, searches.get());
+        assertEquals(1, productSearchCache.getStats().getInvalidationCount());
+    }
+
+    private SearchKey key(String name) {
+        return SearchKey.of(name, null, PageRequest.of(0, 20), false);
+    }
+
+    private SearchHits search() {
+        searches.incrementAndGet();
+        return new SearchHits(List.of(1L, 2L), 2, Map.of());
+    }
+}
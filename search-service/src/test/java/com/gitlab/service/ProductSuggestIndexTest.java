@@ -0,0 +1,80 @@
+package com.gitlab.service;
+
+import org.apache.lucene.util.BytesRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSuggestIndexTest {
+
+    @Test
+    void should_return_completions_ordered_by_weight() {
+        ProductSuggestIndex index = build(Map.of(
+                "iphone 13", 3,
+                "iphone 14", 7,
+                "iphone", 1,
+                "ipad", 10,
+                "samsung", 5));
+
+        assertEquals(List.of("iphone 14", "iphone 13", "iphone"), index.lookup("iph", 10));
+        assertEquals(List.of("ipad", "iphone 14"), index.lookup("i", 2));
+    }
+
+    @Test
+    void should_support_cyrillic_prefix() {
+        ProductSuggestIndex index = build(Map.of(
+                "телевизор", 2,
+                "телефон", 4,
+                "тостер", 1));
+
+        assertEquals(List.of("телефон", "телевизор"), index.lookup(ProductSuggestIndex.normalize("  Теле"), 10));
+    }
+
+    @Test
+    void should_return_empty_list_when_nothing_matches() {
+        ProductSuggestIndex index = build(Map.of("ipad", 1));
+
+        assertTrue(index.lookup("x", 10).isEmpty());
+        assertTrue(index.lookup("", 10).isEmpty());
+        assertTrue(ProductSuggestIndex.EMPTY.lookup("ipad", 10).isEmpty());
+    }
+
+    @Test
+    void should_apply_overlay_of_changes_made_after_build() {
+        ProductSuggestIndex index = build(Map.of(
+                "iphone 13", 3,
+                "iphone 14", 7,
+                "ipad", 10));
+        NavigableMap<String, Integer> overlay = new TreeMap<>(Map.of(
+                "iphone 14", -7,
+                "iphone 15", 5,
+                "iphone 13", 1));
+
+        assertEquals(List.of("iphone 15", "iphone 13"), index.lookup("iph", 10, overlay));
+        assertEquals(List.of("ipad", "iphone 15"), index.lookup("i", 2, overlay));
+        assertEquals(List.of("ipad"), index.lookup("ipa", 10, overlay));
+    }
+
+    @Test
+    void should_return_weight_of_indexed_name() {
+        ProductSuggestIndex index = build(Map.of("ipad", 10));
+
+        assertEquals(10, index.weight("ipad"));
+        assertEquals(0, index.weight("ipa"));
+        assertEquals(0, ProductSuggestIndex.EMPTY.weight("ipad"));
+    }
+
+    private ProductSuggestIndex build(Map<String, Integer> weights) {
+        TreeMap<BytesRef, Integer> sorted = new TreeMap<>();
+        weights.forEach((name, weight) -> sorted.put(new BytesRef(name), weight));
+        ProductSuggestIndex.IndexBuilder builder = ProductSuggestIndex.builder();
+        sorted.forEach(builder::add);
+        return builder.build();
+    }
+}